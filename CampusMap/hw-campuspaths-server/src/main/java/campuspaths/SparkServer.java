@@ -11,40 +11,226 @@
 
 package campuspaths;
 
+import campuspaths.utils.BinaryPathWriter;
 import campuspaths.utils.CORSFilter;
+import campuspaths.utils.MapSnapshot;
+import campuspaths.utils.MediaTypes;
+import campuspaths.utils.Metrics;
+import campuspaths.utils.PathWriter;
+import campuspaths.utils.Reloader;
+import campuspaths.utils.RouteCache;
+import campuspaths.utils.WorkerPool;
 import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pathfinder.CampusMap;
+import pathfinder.GraphImage;
+import pathfinder.RouteTable;
+import pathfinder.SearchMode;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPathsParser;
 import spark.Spark;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Main class that sets up the campus path server, which allows users to read information about the campus map
  */
 public class SparkServer {
 
+    /**
+     * The system property naming the file of the precomputed route table. If it is set, the server answers
+     * /findShortPath from the table, which is read from the file, or built and written to it if the file is missing
+     * or out of date.
+     */
+    public static final String ROUTE_TABLE_PROPERTY = "campuspaths.routeTable";
+
+    /**
+     * The system property bounding the number of /findShortPath responses that are cached in each format.
+     */
+    public static final String ROUTE_CACHE_ENTRIES_PROPERTY = "campuspaths.routeCache.maxEntries";
+
+    /**
+     * The system property bounding the total size in bytes of the cached /findShortPath responses in each format.
+     */
+    public static final String ROUTE_CACHE_BYTES_PROPERTY = "campuspaths.routeCache.maxBytes";
+
+    /**
+     * The system property bounding the number of pairs one /findShortPaths request may ask for.
+     */
+    public static final String BATCH_PAIRS_PROPERTY = "campuspaths.batch.maxPairs";
+
+    /**
+     * The system property that turns off the gzip-compressed copies of the static responses when set to false.
+     */
+    public static final String GZIP_PROPERTY = "campuspaths.gzip";
+
+    /**
+     * The system property bounding the number of buildings one /distanceMatrix request may ask for.
+     */
+    public static final String MATRIX_NAMES_PROPERTY = "campuspaths.distanceMatrix.maxNames";
+
+    /**
+     * The system property setting the number of steps per pixel the coordinates of binary /findShortPath responses
+     * are quantised to.
+     */
+    public static final String BINARY_SCALE_PROPERTY = "campuspaths.binary.scale";
+
+    /**
+     * The system property setting the number of worker threads that compute routes. It defaults to the number of
+     * available processors.
+     */
+    public static final String WORKER_THREADS_PROPERTY = "campuspaths.workers.threads";
+
+    /**
+     * The system property bounding the number of requests that may wait for a worker thread before further requests
+     * are shed with 503 Service Unavailable.
+     */
+    public static final String WORKER_QUEUE_PROPERTY = "campuspaths.workers.queueLength";
+
+    /**
+     * The system property bounding the milliseconds a request may wait for a worker thread before it is shed with 503
+     * Service Unavailable.
+     */
+    public static final String WORKER_TIMEOUT_PROPERTY = "campuspaths.workers.timeoutMillis";
+
+    /**
+     * The system property setting the most threads of the embedded Jetty server, which accept requests and do their
+     * I/O. If it is not set, Spark's default thread pool is used.
+     */
+    public static final String JETTY_MAX_THREADS_PROPERTY = "campuspaths.jetty.maxThreads";
+
+    /**
+     * The system property setting the fewest threads of the embedded Jetty server, if its most threads are set.
+     */
+    public static final String JETTY_MIN_THREADS_PROPERTY = "campuspaths.jetty.minThreads";
+
+    /**
+     * The system property setting the milliseconds after which an idle thread of the embedded Jetty server stops, if
+     * its most threads are set.
+     */
+    public static final String JETTY_IDLE_TIMEOUT_PROPERTY = "campuspaths.jetty.idleTimeoutMillis";
+
+    /**
+     * The system property naming a directory to read campus_buildings.csv and campus_paths.csv from instead of the
+     * classpath. The directory is watched, and the data is reloaded whenever a file in it changes.
+     */
+    public static final String DATA_DIR_PROPERTY = "campuspaths.dataDir";
+
+    /**
+     * The system property naming a graph image file written by the compileGraphImage task of hw-pathfinder. If it is
+     * set, the map is loaded by mapping the image into memory instead of parsing the campus data, as long as the
+     * image was compiled from the campus data being served; otherwise the data is parsed. An image kept in the
+     * directory of DATA_DIR_PROPERTY is reloaded when it is replaced.
+     */
+    public static final String GRAPH_IMAGE_PROPERTY = "campuspaths.graphImage";
+
+    /**
+     * The system property setting the token that enables POST /admin/reload. Without it, the endpoint does not exist.
+     */
+    public static final String ADMIN_TOKEN_PROPERTY = "campuspaths.admin.token";
+
+    /**
+     * The system property listing the origins, separated by commas, that browsers may make requests from, such as
+     * "http://localhost:3000". If it is not set, requests from every origin are allowed.
+     */
+    public static final String CORS_ORIGINS_PROPERTY = "campuspaths.cors.allowedOrigins";
+
+    // the logger the server reports to, shared with CORSFilter
+    private static final Logger LOGGER = LoggerFactory.getLogger("CampusPaths Server");
+
     /**
      * main method to run the server and read information about the campus map
      * @param args running main
      */
     public static void main(String[] args) {
-        CORSFilter corsFilter = new CORSFilter();
+        // Jetty's thread pool has to be set up before the first route or filter starts the server
+        Integer jettyThreads = Integer.getInteger(JETTY_MAX_THREADS_PROPERTY);
+        if (jettyThreads != null) {
+            Spark.threadPool(jettyThreads, Integer.getInteger(JETTY_MIN_THREADS_PROPERTY, Math.min(8, jettyThreads)),
+                    Integer.getInteger(JETTY_IDLE_TIMEOUT_PROPERTY, 60000));
+        }
+
+        CORSFilter corsFilter = new CORSFilter(allowedOrigins(System.getProperty(CORS_ORIGINS_PROPERTY)));
         corsFilter.apply();
         // The above two lines help set up some settings that allow the
         // React application to make requests to the Spark server, even though it
         // comes from a different server.
         // You should leave these two lines at the very beginning of main().
 
-        // Stores the current campus map
-        CampusMap map = new CampusMap();
+        // Counts and times the requests, and the phases of finding their paths
+        Metrics metrics = new Metrics();
+
+        // Computes routes on a bounded number of threads, shedding requests when it is overloaded
+        WorkerPool workers = new WorkerPool(
+                Integer.getInteger(WORKER_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(WORKER_QUEUE_PROPERTY, 256), Long.getLong(WORKER_TIMEOUT_PROPERTY, 2000L));
+
+        // Stores the current snapshot of the campus data and everything derived from it, which is replaced as a
+        // whole when the data is reloaded. Each request reads the current snapshot once and uses only it.
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        Reloader<MapSnapshot> maps = new Reloader<>("campus-map", () -> loadSnapshot(dataDir, metrics, workers));
+        if (dataDir != null) {
+            try {
+                maps.watch(Paths.get(dataDir));
+            } catch (IOException e) {
+                LOGGER.warn("Could not watch {} for changes: {}", dataDir, e.getMessage());
+            }
+        }
+
+        // Writes paths in the format the React application expects, or in the compact format
+        PathWriter fullWriter = new PathWriter(false);
+        PathWriter compactWriter = new PathWriter(true);
+        BinaryPathWriter binaryWriter = new BinaryPathWriter(Integer.getInteger(BINARY_SCALE_PROPERTY, 100));
+        // Writes the small JSON answers that are not precomputed
+        Gson gson = new Gson();
+
+        metrics.counter("campuspaths_worker_rejected_total", "Requests shed because the worker queue was full.",
+                workers::rejected);
+        metrics.counter("campuspaths_worker_timed_out_total", "Requests shed after waiting too long for a worker.",
+                workers::timedOut);
+        metrics.gauge("campuspaths_worker_active", "Worker threads answering a request.", workers::active);
+        metrics.gauge("campuspaths_worker_queued", "Requests waiting for a worker thread.", workers::queued);
+        // the caches belong to the current snapshot, so these counts start over when the data is reloaded
+        metrics.counter("campuspaths_route_cache_hits_total", "/findShortPath responses served from the cache.",
+                () -> maps.current().getRouteCaches().stream().mapToLong(RouteCache::hits).sum());
+        metrics.counter("campuspaths_route_cache_misses_total", "/findShortPath responses that had to be computed.",
+                () -> maps.current().getRouteCaches().stream().mapToLong(RouteCache::misses).sum());
+        metrics.counter("campuspaths_route_cache_evictions_total", "/findShortPath responses evicted from the cache.",
+                () -> maps.current().getRouteCaches().stream().mapToLong(RouteCache::evictions).sum());
+        metrics.gauge("campuspaths_route_cache_bytes", "Bytes of /findShortPath responses in the cache.",
+                () -> maps.current().getRouteCaches().stream().mapToLong(RouteCache::weight).sum());
+        metrics.counter("campuspaths_reloads_total", "Reloads of the campus data that replaced the map.",
+                maps::reloads);
+        metrics.counter("campuspaths_reload_failures_total", "Reloads of the campus data that failed.",
+                maps::failures);
+        metrics.gauge("campuspaths_map_generation", "The version of the campus data being served.",
+                maps::generation);
 
         /**
          * Returns the shortest path between two given buildings of names (?startName=...&?endName=...).
          * @param startName the start point of the path we are looking for
          *        endName the end point of the path we are looking for
-         * @return the Gson type of the shortest path between two buildings
-         * @format /findShortPath?startName=n1&endName=n2
+         *        format "compact" for the compact format of PathWriter, optional
+         * @return the JSON of the shortest path between two buildings, or its binary form described by
+         *         BinaryPathWriter if the Accept header of the client prefers BinaryPathWriter.CONTENT_TYPE to JSON
+         * @format /findShortPath?startName=n1&endName=n2[&format=compact]
          */
-        Spark.get("/findShortPath", (req, res) -> {
-            res.type("text/PathPoint");
+        Spark.get("/findShortPath", metrics.timed("/findShortPath", workers.around((req, res) -> {
+            boolean binary = MediaTypes.negotiate(req.headers("Accept"), "application/json",
+                    BinaryPathWriter.CONTENT_TYPE).equals(BinaryPathWriter.CONTENT_TYPE);
+            res.header("Vary", "Accept");
+            res.type(binary ? BinaryPathWriter.CONTENT_TYPE : "text/PathPoint");
             String startName = req.queryParams("startName");
             String endName = req.queryParams("endName");
             if (startName == null) {
@@ -55,9 +241,56 @@ public class SparkServer {
                 res.status(400);
                 return "endName missing";
             }
-            Gson gson = new Gson();
-            String jsonPath = gson.toJson(map.findShortestPath(startName, endName));
-            return jsonPath;
+            boolean compact = "compact".equals(req.queryParams("format"));
+            MapSnapshot snapshot = maps.current();
+            RouteCache cache = binary ? snapshot.getBinaryRouteCache()
+                                      : compact ? snapshot.getCompactRouteCache() : snapshot.getRouteCache();
+            return cache.get(startName, endName, () -> {
+                RouteTable<Point> routes = snapshot.getRoutes();
+                Path<Point> path = routes != null ? routes.route(startName, endName)
+                                                  : snapshot.getMap().findShortestPath(startName, endName);
+                long start = System.nanoTime();
+                byte[] bytes = binary ? binaryWriter.toBytes(path)
+                                      : (compact ? compactWriter : fullWriter).toBytes(path);
+                metrics.phaseCompleted(Metrics.SERIALIZE, System.nanoTime() - start);
+                return bytes;
+            });
+        })));
+
+        /**
+         * Returns the shortest paths between many given pairs of buildings, with one search per distinct start.
+         * @param body a JSON array of pairs [{"startName": n1, "endName": n2}, ...]
+         * @return a JSON array of the shortest path of each pair, in order, or null where there is none
+         * @format POST /findShortPaths
+         */
+        Spark.post("/findShortPaths", metrics.timed("/findShortPaths", workers.around(
+                (req, res) -> maps.current().getBatchHandler().handle(req, res))));
+
+        /**
+         * Returns the costs of the shortest paths between every ordered pair of the given buildings, with one search
+         * per building and no paths built.
+         * @param names the comma-separated short names of the buildings, or all buildings if it is missing
+         * @return {"names": [...], "costs": [[...], ...]} with null where there is no path, or the binary matrix
+         *         described by DistanceMatrixHandler if the client accepts application/octet-stream
+         * @format /distanceMatrix?names=n1,n2,...
+         */
+        Spark.get("/distanceMatrix", metrics.timed("/distanceMatrix", workers.around(
+                (req, res) -> maps.current().getMatrixHandler().handle(req, res))));
+
+        /**
+         * Returns the counts of the requests the worker pool has answered and shed, and its current load.
+         * @return {"completed": c, "rejected": r, "timedOut": t, "active": a, "queued": q}
+         * @format /workerStats
+         */
+        Spark.get("/workerStats", (req, res) -> {
+            res.type("application/json");
+            Map<String, Number> stats = new LinkedHashMap<>();
+            stats.put("completed", workers.completed());
+            stats.put("rejected", workers.rejected());
+            stats.put("timedOut", workers.timedOut());
+            stats.put("active", workers.active());
+            stats.put("queued", workers.queued());
+            return gson.toJson(stats);
         });
 
         /**
@@ -65,23 +298,177 @@ public class SparkServer {
          * @return the collection of short names of all the buildings
          * @format /allShortNames
          */
-        Spark.get("/allShortNames", (req,res) -> {
-            res.type("list");
-            Gson gson = new Gson();
-            String jsonShortNameSet = gson.toJson(map.buildingNames().keySet());
-            return jsonShortNameSet;
-        });
+        Spark.get("/allShortNames", metrics.timed("/allShortNames",
+                (req, res) -> maps.current().getShortNames().serve(req, res)));
 
         /**
          * Returns a collection of long names of all buildings in the map
          * @return the collection of long names of all the buildings
          * @format /allLongNames
          */
-        Spark.get("/allLongNames", (req,res) -> {
-            res.type("list");
-            Gson gson = new Gson();
-            String jsonLongNameSet = gson.toJson(map.buildingNames().values());
-            return jsonLongNameSet;
+        Spark.get("/allLongNames", metrics.timed("/allLongNames",
+                (req, res) -> maps.current().getLongNames().serve(req, res)));
+
+        /**
+         * Returns the request counts, latencies, phase timings, worker pool and cache counts of the server.
+         * @return the metrics in the Prometheus text exposition format
+         * @format /metrics
+         */
+        Spark.get("/metrics", (req, res) -> {
+            res.type("text/plain; version=0.0.4; charset=utf-8");
+            return metrics.render();
         });
+
+        String adminToken = System.getProperty(ADMIN_TOKEN_PROPERTY);
+
+        /**
+         * Starts reloading the campus data in the background. The current map keeps answering requests until the new
+         * one, with its route table, caches and building name responses, is ready and replaces it. Only available if
+         * an admin token is configured, which the request must carry in its X-Admin-Token header.
+         * @return 202 Accepted with the version of the data being served
+         * @format POST /admin/reload
+         */
+        if (adminToken != null) {
+            byte[] expected = adminToken.getBytes(StandardCharsets.UTF_8);
+            Spark.post("/admin/reload", (req, res) -> {
+                String token = req.headers("X-Admin-Token");
+                if (token == null || !MessageDigest.isEqual(expected, token.getBytes(StandardCharsets.UTF_8))) {
+                    res.status(403);
+                    return "forbidden";
+                }
+                boolean started = maps.reload();
+                res.status(202);
+                return (started ? "reload started" : "reload already pending") + ", serving version "
+                        + maps.generation();
+            });
+        }
+    }
+
+    /**
+     * Splits a list of origins separated by commas.
+     * @param origins The list of origins, or null
+     * @return The origins in the list, or null if origins is null
+     */
+    private static List<String> allowedOrigins(String origins) {
+        if (origins == null) {
+            return null;
+        }
+        List<String> allowed = new ArrayList<>();
+        for (String origin : origins.split(",")) {
+            if (!origin.trim().isEmpty()) {
+                allowed.add(origin.trim());
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Loads a snapshot of the campus data, with everything derived from it.
+     * @param dataDir The directory holding campus_buildings.csv and campus_paths.csv, or null to read the data from
+     *                the classpath
+     * @param metrics The metrics told of the phases of the searches on the new map
+     * @param workers The worker pool the handlers of the snapshot run on
+     * @throws pathfinder.parser.CampusPathsParser.ParserException if the data cannot be read or parsed
+     * @return The snapshot, ready to be used
+     */
+    private static MapSnapshot loadSnapshot(String dataDir, Metrics metrics, WorkerPool workers) {
+        CampusMap map = loadImage(dataDir, System.getProperty(GRAPH_IMAGE_PROPERTY), metrics);
+        if (map == null) {
+            try (InputStream buildings = openData(dataDir, "campus_buildings.csv");
+                 InputStream paths = openData(dataDir, "campus_paths.csv")) {
+                map = new CampusMap(CampusPathsParser.parseCampusBuildings(buildings), paths, SearchMode.DIJKSTRA,
+                        metrics);
+            } catch (IOException e) {
+                throw new CampusPathsParser.ParserException("Cannot read campus data from " + dataDir, e);
+            }
+        }
+        return new MapSnapshot(map, loadRouteTable(map, System.getProperty(ROUTE_TABLE_PROPERTY)),
+                Integer.getInteger(ROUTE_CACHE_ENTRIES_PROPERTY, 4096),
+                Long.getLong(ROUTE_CACHE_BYTES_PROPERTY, 32L << 20),
+                !"false".equals(System.getProperty(GZIP_PROPERTY)),
+                Integer.getInteger(BATCH_PAIRS_PROPERTY, 10000),
+                Integer.getInteger(MATRIX_NAMES_PROPERTY, 1000), workers);
+    }
+
+    /**
+     * Loads the campus map from a graph image, if the image was compiled from the campus data being served.
+     * @param dataDir The directory to read the campus data from, or null to read it from the classpath
+     * @param imageFile The graph image file, or null if there is none
+     * @param metrics The metrics the map tells the phases of finding paths to
+     * @return The map of the image, or null if there is no image, it cannot be loaded, or it is out of date
+     */
+    private static CampusMap loadImage(String dataDir, String imageFile, Metrics metrics) {
+        if (imageFile == null) {
+            return null;
+        }
+        try {
+            GraphImage image = GraphImage.map(Paths.get(imageFile));
+            long checksum;
+            try (InputStream buildings = openData(dataDir, "campus_buildings.csv");
+                 InputStream paths = openData(dataDir, "campus_paths.csv")) {
+                checksum = GraphImage.sourceChecksum(buildings, paths);
+            }
+            if (image.getSourceChecksum() == checksum) {
+                return new CampusMap(image, SearchMode.DIJKSTRA, metrics);
+            }
+            LOGGER.warn("Graph image {} is out of date, so the campus data is parsed instead", imageFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not load graph image {}: {}", imageFile, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Opens a campus data file.
+     * @param dataDir The directory to read the file from, or null to read it from the classpath
+     * @param name The name of the file
+     * @throws IOException if the file cannot be opened
+     * @return A stream of the contents of the file
+     */
+    private static InputStream openData(String dataDir, String name) throws IOException {
+        return dataDir == null ? CampusPathsParser.openResource(name) : new FileInputStream(new File(dataDir, name));
+    }
+
+    /**
+     * Returns the route table of the given campus map kept in the given file, building and writing it if the file
+     * does not hold an up-to-date table.
+     * @param map The campus map to find the routes on
+     * @param fileName The name of the file the table is kept in, or null if routes are not precomputed
+     * @return The route table, or null if fileName is null
+     */
+    private static RouteTable<Point> loadRouteTable(CampusMap map, String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        File file = new File(fileName);
+        if (file.isFile()) {
+            try (InputStream in = new FileInputStream(file)) {
+                return map.readRouteTable(in);
+            } catch (IOException e) {
+                LOGGER.warn("Rebuilding route table {}: {}", fileName, e.getMessage());
+            }
+        }
+        RouteTable<Point> routes = map.buildRouteTable();
+        // write the table to a file of its own beside the target and move it into place, so a crash or another
+        // server starting at the same time never leaves a partly written table behind
+        java.nio.file.Path target = file.toPath().toAbsolutePath();
+        java.nio.file.Path temporary = null;
+        try {
+            temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                routes.write(out);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Could not save route table {}: {}", fileName, e.getMessage());
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException deleteFailure) {
+                    LOGGER.warn("Could not delete {}: {}", temporary, deleteFailure.getMessage());
+                }
+            }
+        }
+        return routes;
     }
 }
@@ -0,0 +1,218 @@
+package campuspaths.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import pathfinder.ModelAPI;
+import pathfinder.RouteTable;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Answers a request for the shortest paths between many pairs of buildings at once. The pairs are grouped by their
+ * start building, so each distinct start costs one single-source search however many pairs share it. The groups are
+ * searched by the thread answering the request together with idle threads of the worker pool it runs on, so a batch
+ * computes on no more threads than the pool has. The paths are streamed back as a JSON array in the order of the
+ * pairs once every group is done, so a search that fails is answered with an error rather than a truncated array.
+ */
+public class BatchPathHandler implements Route {
+    // AF(this) = answers batches with the paths of map, or of routes if routes != null, written by fullWriter, or by
+    //            compactWriter if the compact format is requested, for batches of at most maxPairs pairs, searching
+    //            on the idle threads of workers
+    // RI: map != null, maxPairs >= 0, workers != null
+
+    private final ModelAPI map;
+    private final RouteTable<Point> routes;
+    private final int maxPairs;
+    private final WorkerPool workers;
+    private final Gson requestGson = new Gson();
+    private final PathWriter fullWriter = new PathWriter(false);
+    private final PathWriter compactWriter = new PathWriter(true);
+
+    /**
+     * Creates a handler for batches of path requests.
+     * @param map The campus map to find paths on
+     * @param routes The precomputed paths between all buildings of map, or null to search map instead
+     * @param maxPairs The most pairs one request may ask for
+     * @param workers The worker pool the handler runs on, whose idle threads help search the groups of a batch
+     */
+    public BatchPathHandler(ModelAPI map, RouteTable<Point> routes, int maxPairs, WorkerPool workers) {
+        this.map = map;
+        this.routes = routes;
+        this.maxPairs = maxPairs;
+        this.workers = workers;
+        checkRep();
+    }
+
+    /**
+     * Answers a batch request, whose body is a JSON array of pairs [{"startName": n1, "endName": n2}, ...], with a
+     * JSON array of the shortest path of each pair, or null where there is none. The paths are in the compact format of
+     * PathWriter if the format query parameter is "compact". Malformed requests, unknown
+     * building names and batches that are too large are answered with 400 Bad Request.
+     * @param req The request to answer
+     * @param res The response to fill in
+     * @spec.modifies res
+     * @return The body for Spark to send, which is empty if the paths were streamed
+     */
+    @Override
+    public Object handle(Request req, Response res) throws Exception {
+        checkRep();
+        Pair[] pairs;
+        try {
+            pairs = requestGson.fromJson(req.body(), Pair[].class);
+        } catch (JsonParseException e) {
+            res.status(400);
+            return "body must be a JSON array of {startName, endName} pairs";
+        }
+        if (pairs == null) {
+            res.status(400);
+            return "body must be a JSON array of {startName, endName} pairs";
+        }
+        if (pairs.length > maxPairs) {
+            res.status(400);
+            return "at most " + maxPairs + " pairs may be requested at once";
+        }
+        for (Pair pair : pairs) {
+            if (pair == null || pair.startName == null || pair.endName == null) {
+                res.status(400);
+                return "every pair needs a startName and an endName";
+            }
+            for (String name : new String[] {pair.startName, pair.endName}) {
+                if (!map.shortNameExists(name)) {
+                    res.status(400);
+                    return "unknown building: " + name;
+                }
+            }
+        }
+
+        // group the pairs by start, remembering where each pair falls within its group
+        Map<String, List<String>> endsByStart = new LinkedHashMap<>();
+        int[] positions = new int[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            List<String> ends = endsByStart.computeIfAbsent(pairs[i].startName, start -> new ArrayList<>());
+            positions[i] = ends.size();
+            ends.add(pairs[i].endName);
+        }
+        List<String> starts = new ArrayList<>(endsByStart.keySet());
+        List<List<Path<Point>>> found = findAll(starts, new ArrayList<>(endsByStart.values()));
+        Map<String, List<Path<Point>>> results = new HashMap<>();
+        for (int g = 0; g < starts.size(); g++) {
+            results.put(starts.get(g), found.get(g));
+        }
+
+        res.type("application/json");
+        PathWriter writer = "compact".equals(req.queryParams("format")) ? compactWriter : fullWriter;
+        OutputStream out = new BufferedOutputStream(res.raw().getOutputStream());
+        out.write('[');
+        for (int i = 0; i < pairs.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writer.write(results.get(pairs[i].startName).get(positions[i]), out);
+        }
+        out.write(']');
+        out.flush();
+        checkRep();
+        return "";
+    }
+
+    // returns the paths of each group of ends from its start, found by this thread and by up to threads() - 1 idle
+    // workers, which all take the next group until none is left; returns once every group is done, and throws the
+    // first failure of a search, if any
+    private List<List<Path<Point>>> findAll(List<String> starts, List<List<String>> ends) throws InterruptedException {
+        int groups = starts.size();
+        AtomicReferenceArray<List<Path<Point>>> found = new AtomicReferenceArray<>(groups);
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(groups);
+        Runnable search = () -> {
+            int g;
+            while ((g = next.getAndIncrement()) < groups) {
+                try {
+                    if (failure.get() == null) {
+                        found.set(g, findPaths(starts.get(g), ends.get(g)));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        // a helper that is still queued when this thread has taken the last group finds nothing left to do
+        for (int helpers = Math.min(groups, workers.threads()) - 1; helpers > 0; helpers--) {
+            if (!workers.tryExecute(search)) {
+                break;
+            }
+        }
+        search.run();
+        done.await();
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e != null) {
+            throw (Error) e;
+        }
+        List<List<Path<Point>>> paths = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            paths.add(found.get(g));
+        }
+        return paths;
+    }
+
+    // returns the shortest paths from start to each of ends, with null for the ends that cannot be reached; a building
+    // that is not on the graph cannot be reached from anywhere
+    private List<Path<Point>> findPaths(String start, List<String> ends) {
+        List<Path<Point>> paths = new ArrayList<>(Collections.nCopies(ends.size(), null));
+        if (routes != null) {
+            for (int i = 0; i < ends.size(); i++) {
+                if (routes.contains(start) && routes.contains(ends.get(i))) {
+                    paths.set(i, routes.route(start, ends.get(i)));
+                }
+            }
+            return paths;
+        }
+        if (!map.isOnGraph(start)) {
+            return paths;
+        }
+        List<Integer> onGraph = new ArrayList<>(ends.size());
+        List<String> found = new ArrayList<>(ends.size());
+        for (int i = 0; i < ends.size(); i++) {
+            if (map.isOnGraph(ends.get(i))) {
+                onGraph.add(i);
+                found.add(ends.get(i));
+            }
+        }
+        List<Path<Point>> foundPaths = map.findShortestPaths(start, found);
+        for (int k = 0; k < onGraph.size(); k++) {
+            paths.set(onGraph.get(k), foundPaths.get(k));
+        }
+        return paths;
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (map == null || maxPairs < 0 || workers == null) {
+            throw new RuntimeException("checkRep of BatchPathHandler failure");
+        }
+    }
+
+    /**
+     * One pair of building names in a batch request, as parsed by Gson.
+     */
+    private static class Pair {
+        private String startName;
+        private String endName;
+    }
+}
@@ -0,0 +1,162 @@
+package campuspaths.utils;
+
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writes paths of points in a compact binary form, for clients that only need the total cost and the points along a
+ * path. The coordinates are quantised to multiples of 1 / scale and written as the differences between consecutive
+ * points, which are small along a path, in variable-length integers. The form is:
+ * <pre>
+ *   magic       2 bytes, 'C' 'P'
+ *   version     1 byte, 1
+ *   reserved    1 byte, 0
+ *   cost        8 bytes, big-endian IEEE 754 double; NaN if there is no path
+ *   scale       varint
+ *   count       varint, the number of points; 0 if there is no path
+ *   points      count pairs of zigzag varints: the quantised x and y of the first point, then of each point minus
+ *               the quantised x and y of the point before it
+ * </pre>
+ * A varint holds 7 bits of an unsigned integer per byte, least significant first, with the high bit of every byte
+ * but the last set, and the zigzag encoding maps the signed integers 0, -1, 1, -2, ... to 0, 1, 2, 3, ...
+ */
+public class BinaryPathWriter {
+    // AF(this) = writes paths with coordinates quantised to multiples of 1 / scale
+    // RI: scale > 0
+
+    /**
+     * The content type of the binary form of a path, which clients ask for in their Accept header.
+     */
+    public static final String CONTENT_TYPE = "application/vnd.campuspaths.path";
+
+    /**
+     * The version of the binary form written by this class.
+     */
+    public static final int VERSION = 1;
+
+    // the most bytes the header and one point can take
+    private static final int HEADER_BYTES = 4 + 8 + 5 + 5;
+    private static final int POINT_BYTES = 2 * 10;
+
+    private static final ThreadLocal<byte[][]> BUFFER = ThreadLocal.withInitial(() -> new byte[][] {new byte[1024]});
+
+    private final int scale;
+
+    /**
+     * Creates a writer of paths in binary form.
+     * @param scale The number of steps per unit of the quantised coordinates
+     * @throws IllegalArgumentException if scale &lt; 1
+     */
+    public BinaryPathWriter(int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("scale must be >= 1");
+        }
+        this.scale = scale;
+        checkRep();
+    }
+
+    /**
+     * Writes a path in binary form.
+     * @param path The path to write, or null if there is no path
+     * @param out The stream to write to
+     * @spec.modifies out
+     * @throws IOException if writing to out fails
+     */
+    public void write(Path<Point> path, OutputStream out) throws IOException {
+        byte[] buffer = buffer(path);
+        out.write(buffer, 0, encode(path, buffer));
+    }
+
+    /**
+     * Returns a path in binary form.
+     * @param path The path to write, or null if there is no path
+     * @return The binary form of path
+     */
+    public byte[] toBytes(Path<Point> path) {
+        byte[] buffer = buffer(path);
+        return Arrays.copyOf(buffer, encode(path, buffer));
+    }
+
+    // returns this thread's buffer, grown to hold the binary form of path
+    private static byte[] buffer(Path<Point> path) {
+        byte[][] holder = BUFFER.get();
+        long needed = HEADER_BYTES + (long) POINT_BYTES * points(path);
+        if (holder[0].length < needed) {
+            holder[0] = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, 2L * holder[0].length))];
+        }
+        return holder[0];
+    }
+
+    // writes the binary form of path to the start of buffer, returning its length
+    private int encode(Path<Point> path, byte[] buffer) {
+        buffer[0] = 'C';
+        buffer[1] = 'P';
+        buffer[2] = VERSION;
+        buffer[3] = 0;
+        long cost = Double.doubleToLongBits(path == null ? Double.NaN : path.getCost());
+        for (int i = 0; i < 8; i++) {
+            buffer[4 + i] = (byte) (cost >>> (56 - 8 * i));
+        }
+        int at = putVarint(buffer, 12, scale);
+        if (path == null) {
+            return putVarint(buffer, at, 0);
+        }
+        at = putVarint(buffer, at, points(path));
+        long x = quantise(path.getStart().getX());
+        long y = quantise(path.getStart().getY());
+        at = putVarint(buffer, at, zigzag(x));
+        at = putVarint(buffer, at, zigzag(y));
+        for (Path<Point>.Segment segment : path) {
+            long nextX = quantise(segment.getEnd().getX());
+            long nextY = quantise(segment.getEnd().getY());
+            at = putVarint(buffer, at, zigzag(nextX - x));
+            at = putVarint(buffer, at, zigzag(nextY - y));
+            x = nextX;
+            y = nextY;
+        }
+        return at;
+    }
+
+    // returns the number of points along path, or 0 if it is null
+    private static int points(Path<Point> path) {
+        if (path == null) {
+            return 0;
+        }
+        int points = 1;
+        for (Path<Point>.Segment ignored : path) {
+            points++;
+        }
+        return points;
+    }
+
+    // returns a coordinate as a whole number of steps of 1 / scale
+    private long quantise(double coordinate) {
+        return Math.round(coordinate * scale);
+    }
+
+    // returns the zigzag encoding of n
+    private static long zigzag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    // writes n as a varint into buffer at the given index, returning the index after it
+    private static int putVarint(byte[] buffer, int at, long n) {
+        while ((n & ~0x7FL) != 0) {
+            buffer[at++] = (byte) ((n & 0x7F) | 0x80);
+            n >>>= 7;
+        }
+        buffer[at++] = (byte) n;
+        return at;
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (scale <= 0) {
+            throw new RuntimeException("checkRep of BinaryPathWriter failure");
+        }
+    }
+}
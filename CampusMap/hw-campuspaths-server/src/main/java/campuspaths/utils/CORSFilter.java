@@ -13,12 +13,14 @@ package campuspaths.utils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import spark.Filter;
 import spark.Request;
 import spark.Response;
 import spark.Spark;
 
-import java.util.HashMap;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 // Based on code from
 // https://stackoverflow.com/questions/45295530/spark-cors-access-control-allow-origin-error
@@ -30,7 +32,7 @@ import java.util.HashMap;
  * <p>
  * Note that this is generally a security vulnerability for production applications
  * (see "Cross-Site Scripting" or "XSS"), but it isn't a problem for our specific
- * application.
+ * application. Where it is, the filter can be limited to a list of allowed origins.
  */
 public class CORSFilter {
 
@@ -41,37 +43,125 @@ public class CORSFilter {
     // ===============
 
     /**
-     * Contains all the headers that need to be added
+     * How long, in seconds, browsers may cache the answer to a preflight request.
      */
-    private final HashMap<String, String> corsHeaders = new HashMap<>();
+    public static final int PREFLIGHT_MAX_AGE = 86400;
+
+    /**
+     * The names and values of the headers added to every response to an allowed origin, except for
+     * Access-Control-Allow-Origin, whose value depends on the origin if the origins are restricted.
+     */
+    private final String[] headerNames;
+    private final String[] headerValues;
+
+    /**
+     * Whether responses depend on the origin of their request, which caches must be told of.
+     */
+    private final boolean varyByOrigin;
+
+    /**
+     * The names and values of the headers added to the answers of preflight requests from an allowed origin.
+     */
+    private final String[] preflightNames;
+    private final String[] preflightValues;
+
+    /**
+     * The origins that may make requests, or null if every origin may.
+     */
+    private final Set<String> allowedOrigins;
 
     /**
      * Prepares the filter to be applied to the Spark system by initialized the headers
-     * that need to be used.
+     * that need to be used. Requests from every origin are allowed.
      */
     public CORSFilter() {
-        corsHeaders.put("Access-Control-Allow-Methods", "GET,PUT,POST,DELETE,OPTIONS");
-        corsHeaders.put("Access-Control-Allow-Origin", "*");
-        corsHeaders.put("Access-Control-Allow-Headers",
-                "Content-Type,Authorization,X-Requested-With,Content-Length,Accept,Origin,");
-        corsHeaders.put("Access-Control-Allow-Credentials", "true");
+        this(null);
+    }
+
+    /**
+     * Prepares the filter to be applied to the Spark system by initialized the headers
+     * that need to be used. Only requests from the given origins are allowed, and the
+     * Origin header of a request must equal one of them exactly, such as
+     * "http://localhost:3000".
+     *
+     * @param allowedOrigins The origins that may make requests, or null to allow every origin
+     */
+    public CORSFilter(Collection<String> allowedOrigins) {
+        this.allowedOrigins = allowedOrigins == null ? null : new HashSet<>(allowedOrigins);
+        this.varyByOrigin = allowedOrigins != null;
+        headerNames = new String[] {"Access-Control-Allow-Credentials"};
+        headerValues = new String[] {"true"};
+        preflightNames = new String[] {"Access-Control-Allow-Methods", "Access-Control-Allow-Headers",
+                "Access-Control-Max-Age"};
+        preflightValues = new String[] {"GET,PUT,POST,DELETE,OPTIONS",
+                "Content-Type,Authorization,X-Requested-With,Content-Length,Accept,Origin,",
+                Integer.toString(PREFLIGHT_MAX_AGE)};
     }
 
     /**
      * Applies the filter globally to all Spark responses. Anytime this Spark server responds
-     * to a request following the invocation of this method, completely-permissive CORS headers
-     * will be added to the response headers.
+     * to a request from an allowed origin following the invocation of this method, CORS headers
+     * will be added to the response headers, and preflight OPTIONS requests to any path are
+     * answered with 204 No Content and the prepared preflight headers.
      */
     public void apply() {
-        Filter filter = new Filter() {
-            @Override
-            public void handle(Request request, Response response) {
-                corsHeaders.forEach(response::header);
+        Spark.afterAfter(this::addHeaders); // Applies this filter even if there's a halt() or exception.
+        // Also applies it to responses a route sends itself, which afterAfter is too late for.
+        Spark.before((request, response) -> {
+            addHeaders(request, response);
+            if (varyByOrigin) {
+                // added rather than set, so that the Vary headers of the route are kept
+                response.raw().addHeader("Vary", "Origin");
             }
-        };
-        Spark.afterAfter(filter); // Applies this filter even if there's a halt() or exception.
+        });
+        Spark.options("/*", (request, response) -> {
+            HttpServletResponse raw = response.raw();
+            if (allowedOrigin(request.raw().getHeader("Origin")) != null) {
+                for (int i = 0; i < preflightNames.length; i++) {
+                    raw.setHeader(preflightNames[i], preflightValues[i]);
+                }
+            }
+            raw.setStatus(204);
+            return "";
+        });
         //
         Logger logger = LoggerFactory.getLogger("CampusPaths Server");
         logger.info("Listening on: http://localhost:" + Spark.port());
     }
+
+    /**
+     * Adds the CORS headers to a response if its request comes from an allowed origin. It allocates
+     * nothing, so that it costs next to nothing on every request.
+     *
+     * @param request The request being answered
+     * @param response The response to add the headers to
+     * @spec.modifies response
+     */
+    private void addHeaders(Request request, Response response) {
+        String origin = allowedOrigin(request.raw().getHeader("Origin"));
+        if (origin == null) {
+            return;
+        }
+        HttpServletResponse raw = response.raw();
+        // set rather than add, since the filter runs both before and after the route
+        raw.setHeader("Access-Control-Allow-Origin", origin);
+        for (int i = 0; i < headerNames.length; i++) {
+            raw.setHeader(headerNames[i], headerValues[i]);
+        }
+    }
+
+    /**
+     * Returns the value of the Access-Control-Allow-Origin header for a request.
+     *
+     * @param origin The Origin header of the request, or null if it has none
+     * @return "*" if every origin is allowed, origin itself if it is allowed, or null if it is not
+     */
+    private String allowedOrigin(String origin) {
+        if (allowedOrigins == null) {
+            return "*";
+        }
+        // a hash lookup, so the cost does not grow with the number of allowed origins; the Origin header is a new
+        // String on every request, so its hash is still computed once per request, in one pass over its characters
+        return origin != null && allowedOrigins.contains(origin) ? origin : null;
+    }
 }
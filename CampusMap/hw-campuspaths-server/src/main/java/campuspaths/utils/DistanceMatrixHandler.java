@@ -0,0 +1,180 @@
+package campuspaths.utils;
+
+import com.google.gson.Gson;
+import pathfinder.ModelAPI;
+import pathfinder.RouteTable;
+import pathfinder.datastructures.Point;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answers a request for the matrix of shortest path distances between every ordered pair of a chosen list of
+ * buildings. The matrix is sent as JSON by default, or in a compact binary form to clients whose Accept header
+ * prefers application/octet-stream to JSON: a big-endian int n, then the n building names in modified UTF-8 as
+ * written by DataOutputStream.writeUTF, then the n * n distances as big-endian doubles in row-major order.
+ */
+public class DistanceMatrixHandler implements Route {
+    // AF(this) = answers requests with the distances of map, or of routes if routes != null, for at most maxNames
+    //            buildings
+    // RI: map != null, maxNames >= 0
+
+    /**
+     * The content type of the binary form of the matrix.
+     */
+    public static final String BINARY_TYPE = "application/octet-stream";
+
+    private final ModelAPI map;
+    private final RouteTable<Point> routes;
+    private final int maxNames;
+    private final Gson gson = new Gson();
+
+    /**
+     * Creates a handler for distance matrix requests.
+     * @param map The campus map to find distances on
+     * @param routes The precomputed paths between all buildings of map, or null to search map instead
+     * @param maxNames The most buildings one request may ask for
+     */
+    public DistanceMatrixHandler(ModelAPI map, RouteTable<Point> routes, int maxNames) {
+        this.map = map;
+        this.routes = routes;
+        this.maxNames = maxNames;
+        checkRep();
+    }
+
+    /**
+     * Answers a distance matrix request for the buildings given as a comma-separated list of short names in the
+     * names query parameter, or for all buildings in sorted order if it is missing. Unknown building names and
+     * requests for too many buildings are answered with 400 Bad Request.
+     * @param req The request to answer
+     * @param res The response to fill in
+     * @spec.modifies res
+     * @return The matrix, as a JSON string or as binary bytes
+     */
+    @Override
+    public Object handle(Request req, Response res) throws IOException {
+        checkRep();
+        List<String> names = new ArrayList<>();
+        String list = req.queryParams("names");
+        if (list == null) {
+            names.addAll(map.buildingNames().keySet());
+            Collections.sort(names);
+        } else {
+            int i = 0;
+            while (i <= list.length()) {
+                int end = list.indexOf(',', i);
+                if (end < 0) {
+                    end = list.length();
+                }
+                names.add(list.substring(i, end).trim());
+                i = end + 1;
+            }
+        }
+        if (names.size() > maxNames) {
+            res.status(400);
+            return "at most " + maxNames + " buildings may be requested at once";
+        }
+        for (String name : names) {
+            if (!map.shortNameExists(name)) {
+                res.status(400);
+                return "unknown building: " + name;
+            }
+        }
+
+        double[][] matrix = distances(names);
+        if (MediaTypes.negotiate(req.headers("Accept"), "application/json", BINARY_TYPE).equals(BINARY_TYPE)) {
+            res.type(BINARY_TYPE);
+            return binary(names, matrix);
+        }
+        res.type("application/json");
+        return json(names, matrix);
+    }
+
+    // returns the distances between all ordered pairs of names, which are infinite from and to a building that is not
+    // on the graph
+    private double[][] distances(List<String> names) {
+        double[][] matrix = new double[names.size()][names.size()];
+        if (routes != null) {
+            for (int i = 0; i < names.size(); i++) {
+                for (int j = 0; j < names.size(); j++) {
+                    matrix[i][j] = routes.contains(names.get(i)) && routes.contains(names.get(j))
+                            ? routes.distance(names.get(i), names.get(j)) : Double.POSITIVE_INFINITY;
+                }
+            }
+            return matrix;
+        }
+        // the buildings on the graph are searched as usual, and the rows and columns of the others are left infinite
+        List<Integer> onGraph = new ArrayList<>(names.size());
+        List<String> found = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            if (map.isOnGraph(names.get(i))) {
+                onGraph.add(i);
+                found.add(names.get(i));
+            }
+        }
+        double[][] distances = map.distanceMatrix(found);
+        for (double[] row : matrix) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+        }
+        for (int i = 0; i < onGraph.size(); i++) {
+            for (int j = 0; j < onGraph.size(); j++) {
+                matrix[onGraph.get(i)][onGraph.get(j)] = distances[i][j];
+            }
+        }
+        return matrix;
+    }
+
+    // returns {"names": [...], "costs": [[...], ...]}, with null for the pairs without a path, which JSON has no
+    // number for
+    private String json(List<String> names, double[][] matrix) {
+        StringBuilder out = new StringBuilder(32 + 20 * names.size() * (names.size() + 1));
+        out.append("{\"names\":").append(gson.toJson(names)).append(",\"costs\":[");
+        for (int i = 0; i < matrix.length; i++) {
+            out.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < matrix[i].length; j++) {
+                if (j > 0) {
+                    out.append(',');
+                }
+                if (Double.isInfinite(matrix[i][j])) {
+                    out.append("null");
+                } else {
+                    out.append(matrix[i][j]);
+                }
+            }
+            out.append(']');
+        }
+        return out.append("]}").toString();
+    }
+
+    // returns the binary form of the matrix described in the class comment
+    private static byte[] binary(List<String> names, double[][] matrix) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + 8 * names.size() * (names.size() + 1));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+        for (double[] row : matrix) {
+            for (double d : row) {
+                out.writeDouble(d);
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (map == null || maxNames < 0) {
+            throw new RuntimeException("checkRep of DistanceMatrixHandler failure");
+        }
+    }
+}
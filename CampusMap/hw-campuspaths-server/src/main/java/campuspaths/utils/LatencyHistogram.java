@@ -0,0 +1,120 @@
+package campuspaths.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of durations in nanoseconds, bucketed like an HDR histogram: durations below 32ns each have
+ * their own bucket, and every power of two above that is split into 16 buckets of equal width, so any recorded
+ * duration is known to within 1 / 16 of its value. Recording is lock-free and allocates nothing.
+ */
+public class LatencyHistogram {
+    // AF(this) = counts.get(i) durations in the range of bucket i have been recorded, adding up to sum nanoseconds,
+    //            the longest of which took max nanoseconds
+    // RI: counts.length() == BUCKETS
+
+    // durations below 2^SUB_BITS get a bucket each; above, every power of two gets HALF buckets
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT / 2;
+    private static final int BUCKETS = SUB_COUNT + (63 - SUB_BITS) * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private volatile long max;
+
+    /**
+     * Records a duration.
+     * @param nanos The duration in nanoseconds; negative durations are recorded as 0
+     * @spec.modifies this
+     * @spec.effects Adds nanos to the recorded durations
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        if (value > max) {
+            synchronized (this) {
+                if (value > max) {
+                    max = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of durations recorded.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return The total of the durations recorded, in nanoseconds.
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return The longest duration recorded, in nanoseconds, or 0 if none has been recorded.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns a quantile of the recorded durations. Durations recorded while this method runs may or may not be
+     * counted.
+     * @param q The quantile, such as 0.5 for the median or 0.99 for the 99th percentile
+     * @throws IllegalArgumentException if q is not between 0 and 1
+     * @return The highest duration in the bucket of the q quantile, in nanoseconds, but at most max(); 0 if no
+     *         duration has been recorded
+     */
+    public long quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("q must be between 0 and 1");
+        }
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    // returns the bucket of a duration >= 0
+    private static int bucket(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BITS + 1;
+        return SUB_COUNT + (magnitude - SUB_BITS) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    // returns the highest duration of a bucket
+    private static long highestIn(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int magnitude = SUB_BITS + (bucket - SUB_COUNT) / HALF;
+        int shift = magnitude - SUB_BITS + 1;
+        long top = HALF + (bucket - SUB_COUNT) % HALF;
+        return ((top + 1) << shift) - 1;
+    }
+}
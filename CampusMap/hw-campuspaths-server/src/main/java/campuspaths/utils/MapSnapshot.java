@@ -0,0 +1,138 @@
+package campuspaths.utils;
+
+import com.google.gson.Gson;
+import pathfinder.CampusMap;
+import pathfinder.RouteTable;
+import pathfinder.datastructures.Point;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * An immutable snapshot of one version of the campus data together with everything the server derives from it: the
+ * precomputed routes, the caches of path responses, the prepared building name responses and the handlers of the
+ * routes that read the map. A request reads the current snapshot once and uses it until it is answered, so a new
+ * snapshot can replace the current one while requests are answered, without locks.
+ */
+public class MapSnapshot {
+    // AF(this) = the campus map map, with its routes precomputed in routes if routes != null, the cached path responses
+    //            of each format in routeCache, compactRouteCache and binaryRouteCache, its building names as
+    //            shortNames and longNames, and the handlers of batch and distance matrix requests on it
+    // RI: no field but routes is null
+
+    private final CampusMap map;
+    private final RouteTable<Point> routes;
+    private final RouteCache routeCache;
+    private final RouteCache compactRouteCache;
+    private final RouteCache binaryRouteCache;
+    private final StaticResponse shortNames;
+    private final StaticResponse longNames;
+    private final BatchPathHandler batchHandler;
+    private final DistanceMatrixHandler matrixHandler;
+
+    /**
+     * Derives everything the server needs from a campus map, so that it is ready before the snapshot is used.
+     * @param map The campus map
+     * @param routes The precomputed paths between all buildings of map, or null to search map instead
+     * @param cacheEntries The most responses each cache of path responses may hold
+     * @param cacheBytes The most bytes of responses each cache of path responses may hold
+     * @param gzip Whether to prepare gzip-compressed building name responses
+     * @param maxPairs The most pairs one batch request may ask for
+     * @param maxNames The most buildings one distance matrix request may ask for
+     * @param workers The worker pool the handlers run on
+     */
+    public MapSnapshot(CampusMap map, RouteTable<Point> routes, int cacheEntries, long cacheBytes, boolean gzip,
+                       int maxPairs, int maxNames, WorkerPool workers) {
+        this.map = map;
+        this.routes = routes;
+        this.routeCache = new RouteCache(cacheEntries, cacheBytes);
+        this.compactRouteCache = new RouteCache(cacheEntries, cacheBytes);
+        this.binaryRouteCache = new RouteCache(cacheEntries, cacheBytes);
+        Gson gson = new Gson();
+        this.shortNames = new StaticResponse("list",
+                gson.toJson(map.buildingNames().keySet()).getBytes(StandardCharsets.UTF_8), gzip);
+        this.longNames = new StaticResponse("list",
+                gson.toJson(map.buildingNames().values()).getBytes(StandardCharsets.UTF_8), gzip);
+        this.batchHandler = new BatchPathHandler(map, routes, maxPairs, workers);
+        this.matrixHandler = new DistanceMatrixHandler(map, routes, maxNames);
+        checkRep();
+    }
+
+    /**
+     * @return The campus map of this snapshot.
+     */
+    public CampusMap getMap() {
+        return map;
+    }
+
+    /**
+     * @return The precomputed paths between all buildings of the map, or null if they are not precomputed.
+     */
+    public RouteTable<Point> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * @return The cache of full JSON path responses.
+     */
+    public RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    /**
+     * @return The cache of compact JSON path responses.
+     */
+    public RouteCache getCompactRouteCache() {
+        return compactRouteCache;
+    }
+
+    /**
+     * @return The cache of binary path responses.
+     */
+    public RouteCache getBinaryRouteCache() {
+        return binaryRouteCache;
+    }
+
+    /**
+     * @return The caches of path responses in every format.
+     */
+    public List<RouteCache> getRouteCaches() {
+        return List.of(routeCache, compactRouteCache, binaryRouteCache);
+    }
+
+    /**
+     * @return The response listing the short names of all buildings.
+     */
+    public StaticResponse getShortNames() {
+        return shortNames;
+    }
+
+    /**
+     * @return The response listing the long names of all buildings.
+     */
+    public StaticResponse getLongNames() {
+        return longNames;
+    }
+
+    /**
+     * @return The handler of batch path requests on the map.
+     */
+    public BatchPathHandler getBatchHandler() {
+        return batchHandler;
+    }
+
+    /**
+     * @return The handler of distance matrix requests on the map.
+     */
+    public DistanceMatrixHandler getMatrixHandler() {
+        return matrixHandler;
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (map == null || routeCache == null || compactRouteCache == null || binaryRouteCache == null
+                || shortNames == null || longNames == null || batchHandler == null || matrixHandler == null) {
+            throw new RuntimeException("checkRep of MapSnapshot failure");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package campuspaths.utils;
+
+/**
+ * Chooses which of the content types a route can answer with a client prefers, from the media ranges of its Accept
+ * header. Each offered type takes the quality of the most specific range that matches it, type/subtype before type/*
+ * before *&#47;*, and the type with the highest non-zero quality is chosen. Of types with the same quality, one named
+ * by a more specific range is chosen, and then the one offered first, so the first offered type is the default.
+ */
+public final class MediaTypes {
+
+    // how closely a media range matches a type: not at all, through */*, through type/*, or exactly
+    private static final int NO_MATCH = -1;
+    private static final int ANY_TYPE = 0;
+    private static final int ANY_SUBTYPE = 1;
+    private static final int EXACT = 2;
+
+    private MediaTypes() {
+    }
+
+    /**
+     * Returns the content type a client prefers of those a route offers.
+     * @param accept The Accept header of the request, or null if it has none
+     * @param offered The content types the route can answer with, of the form type/subtype, its default first
+     * @return The offered type with the highest quality in accept, or offered[0] if accept is null, empty, or
+     *         accepts none of offered
+     * @throws IllegalArgumentException if offered is empty
+     */
+    public static String negotiate(String accept, String... offered) {
+        if (offered.length == 0) {
+            throw new IllegalArgumentException("no content type offered");
+        }
+        if (accept == null || accept.isBlank()) {
+            return offered[0];
+        }
+        String best = offered[0];
+        double bestQuality = 0;
+        int bestMatch = NO_MATCH;
+        for (String type : offered) {
+            double quality = 0;
+            int match = NO_MATCH;
+            int i = 0;
+            while (i < accept.length()) {
+                int end = accept.indexOf(',', i);
+                if (end < 0) {
+                    end = accept.length();
+                }
+                String range = accept.substring(i, end);
+                int parameters = range.indexOf(';');
+                int rangeMatch = match(parameters < 0 ? range.trim() : range.substring(0, parameters).trim(), type);
+                if (rangeMatch > match) {
+                    match = rangeMatch;
+                    quality = parameters < 0 ? 1 : quality(range.substring(parameters + 1));
+                }
+                i = end + 1;
+            }
+            if (quality > bestQuality || (quality == bestQuality && quality > 0 && match > bestMatch)) {
+                best = type;
+                bestQuality = quality;
+                bestMatch = match;
+            }
+        }
+        return best;
+    }
+
+    // returns how closely a media range matches a type
+    private static int match(String range, String type) {
+        if (range.equals("*/*")) {
+            return ANY_TYPE;
+        }
+        if (range.equalsIgnoreCase(type)) {
+            return EXACT;
+        }
+        int slash = type.indexOf('/');
+        if (range.endsWith("/*") && range.length() == slash + 2 && range.regionMatches(true, 0, type, 0, slash)) {
+            return ANY_SUBTYPE;
+        }
+        return NO_MATCH;
+    }
+
+    // returns the quality the parameters of a media range give it, 1 unless they set q to a number in [0, 1]
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String p = parameter.replace(" ", "");
+            if (p.startsWith("q=") || p.startsWith("Q=")) {
+                try {
+                    double q = Double.parseDouble(p.substring(2));
+                    return Double.isNaN(q) ? 1 : Math.max(0, Math.min(1, q));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
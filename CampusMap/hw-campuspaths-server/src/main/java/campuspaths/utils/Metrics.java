@@ -0,0 +1,150 @@
+package campuspaths.utils;
+
+import pathfinder.PhaseListener;
+import spark.Route;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The metrics of the server: the number of requests answered by each route with each status, the latency of each
+ * route, the time spent in each phase of answering a path request, and any other counts registered with it. They
+ * are rendered in the Prometheus text exposition format, with latencies as summaries of their 0.5, 0.99 and 0.999
+ * quantiles.
+ */
+public class Metrics implements PhaseListener {
+    // AF(this) = requests.get(route + " " + status) requests to route were answered with status, latencies.get(route)
+    //            holds the latencies of route, phases.get(phase) the durations of phase, and counters.get(name) and
+    //            gauges.get(name) give the current value of the other metrics, with their help text in help
+    // RI: no key or value of any of the maps is null
+
+    /**
+     * The phase of writing a path found for a request into the bytes of the response.
+     */
+    public static final String SERIALIZE = "serialize";
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final Map<String, LongAdder> requests = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> phases = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, String> help = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a route that answers requests like the given one, and counts and times them.
+     * @param name The name to report the route under, such as its path
+     * @param route The route to count and time
+     * @return A route that answers requests with route, recording each in the metrics of name
+     */
+    public Route timed(String name, Route route) {
+        LatencyHistogram latency = latencies.computeIfAbsent(name, key -> new LatencyHistogram());
+        return (req, res) -> {
+            long start = System.nanoTime();
+            int status = 500;
+            try {
+                Object body = route.handle(req, res);
+                status = res.status();
+                return body;
+            } finally {
+                latency.record(System.nanoTime() - start);
+                requests.computeIfAbsent(name + " " + status, key -> new LongAdder()).increment();
+            }
+        };
+    }
+
+    /**
+     * Records the duration of one phase of answering a path request.
+     * @param phase The name of the phase
+     * @param nanos The nanoseconds the phase took
+     * @spec.modifies this
+     * @spec.effects Adds nanos to the durations of phase
+     */
+    @Override
+    public void phaseCompleted(String phase, long nanos) {
+        phases.computeIfAbsent(phase, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Adds a count that only ever grows, such as the number of cache hits, to the metrics.
+     * @param name The Prometheus name of the count, which should end in _total
+     * @param helpText A description of the count
+     * @param value Returns the current count
+     * @spec.modifies this
+     * @spec.effects Reports value under name from now on
+     */
+    public void counter(String name, String helpText, LongSupplier value) {
+        counters.put(name, value);
+        help.put(name, helpText);
+    }
+
+    /**
+     * Adds a value that can go up and down, such as the length of a queue, to the metrics.
+     * @param name The Prometheus name of the value
+     * @param helpText A description of the value
+     * @param value Returns the current value
+     * @spec.modifies this
+     * @spec.effects Reports value under name from now on
+     */
+    public void gauge(String name, String helpText, LongSupplier value) {
+        gauges.put(name, value);
+        help.put(name, helpText);
+    }
+
+    /**
+     * Returns the metrics in the Prometheus text exposition format, version 0.0.4.
+     * @return The current value of every metric
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# HELP campuspaths_requests_total Requests answered, by route and status.\n");
+        out.append("# TYPE campuspaths_requests_total counter\n");
+        requests.forEach((key, count) -> {
+            int space = key.lastIndexOf(' ');
+            out.append("campuspaths_requests_total{route=\"").append(key, 0, space).append("\",status=\"")
+                    .append(key, space + 1, key.length()).append("\"} ").append(count.sum()).append('\n');
+        });
+        renderSummaries(out, "campuspaths_request_duration_seconds", "Time to answer a request, by route.",
+                "route", latencies);
+        renderSummaries(out, "campuspaths_phase_duration_seconds",
+                "Time spent in each phase of answering a path request.", "phase", phases);
+        renderValues(out, "counter", counters);
+        renderValues(out, "gauge", gauges);
+        return out.toString();
+    }
+
+    // appends histograms as one summary metric with a label telling them apart
+    private static void renderSummaries(StringBuilder out, String name, String helpText, String label,
+                                        Map<String, LatencyHistogram> histograms) {
+        out.append("# HELP ").append(name).append(' ').append(helpText).append('\n');
+        out.append("# TYPE ").append(name).append(" summary\n");
+        histograms.forEach((key, histogram) -> {
+            for (double q : QUANTILES) {
+                out.append(name).append('{').append(label).append("=\"").append(key).append("\",quantile=\"")
+                        .append(q).append("\"} ").append(seconds(histogram.quantile(q))).append('\n');
+            }
+            out.append(name).append("_sum{").append(label).append("=\"").append(key).append("\"} ")
+                    .append(seconds(histogram.sum())).append('\n');
+            out.append(name).append("_count{").append(label).append("=\"").append(key).append("\"} ")
+                    .append(histogram.count()).append('\n');
+        });
+    }
+
+    // appends metrics without labels of the given type
+    private void renderValues(StringBuilder out, String type, Map<String, LongSupplier> values) {
+        values.forEach((name, value) -> {
+            out.append("# HELP ").append(name).append(' ').append(help.get(name)).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            out.append(name).append(' ').append(value.getAsLong()).append('\n');
+        });
+    }
+
+    // returns nanoseconds in seconds, the unit Prometheus expects
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+}
@@ -0,0 +1,128 @@
+package campuspaths.utils;
+
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writes paths of points as JSON without building a tree of JSON elements or a String first. The full format is the
+ * one the React application reads, byte for byte the text Gson used to produce for it, {"cost": ..., "start": {"x":
+ * ..., "y": ...}, "path": [{"start": ..., "end": ..., "cost": ...}, ...]}, and the compact format only lists the cost
+ * and the coordinates of the points along the path, {"cost": ..., "coordinates": [x0, y0, x1, y1, ...]}. The text is
+ * put together in buffers that belong to the calling thread and are reused by every path it writes.
+ */
+public class PathWriter {
+    // AF(this) = writes paths in the compact format if compact, else in the full format
+    // RI: true
+
+    // the most characters a buffer keeps between paths, so that one huge path does not pin its memory forever
+    private static final int MAX_RETAINED = 1 << 20;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final boolean compact;
+
+    /**
+     * Creates a writer of paths.
+     * @param compact Whether to write the compact format instead of the full one
+     */
+    public PathWriter(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * Writes a path as JSON.
+     * @param path The path to write, or null to write null
+     * @param out The stream to write the UTF-8 JSON text to
+     * @spec.modifies out
+     * @throws IOException if writing to out fails
+     */
+    public void write(Path<Point> path, OutputStream out) throws IOException {
+        Buffers buffers = format(path);
+        out.write(buffers.bytes, 0, buffers.text.length());
+    }
+
+    /**
+     * Returns a path as JSON.
+     * @param path The path to write, or null to write null
+     * @return The UTF-8 JSON text of path
+     */
+    public byte[] toBytes(Path<Point> path) {
+        Buffers buffers = format(path);
+        return Arrays.copyOf(buffers.bytes, buffers.text.length());
+    }
+
+    // puts the JSON text of path into the buffers of this thread, as characters and as bytes
+    private Buffers format(Path<Point> path) {
+        Buffers buffers = BUFFERS.get();
+        StringBuilder text = buffers.text;
+        if (text.capacity() > MAX_RETAINED) {
+            buffers.text = text = new StringBuilder(MAX_RETAINED);
+        }
+        text.setLength(0);
+        if (path == null) {
+            text.append("null");
+        } else if (compact) {
+            appendCompact(path, text);
+        } else {
+            appendFull(path, text);
+        }
+        buffers.encode();
+        return buffers;
+    }
+
+    // appends the full format, with its properties in the order the React application has always received them
+    private static void appendFull(Path<Point> path, StringBuilder text) {
+        text.append("{\"cost\":").append(path.getCost()).append(",\"start\":");
+        appendPoint(path.getStart(), text);
+        text.append(",\"path\":[");
+        boolean first = true;
+        for (Path<Point>.Segment segment : path) {
+            text.append(first ? "{\"start\":" : ",{\"start\":");
+            appendPoint(segment.getStart(), text);
+            text.append(",\"end\":");
+            appendPoint(segment.getEnd(), text);
+            text.append(",\"cost\":").append(segment.getCost()).append('}');
+            first = false;
+        }
+        text.append("]}");
+    }
+
+    // appends the compact format
+    private static void appendCompact(Path<Point> path, StringBuilder text) {
+        text.append("{\"cost\":").append(path.getCost()).append(",\"coordinates\":[");
+        text.append(path.getStart().getX()).append(',').append(path.getStart().getY());
+        for (Path<Point>.Segment segment : path) {
+            text.append(',').append(segment.getEnd().getX()).append(',').append(segment.getEnd().getY());
+        }
+        text.append("]}");
+    }
+
+    // appends a point the way Gson serializes its fields
+    private static void appendPoint(Point point, StringBuilder text) {
+        text.append("{\"x\":").append(point.getX()).append(",\"y\":").append(point.getY()).append('}');
+    }
+
+    /**
+     * The buffers of one thread. The JSON text written here only consists of ASCII characters, so it is encoded to
+     * UTF-8 one byte per character.
+     */
+    private static class Buffers {
+        private StringBuilder text = new StringBuilder(4096);
+        private byte[] bytes = new byte[4096];
+
+        // copies text into bytes, growing or shrinking bytes to fit
+        private void encode() {
+            int length = text.length();
+            if (bytes.length < length || bytes.length > MAX_RETAINED) {
+                bytes = new byte[Math.max(length, 4096)];
+            }
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) text.charAt(i);
+            }
+        }
+    }
+}
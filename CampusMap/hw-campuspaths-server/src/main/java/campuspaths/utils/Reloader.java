@@ -0,0 +1,161 @@
+package campuspaths.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current version of a value that is expensive to load, such as a snapshot of the campus data, and loads
+ * new versions in the background on request. A new version replaces the current one only once it is completely
+ * loaded, with a single volatile write, so readers never wait and never see a partly loaded version; readers that
+ * got the old version keep using it. Requests that arrive while a version is waiting to be loaded share that load.
+ * @param <T> The type of the value
+ */
+public class Reloader<T> {
+    // AF(this) = current is the latest value loaded by loader, which is version generation; a load is waiting to
+    //            start iff pending; reloads loads have replaced the first value, and failures have failed
+    // RI: loader != null, current != null, background != null, generation == reloads + 1
+
+    // how long a watched directory must stay unchanged before it is loaded, so a file is not read while being written
+    private static final long SETTLE_MILLIS = 250;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("CampusPaths Server");
+
+    private final Supplier<T> loader;
+    private final ExecutorService background;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile T current;
+    private volatile long generation;
+
+    /**
+     * Loads the first version of a value.
+     * @param name The name of the value, which names the background thread
+     * @param loader Loads the latest version of the value; it may throw a RuntimeException if it cannot
+     * @throws RuntimeException if loading the first version fails
+     */
+    public Reloader(String name, Supplier<T> loader) {
+        this.loader = loader;
+        this.current = loader.get();
+        this.generation = 1;
+        this.background = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, name + "-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkRep();
+    }
+
+    /**
+     * @return The latest version of the value that has been completely loaded.
+     */
+    public T current() {
+        return current;
+    }
+
+    /**
+     * Starts loading a new version of the value in the background, unless a load is already waiting to start. If the
+     * load fails, the current version is kept.
+     * @spec.modifies this
+     * @spec.effects Eventually replaces the current value with a newly loaded one
+     * @return true iff a new load was started, false if the request joined a load waiting to start
+     */
+    public boolean reload() {
+        if (!pending.compareAndSet(false, true)) {
+            return false;
+        }
+        background.execute(() -> {
+            // cleared before loading, so a change made during this load triggers another one
+            pending.set(false);
+            try {
+                T loaded = loader.get();
+                if (loaded == null) {
+                    throw new IllegalStateException("loaded null");
+                }
+                synchronized (this) {
+                    current = loaded;
+                    generation++;
+                    reloads.incrementAndGet();
+                    checkRep();
+                }
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                LOGGER.error("Could not reload, so the current version is kept", e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Reloads the value whenever a file in the given directory is created or modified, until the server stops.
+     * @param directory The directory to watch
+     * @throws IOException if the directory cannot be watched
+     */
+    public void watch(Path directory) throws IOException {
+        WatchService watcher = FileSystems.getDefault().newWatchService();
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watcher.take();
+                    // wait for the changes to settle, as one save can produce several events
+                    do {
+                        key.pollEvents();
+                        key.reset();
+                        key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    } while (key != null);
+                    reload();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // the server is stopping
+            }
+        }, "reload-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return The version of the current value, which is 1 for the first value and grows by one with each reload.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * @return The number of loads that replaced the value.
+     */
+    public long reloads() {
+        return reloads.get();
+    }
+
+    /**
+     * @return The number of loads that failed.
+     */
+    public long failures() {
+        return failures.get();
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (loader == null || current == null || background == null) {
+            throw new RuntimeException("checkRep of Reloader failure: null field");
+        }
+        if (generation != reloads.get() + 1) {
+            throw new RuntimeException("checkRep of Reloader failure: generation out of step");
+        }
+    }
+}
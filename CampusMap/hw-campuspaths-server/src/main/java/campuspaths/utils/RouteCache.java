@@ -0,0 +1,174 @@
+package campuspaths.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe, bounded cache of serialized responses keyed by a (start, end) pair of building names. It holds at
+ * most a fixed number of entries and a fixed total number of bytes, evicting the least recently used entries first
+ * when either limit is exceeded, and counts its hits, misses and evictions. Responses are stored as the exact bytes
+ * to send, so a hit costs neither a search nor serialization.
+ */
+public class RouteCache {
+    // AF(this) = the response for each key (start, end) of entries is entries.get(key), ordered from least to most
+    //            recently used; there have been hits hits, misses misses and evictions evictions
+    // RI: entries != null, entries.size() <= maxEntries, totalBytes == the sum of the lengths of the values of
+    //     entries, totalBytes <= maxBytes, no key or value of entries is null
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, byte[]> entries;
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a new, empty cache.
+     * @param maxEntries The most responses the cache may hold
+     * @param maxBytes The most bytes of responses the cache may hold in total
+     * @throws IllegalArgumentException if maxEntries &lt; 0 or maxBytes &lt; 0
+     */
+    public RouteCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 0 || maxBytes < 0) {
+            throw new IllegalArgumentException("maxEntries and maxBytes must be >= 0");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        checkRep();
+    }
+
+    /**
+     * Returns the cached response for a pair of names, computing and caching it first on a miss. The response is
+     * computed outside the lock of this cache, so concurrent misses on the same pair may compute it more than once.
+     * @param start The name of the start building
+     * @param end The name of the end building
+     * @param compute Computes the response for the pair on a miss
+     * @spec.modifies this
+     * @spec.effects Marks the pair as most recently used, and on a miss adds it, evicting least recently used
+     *               entries until the limits hold again
+     * @return The response for the pair, which the caller must not modify
+     */
+    public byte[] get(String start, String end, Supplier<byte[]> compute) {
+        Key key = new Key(start, end);
+        synchronized (this) {
+            byte[] cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        byte[] response = compute.get();
+        synchronized (this) {
+            put(key, response);
+            checkRep();
+        }
+        return response;
+    }
+
+    /**
+     * Removes every response from this cache, for when the data the responses were computed from changes.
+     * @spec.modifies this
+     * @spec.effects Empties the cache; the counters are kept
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        totalBytes = 0;
+        checkRep();
+    }
+
+    /**
+     * @return The number of responses in this cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The total number of bytes of the responses in this cache.
+     */
+    public synchronized long weight() {
+        return totalBytes;
+    }
+
+    /**
+     * @return The number of lookups answered from this cache.
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of lookups that had to compute their response.
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of responses evicted to keep within the limits of this cache.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    // adds a response, evicting least recently used entries until the limits hold
+    private void put(Key key, byte[] response) {
+        if (response.length > maxBytes || maxEntries == 0) {
+            return;
+        }
+        byte[] previous = entries.put(key, response);
+        if (previous != null) {
+            totalBytes -= previous.length;
+        }
+        totalBytes += response.length;
+        Iterator<byte[]> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || totalBytes > maxBytes) {
+            totalBytes -= eldest.next().length;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (entries == null) {
+            throw new RuntimeException("checkRep of RouteCache failure: null field");
+        }
+        if (entries.size() > maxEntries || totalBytes > maxBytes) {
+            throw new RuntimeException("checkRep of RouteCache failure: limits exceeded");
+        }
+    }
+
+    /**
+     * An immutable (start, end) pair of building names.
+     */
+    private static class Key {
+        private final String start;
+        private final String end;
+
+        Key(String start, String end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(start, other.start) && Objects.equals(end, other.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(start) + Objects.hashCode(end);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package campuspaths.utils;
+
+import spark.Request;
+import spark.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An immutable response whose body never changes while the server runs, prepared once so that serving it only copies
+ * bytes. It carries a strong ETag derived from its body, answers a matching If-None-Match with 304 Not Modified and
+ * no body, and can keep a gzip-compressed copy of the body for clients that accept it.
+ */
+public class StaticResponse {
+    // AF(this) = a response of type contentType with body body, identified by the entity tag etag, whose
+    //            gzip-compressed body is gzipBody, tagged gzipEtag, if gzipBody != null
+    // RI: contentType != null, body != null, etag != null; gzipBody == null iff gzipEtag == null;
+    //     gzipBody is shorter than body if it is not null
+
+    private final String contentType;
+    private final byte[] body;
+    private final String etag;
+    private final byte[] gzipBody;
+    private final String gzipEtag;
+
+    /**
+     * Prepares a static response.
+     * @param contentType The content type of the response
+     * @param body The body of the response, which is taken over by this response and must not be modified
+     * @param compress Whether to also prepare a gzip-compressed copy of the body; it is only kept if it is smaller
+     */
+    public StaticResponse(String contentType, byte[] body, boolean compress) {
+        this.contentType = contentType;
+        this.body = body;
+        String digest = digest(body);
+        this.etag = "\"" + digest + "\"";
+        byte[] compressed = compress ? gzip(body) : null;
+        if (compressed != null && compressed.length < body.length) {
+            this.gzipBody = compressed;
+            this.gzipEtag = "\"" + digest + "-gzip\"";
+        } else {
+            this.gzipBody = null;
+            this.gzipEtag = null;
+        }
+        checkRep();
+    }
+
+    /**
+     * @return The entity tag of the uncompressed body, including its quotes.
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * Answers a request with this response, as a Spark route. The compressed body is sent if the client accepts gzip,
+     * and no body is sent if the client already has the current version.
+     * @param req The request to answer
+     * @param res The response to fill in
+     * @spec.modifies res
+     * @throws IOException if writing the compressed body fails
+     * @return The body for Spark to send, which is empty if this method sent the body itself
+     */
+    public Object serve(Request req, Response res) throws IOException {
+        boolean compressed = gzipBody != null && acceptsGzip(req.headers("Accept-Encoding"));
+        res.type(contentType);
+        res.header("ETag", compressed ? gzipEtag : etag);
+        if (gzipBody != null) {
+            res.header("Vary", "Accept-Encoding");
+        }
+        if (matches(req.headers("If-None-Match"))) {
+            res.status(304);
+            return "";
+        }
+        if (!compressed) {
+            return body;
+        }
+        // Spark compresses any body it sends with a gzip Content-Encoding, so the already compressed body is
+        // written directly. Committing the response here makes Spark skip its own serialization.
+        res.header("Content-Encoding", "gzip");
+        res.raw().setContentLength(gzipBody.length);
+        res.raw().getOutputStream().write(gzipBody);
+        res.raw().flushBuffer();
+        return "";
+    }
+
+    // returns true iff the If-None-Match header lists the tag of either body, or is "*"
+    private boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        int i = 0;
+        while (i < ifNoneMatch.length()) {
+            int end = ifNoneMatch.indexOf(',', i);
+            if (end < 0) {
+                end = ifNoneMatch.length();
+            }
+            String tag = ifNoneMatch.substring(i, end).trim();
+            // If-None-Match uses the weak comparison, which ignores a W/ prefix
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    // returns true iff the Accept-Encoding header accepts gzip with a non-zero quality
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        int i = 0;
+        while (i < acceptEncoding.length()) {
+            int end = acceptEncoding.indexOf(',', i);
+            if (end < 0) {
+                end = acceptEncoding.length();
+            }
+            String coding = acceptEncoding.substring(i, end).trim();
+            int parameters = coding.indexOf(';');
+            String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parameters < 0 || !isZeroQuality(coding.substring(parameters + 1));
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    // returns true iff the parameters of a content coding set q to zero
+    private static boolean isZeroQuality(String parameters) {
+        String q = parameters.replace(" ", "");
+        if (!q.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(q.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // returns the first 16 bytes of the SHA-256 digest of data in hex, as an entity tag
+    private static String digest(byte[] data) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // returns data compressed with gzip
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (contentType == null || body == null || etag == null) {
+            throw new RuntimeException("checkRep of StaticResponse failure: null field");
+        }
+        if ((gzipBody == null) != (gzipEtag == null)) {
+            throw new RuntimeException("checkRep of StaticResponse failure: gzip body without tag");
+        }
+    }
+}
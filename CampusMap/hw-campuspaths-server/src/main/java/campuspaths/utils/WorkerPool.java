@@ -0,0 +1,177 @@
+package campuspaths.utils;
+
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of worker threads for CPU-bound routes. The request threads of the server hand the work of a route to
+ * the pool and wait for it, so no more requests compute at once than the pool has threads, and no more wait for a
+ * thread than its queue holds. Requests that find the queue full, or that wait longer than the timeout for a thread,
+ * are shed with 503 Service Unavailable instead of piling up behind the ones being answered. A request that has
+ * started on a worker thread is always finished, since its route may already have written part of the response.
+ */
+public class WorkerPool {
+    // AF(this) = a pool of executor's threads answering routes, which sheds requests that find executor's queue full
+    //            or wait longer than timeoutMillis for a thread; it has completed completed, rejected rejected and
+    //            timed out timedOut requests
+    // RI: executor != null, timeoutMillis > 0
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * Creates a pool of worker threads, which are daemon threads so they do not keep the server alive.
+     * @param threads The number of worker threads
+     * @param queueLength The most requests that may wait for a worker thread
+     * @param timeoutMillis The most milliseconds a request may wait for a worker thread
+     * @throws IllegalArgumentException if threads &lt; 1, queueLength &lt; 1 or timeoutMillis &lt; 1
+     */
+    public WorkerPool(int threads, int queueLength, long timeoutMillis) {
+        if (threads < 1 || queueLength < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("threads, queueLength and timeoutMillis must be >= 1");
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread thread = new Thread(r, "route-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueLength), factory, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        checkRep();
+    }
+
+    /**
+     * Returns a route that answers requests like the given one, but computes its answers on this pool.
+     * @param route The route to run on this pool
+     * @return A route that runs route on this pool, and answers with 503 Service Unavailable if the pool is
+     *         overloaded
+     */
+    public Route around(Route route) {
+        return (req, res) -> handle(route, req, res);
+    }
+
+    // answers a request with route on a worker thread, or sheds it if the pool is overloaded
+    private Object handle(Route route, Request req, Response res) throws Exception {
+        // whichever of the worker and the timeout claims the request first decides whether it is answered or shed
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<Object> answer;
+        try {
+            answer = executor.submit(() -> claimed.compareAndSet(false, true) ? route.handle(req, res) : null);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return unavailable(res, "server is overloaded");
+        }
+        try {
+            Object body;
+            try {
+                body = answer.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    answer.cancel(false);
+                    timedOut.incrementAndGet();
+                    return unavailable(res, "request timed out waiting for a worker");
+                }
+                body = answer.get();
+            }
+            completed.incrementAndGet();
+            return body;
+        } catch (ExecutionException e) {
+            // rethrown as is so that Spark's exception handling sees the route's own exception
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a task on a worker thread of this pool if its queue has room, for a route running on this pool that splits
+     * its work with idle workers. The task is not counted as a request, and is never shed once queued, so the route
+     * must be able to finish without it, taking over the part of the work the task has not started.
+     * @param task The task to run
+     * @return {@literal true} iff task was queued to run on a worker thread
+     */
+    boolean tryExecute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return The number of worker threads of this pool.
+     */
+    public int threads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    // fills in res as a 503 Service Unavailable response
+    private static Object unavailable(Response res, String reason) {
+        res.status(503);
+        res.header("Retry-After", "1");
+        res.type("text/plain");
+        return reason;
+    }
+
+    /**
+     * @return The number of requests this pool has answered.
+     */
+    public long completed() {
+        return completed.get();
+    }
+
+    /**
+     * @return The number of requests this pool shed because its queue was full.
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * @return The number of requests this pool shed because they waited longer than the timeout for a thread.
+     */
+    public long timedOut() {
+        return timedOut.get();
+    }
+
+    /**
+     * @return The number of worker threads of this pool that are answering a request.
+     */
+    public int active() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return The number of requests waiting for a worker thread of this pool.
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (executor == null || timeoutMillis <= 0) {
+            throw new RuntimeException("checkRep of WorkerPool failure");
+        }
+    }
+}
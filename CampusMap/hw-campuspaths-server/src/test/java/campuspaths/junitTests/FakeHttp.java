@@ -0,0 +1,215 @@
+package campuspaths.junitTests;
+
+import spark.Request;
+import spark.RequestResponseFactory;
+import spark.Response;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory stand-ins for the servlet request and response Spark wraps, so that routes and filters can be called
+ * directly by the tests without starting a server.
+ */
+final class FakeHttp {
+
+    private FakeHttp() {
+    }
+
+    /**
+     * A request with the given method, path, headers, query parameters and body.
+     */
+    static final class FakeRequest {
+        String method = "GET";
+        String path = "/";
+        final Map<String, String> headers = new HashMap<>();
+        final Map<String, String> params = new HashMap<>();
+        byte[] body = new byte[0];
+
+        FakeRequest header(String name, String value) {
+            headers.put(name.toLowerCase(), value);
+            return this;
+        }
+
+        FakeRequest param(String name, String value) {
+            params.put(name, value);
+            return this;
+        }
+
+        FakeRequest body(String text) {
+            body = text.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        Request toSpark() {
+            return RequestResponseFactory.create(proxy(HttpServletRequest.class, this::answer));
+        }
+
+        private Object answer(Method m, Object[] args) {
+            switch (m.getName()) {
+                case "getMethod":
+                    return method;
+                case "getRequestURI":
+                case "getPathInfo":
+                    return path;
+                case "getHeader":
+                    return headers.get(((String) args[0]).toLowerCase());
+                case "getHeaders":
+                    String value = headers.get(((String) args[0]).toLowerCase());
+                    return Collections.enumeration(value == null ? Collections.emptyList()
+                                                                 : Collections.singletonList(value));
+                case "getHeaderNames":
+                    return Collections.enumeration(headers.keySet());
+                case "getParameter":
+                    return params.get((String) args[0]);
+                case "getCharacterEncoding":
+                    return "UTF-8";
+                case "getContentLength":
+                    return body.length;
+                case "getInputStream":
+                    return inputStream(body);
+                default:
+                    return defaultValue(m.getReturnType());
+            }
+        }
+    }
+
+    /**
+     * A response that records what is set on it and written to it.
+     */
+    static final class FakeResponse {
+        int status = 200;
+        String contentType;
+        final Map<String, String> headers = new LinkedHashMap<>();
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        boolean committed;
+        final Response spark = RequestResponseFactory.create(proxy(HttpServletResponse.class, this::answer));
+
+        String header(String name) {
+            return headers.get(name.toLowerCase());
+        }
+
+        private Object answer(Method m, Object[] args) {
+            switch (m.getName()) {
+                case "setStatus":
+                    status = (Integer) args[0];
+                    return null;
+                case "getStatus":
+                    return status;
+                case "setContentType":
+                    contentType = (String) args[0];
+                    return null;
+                case "getContentType":
+                    return contentType;
+                case "setHeader":
+                case "addHeader":
+                    headers.put(((String) args[0]).toLowerCase(), (String) args[1]);
+                    return null;
+                case "getHeader":
+                    return headers.get(((String) args[0]).toLowerCase());
+                case "containsHeader":
+                    return headers.containsKey(((String) args[0]).toLowerCase());
+                case "getOutputStream":
+                    return outputStream(written);
+                case "flushBuffer":
+                    committed = true;
+                    return null;
+                case "isCommitted":
+                    return committed;
+                default:
+                    return defaultValue(m.getReturnType());
+            }
+        }
+    }
+
+    private interface Answer {
+        Object answer(Method m, Object[] args);
+    }
+
+    // returns an instance of type that answers every call with answer, or with equals, hashCode and toString of Object
+    private static <T> T proxy(Class<T> type, Answer answer) {
+        Object proxy = Proxy.newProxyInstance(FakeHttp.class.getClassLoader(), new Class<?>[] {type},
+                (self, m, args) -> {
+                    switch (m.getName()) {
+                        case "equals":
+                            return self == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "toString":
+                            return type.getSimpleName();
+                        default:
+                            return answer.answer(m, args);
+                    }
+                });
+        return type.cast(proxy);
+    }
+
+    // returns the zero value of type, or null if it is not primitive
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static ServletInputStream inputStream(byte[] bytes) {
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private static ServletOutputStream outputStream(ByteArrayOutputStream out) {
+        return new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package campuspaths.junitTests;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import pathfinder.datastructures.Path;
+
+import java.lang.reflect.Type;
+
+/**
+ * Serializes a Path through its public API with Gson, as {"cost": ..., "start": ..., "path": [{"start": ..., "end":
+ * ..., "cost": ...}, ...]}, which is the format the React application reads. This is how the server wrote paths before
+ * PathWriter, and is kept as the reference PathWriter's full format has to match byte for byte.
+ */
+class PathSerializer implements JsonSerializer<Path<?>> {
+
+    @Override
+    public JsonElement serialize(Path<?> src, Type typeOfSrc, JsonSerializationContext context) {
+        JsonObject json = new JsonObject();
+        json.addProperty("cost", src.getCost());
+        json.add("start", context.serialize(src.getStart()));
+        JsonArray segments = new JsonArray();
+        for (Path<?>.Segment i : src) {
+            JsonObject segment = new JsonObject();
+            segment.add("start", context.serialize(i.getStart()));
+            segment.add("end", context.serialize(i.getEnd()));
+            segment.addProperty("cost", i.getCost());
+            segments.add(segment);
+        }
+        json.add("path", segments);
+        return json;
+    }
+}
@@ -0,0 +1,33 @@
+package campuspaths.junitTests;
+
+import pathfinder.CampusMap;
+import pathfinder.PhaseListener;
+import pathfinder.SearchMode;
+import pathfinder.parser.CampusBuilding;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A campus small enough to check answers by hand: A at (0, 0), B at (1, 0) and C at (2, 0) on a two-way line with
+ * edges of cost 1, E at (5, 0), which can only be reached from (6, 0), and X at (9, 9), which is not on the graph.
+ */
+final class SmallCampus {
+
+    private static final String PATHS = "0,0,1,0,1\n1,0,0,0,1\n1,0,2,0,1\n2,0,1,0,1\n6,0,5,0,1\n";
+
+    private SmallCampus() {
+    }
+
+    static CampusMap map() {
+        return new CampusMap(Arrays.asList(
+                new CampusBuilding("A", "Building A", 0, 0),
+                new CampusBuilding("B", "Building B", 1, 0),
+                new CampusBuilding("C", "Building C", 2, 0),
+                new CampusBuilding("E", "Building E", 5, 0),
+                new CampusBuilding("X", "Building X", 9, 9)),
+                new ByteArrayInputStream(PATHS.getBytes(StandardCharsets.US_ASCII)), SearchMode.DIJKSTRA,
+                PhaseListener.NONE);
+    }
+}
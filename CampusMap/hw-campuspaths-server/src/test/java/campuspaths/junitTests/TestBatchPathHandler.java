@@ -0,0 +1,178 @@
+package campuspaths.junitTests;
+
+import campuspaths.junitTests.FakeHttp.FakeRequest;
+import campuspaths.junitTests.FakeHttp.FakeResponse;
+import campuspaths.utils.BatchPathHandler;
+import campuspaths.utils.WorkerPool;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.ModelAPI;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestBatchPathHandler {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private static final WorkerPool WORKERS = new WorkerPool(4, 16, 10_000);
+
+    private static final String THREE_STARTS = "[{\"startName\":\"A\",\"endName\":\"C\"},"
+            + "{\"startName\":\"B\",\"endName\":\"C\"},{\"startName\":\"C\",\"endName\":\"A\"}]";
+
+    // returns map, recording the threads it searches on in threads, and failing the searches from failingStart
+    private static ModelAPI watched(ModelAPI map, Set<String> threads, String failingStart) {
+        return (ModelAPI) Proxy.newProxyInstance(ModelAPI.class.getClassLoader(), new Class<?>[] {ModelAPI.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("findShortestPath")) {
+                        threads.add(Thread.currentThread().getName());
+                        if (args[0].equals(failingStart)) {
+                            throw new IllegalArgumentException("search failed");
+                        }
+                    }
+                    try {
+                        return method.invoke(map, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    // answers a batch with handler and returns the response
+    private static FakeResponse post(BatchPathHandler handler, String body) throws Exception {
+        FakeResponse res = new FakeResponse();
+        Object answer = handler.handle(new FakeRequest().body(body).toSpark(), res.spark);
+        if (!"".equals(answer)) {
+            res.written.write(answer.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return res;
+    }
+
+    // returns the paths of a streamed batch response
+    private static JsonArray paths(FakeResponse res) {
+        assertEquals(200, res.status);
+        assertEquals("application/json", res.contentType);
+        return new JsonParser().parse(new String(res.written.toByteArray(), StandardCharsets.UTF_8)).getAsJsonArray();
+    }
+
+    private static double cost(JsonElement path) {
+        return path.getAsJsonObject().get("cost").getAsDouble();
+    }
+
+    @Test
+    public void testPathsInOrderOfPairs() throws Exception {
+        BatchPathHandler handler = new BatchPathHandler(SmallCampus.map(), null, 10, WORKERS);
+        JsonArray paths = paths(post(handler, "[{\"startName\":\"A\",\"endName\":\"C\"},"
+                + "{\"startName\":\"C\",\"endName\":\"B\"},{\"startName\":\"A\",\"endName\":\"B\"},"
+                + "{\"startName\":\"A\",\"endName\":\"A\"}]"));
+        assertEquals(4, paths.size());
+        assertEquals(2.0, cost(paths.get(0)), EPSILON);
+        assertEquals(1.0, cost(paths.get(1)), EPSILON);
+        assertEquals(1.0, cost(paths.get(2)), EPSILON);
+        assertEquals(0.0, cost(paths.get(3)), EPSILON);
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception {
+        assertEquals(0, paths(post(new BatchPathHandler(SmallCampus.map(), null, 10, WORKERS), "[]")).size());
+    }
+
+    /** only the pairs with a building off the graph or out of reach go without a path, not their whole group */
+    @Test
+    public void testOffGraphEndOnlyNullsItsPair() throws Exception {
+        CampusMap map = SmallCampus.map();
+        String body = "[{\"startName\":\"A\",\"endName\":\"B\"},{\"startName\":\"A\",\"endName\":\"X\"},"
+                + "{\"startName\":\"A\",\"endName\":\"C\"},{\"startName\":\"A\",\"endName\":\"E\"},"
+                + "{\"startName\":\"X\",\"endName\":\"A\"}]";
+        for (BatchPathHandler handler : new BatchPathHandler[] {new BatchPathHandler(map, null, 10, WORKERS),
+                new BatchPathHandler(map, map.buildRouteTable(), 10, WORKERS)}) {
+            JsonArray paths = paths(post(handler, body));
+            assertEquals(5, paths.size());
+            assertEquals(1.0, cost(paths.get(0)), EPSILON);
+            assertTrue(paths.get(1).isJsonNull());
+            assertEquals(2.0, cost(paths.get(2)), EPSILON);
+            assertTrue(paths.get(3).isJsonNull());
+            assertTrue(paths.get(4).isJsonNull());
+        }
+    }
+
+    @Test
+    public void testCompactFormat() throws Exception {
+        BatchPathHandler handler = new BatchPathHandler(SmallCampus.map(), null, 10, WORKERS);
+        FakeResponse res = new FakeResponse();
+        handler.handle(new FakeRequest().param("format", "compact")
+                .body("[{\"startName\":\"A\",\"endName\":\"C\"}]").toSpark(), res.spark);
+        JsonArray coordinates = paths(res).get(0).getAsJsonObject().get("coordinates").getAsJsonArray();
+        assertEquals(6, coordinates.size());
+        assertEquals(2.0, coordinates.get(4).getAsDouble(), EPSILON);
+    }
+
+    @Test
+    public void testBadRequests() throws Exception {
+        BatchPathHandler handler = new BatchPathHandler(SmallCampus.map(), null, 2, WORKERS);
+        for (String body : new String[] {"", "{", "{\"startName\":\"A\"}", "[{\"startName\":\"A\"}]", "[null]",
+                "[{\"startName\":\"A\",\"endName\":\"Z\"}]",
+                "[{\"startName\":\"A\",\"endName\":\"B\"},{\"startName\":\"A\",\"endName\":\"B\"},"
+                        + "{\"startName\":\"A\",\"endName\":\"B\"}]"}) {
+            assertEquals(body, 400, post(handler, body).status);
+        }
+    }
+
+    /** the groups are searched on the threads of the worker pool the request runs on, not on a shared pool */
+    @Test
+    public void testSearchesOnWorkerThreads() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        WorkerPool workers = new WorkerPool(3, 4, 10_000);
+        BatchPathHandler handler = new BatchPathHandler(watched(SmallCampus.map(), threads, null), null, 10, workers);
+        FakeResponse res = new FakeResponse();
+        workers.around(handler).handle(new FakeRequest().body(THREE_STARTS).toSpark(), res.spark);
+        assertEquals(3, paths(res).size());
+        assertFalse(threads.isEmpty());
+        for (String thread : threads) {
+            assertTrue(thread, thread.startsWith("route-worker-"));
+        }
+    }
+
+    /** a pool of one thread, with no idle thread to help, still answers every group */
+    @Test
+    public void testNoIdleWorkers() throws Exception {
+        WorkerPool workers = new WorkerPool(1, 1, 10_000);
+        BatchPathHandler handler = new BatchPathHandler(SmallCampus.map(), null, 10, workers);
+        FakeResponse res = new FakeResponse();
+        workers.around(handler).handle(new FakeRequest().body(THREE_STARTS).toSpark(), res.spark);
+        JsonArray paths = paths(res);
+        assertEquals(2.0, cost(paths.get(0)), EPSILON);
+        assertEquals(1.0, cost(paths.get(1)), EPSILON);
+        assertEquals(2.0, cost(paths.get(2)), EPSILON);
+    }
+
+    /**
+     * a search that fails fails the request before any of the response is written, even with an
+     * IllegalArgumentException, which does not mean that a building is off the graph
+     */
+    @Test
+    public void testFailedSearchWritesNothing() throws Exception {
+        BatchPathHandler handler = new BatchPathHandler(
+                watched(SmallCampus.map(), ConcurrentHashMap.newKeySet(), "B"), null, 10, WORKERS);
+        FakeResponse res = new FakeResponse();
+        try {
+            handler.handle(new FakeRequest().body(THREE_STARTS).toSpark(), res.spark);
+            fail("the failed search was not reported");
+        } catch (IllegalArgumentException e) {
+            assertEquals("search failed", e.getMessage());
+        }
+        assertEquals(0, res.written.size());
+        assertFalse(res.committed);
+    }
+}
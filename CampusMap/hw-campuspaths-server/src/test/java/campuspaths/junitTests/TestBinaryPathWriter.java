@@ -0,0 +1,150 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.BinaryPathWriter;
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestBinaryPathWriter {
+
+    /**
+     * A path read back from its binary form.
+     */
+    private static final class Decoded {
+        double cost;
+        long scale;
+        final List<long[]> points = new ArrayList<>();
+    }
+
+    // reads the varint at the position of bytes
+    private static long varint(ByteBuffer bytes) {
+        long n = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes.get();
+            n |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return n;
+            }
+            assertTrue("varint longer than 10 bytes", shift < 63);
+        }
+    }
+
+    private static long unzigzag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    // reads the binary form of a path, with its quantised points
+    private static Decoded decode(byte[] form) {
+        ByteBuffer bytes = ByteBuffer.wrap(form);
+        assertEquals('C', bytes.get());
+        assertEquals('P', bytes.get());
+        assertEquals(BinaryPathWriter.VERSION, bytes.get());
+        assertEquals(0, bytes.get());
+        Decoded path = new Decoded();
+        path.cost = bytes.getDouble();
+        path.scale = varint(bytes);
+        long count = varint(bytes);
+        long x = 0;
+        long y = 0;
+        for (long i = 0; i < count; i++) {
+            x += unzigzag(varint(bytes));
+            y += unzigzag(varint(bytes));
+            path.points.add(new long[] {x, y});
+        }
+        assertFalse("bytes after the last point", bytes.hasRemaining());
+        return path;
+    }
+
+    private static List<Point> points(Path<Point> path) {
+        List<Point> points = new ArrayList<>();
+        points.add(path.getStart());
+        for (Path<Point>.Segment segment : path) {
+            points.add(segment.getEnd());
+        }
+        return points;
+    }
+
+    // asserts that the binary form of path decodes to its cost and its points, quantised to the given scale
+    private static void assertRoundTrip(Path<Point> path, int scale) throws IOException {
+        BinaryPathWriter writer = new BinaryPathWriter(scale);
+        byte[] form = writer.toBytes(path);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(path, out);
+        assertArrayEquals(form, out.toByteArray());
+
+        Decoded decoded = decode(form);
+        assertEquals(Double.doubleToLongBits(path.getCost()), Double.doubleToLongBits(decoded.cost));
+        assertEquals(scale, decoded.scale);
+        List<Point> points = points(path);
+        assertEquals(points.size(), decoded.points.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(Math.round(points.get(i).getX() * scale), decoded.points.get(i)[0]);
+            assertEquals(Math.round(points.get(i).getY() * scale), decoded.points.get(i)[1]);
+        }
+    }
+
+    @Test
+    public void testRoundTripCampusPaths() throws IOException {
+        CampusMap map = new CampusMap();
+        for (String start : new String[] {"CSE", "MGH", "KNE", "BAG"}) {
+            for (String end : new String[] {"CSE", "PAR", "IMA", "UBS"}) {
+                Path<Point> path = map.findShortestPath(start, end);
+                assertRoundTrip(path, 100);
+                assertRoundTrip(path, 1);
+            }
+        }
+    }
+
+    @Test
+    public void testKnownBytes() {
+        // x = 1 -> zigzag 2, y = -1 -> zigzag 1; then dx = 150 -> zigzag 300 = 0xAC 0x02, dy = -64 -> zigzag 127
+        Path<Point> path = new Path<>(new Point(1, -1)).extend(new Point(151, -65), 2.5);
+        byte[] expected = ByteBuffer.allocate(19).put(new byte[] {'C', 'P', 1, 0}).putDouble(2.5)
+                .put(new byte[] {1, 2, 2, 1, (byte) 0xAC, 0x02, 127}).array();
+        assertArrayEquals(expected, new BinaryPathWriter(1).toBytes(path));
+    }
+
+    /** differences near the ends of the long range take all 10 bytes of a varint */
+    @Test
+    public void testLongestVarints() throws IOException {
+        Path<Point> path = new Path<>(new Point(-3e16, 3e16)).extend(new Point(3e16, -3e16), 1)
+                .extend(new Point(-3e16, 0), 1);
+        assertRoundTrip(path, 100);
+        assertRoundTrip(new Path<>(new Point(-0.004, 0.005)), 100);
+    }
+
+    @Test
+    public void testNoPath() {
+        Decoded decoded = decode(new BinaryPathWriter(100).toBytes(null));
+        assertTrue(Double.isNaN(decoded.cost));
+        assertEquals(100, decoded.scale);
+        assertEquals(0, decoded.points.size());
+    }
+
+    /** a path needing more than the initial buffer is written whole */
+    @Test
+    public void testLongPath() throws IOException {
+        Path<Point> path = new Path<>(new Point(0, 0));
+        for (int i = 1; i < 5_000; i++) {
+            path = path.extend(new Point(i * 1000.5, -i * 7.25), 1);
+        }
+        assertRoundTrip(path, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroScale() {
+        new BinaryPathWriter(0);
+    }
+}
@@ -0,0 +1,123 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.CORSFilter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import spark.Spark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the filter on a real Spark server, since it works by registering filters and routes with Spark.
+ */
+public class TestCORSFilter {
+
+    private static final String ALLOWED = "http://localhost:3000";
+    private static final String OTHER = "http://evil.example";
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    @BeforeClass
+    public static void startServer() {
+        Spark.port(0);
+        new CORSFilter(Arrays.asList(ALLOWED, "https://campus.example")).apply();
+        Spark.get("/ping", (req, res) -> {
+            res.header("Vary", "Accept");
+            return "pong";
+        });
+        // a route that sends its response itself, as StaticResponse does with gzip
+        Spark.get("/raw", (req, res) -> {
+            res.raw().getOutputStream().write(new byte[] {'o', 'k'});
+            res.raw().flushBuffer();
+            return "";
+        });
+        Spark.awaitInitialization();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        Spark.stop();
+        Spark.awaitStop();
+    }
+
+    // sends a request for path with the given method and Origin header, if origin != null
+    private static HttpResponse<String> send(String method, String path, String origin)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + Spark.port() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        if (origin != null) {
+            request.header("Origin", origin);
+        }
+        return CLIENT.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean hasHeader(HttpResponse<?> response, String name) {
+        return response.headers().firstValue(name).isPresent();
+    }
+
+    @Test
+    public void testAllowedOrigin() throws Exception {
+        HttpResponse<String> response = send("GET", "/ping", ALLOWED);
+        assertEquals(200, response.statusCode());
+        assertEquals("pong", response.body());
+        assertEquals(ALLOWED, response.headers().firstValue("Access-Control-Allow-Origin").orElse(null));
+        assertEquals("true", response.headers().firstValue("Access-Control-Allow-Credentials").orElse(null));
+    }
+
+    @Test
+    public void testOtherOriginGetsNoCORSHeaders() throws Exception {
+        for (String origin : new String[] {OTHER, null, ALLOWED + "/", "http://localhost:3001"}) {
+            HttpResponse<String> response = send("GET", "/ping", origin);
+            assertEquals(200, response.statusCode());
+            assertFalse(origin, hasHeader(response, "Access-Control-Allow-Origin"));
+            assertFalse(origin, hasHeader(response, "Access-Control-Allow-Credentials"));
+        }
+    }
+
+    /** the answer depends on the Origin, and the Vary of the route itself is kept */
+    @Test
+    public void testVaryByOrigin() throws Exception {
+        List<String> vary = send("GET", "/ping", OTHER).headers().allValues("Vary");
+        assertTrue(vary.toString(), String.join(",", vary).contains("Origin"));
+        assertTrue(vary.toString(), String.join(",", vary).contains("Accept"));
+    }
+
+    @Test
+    public void testRouteThatSendsItsOwnResponse() throws Exception {
+        HttpResponse<String> response = send("GET", "/raw", "https://campus.example");
+        assertEquals("ok", response.body());
+        assertEquals("https://campus.example",
+                response.headers().firstValue("Access-Control-Allow-Origin").orElse(null));
+    }
+
+    @Test
+    public void testPreflightFromAllowedOrigin() throws Exception {
+        HttpResponse<String> response = send("OPTIONS", "/findShortPaths", ALLOWED);
+        assertEquals(204, response.statusCode());
+        assertEquals(ALLOWED, response.headers().firstValue("Access-Control-Allow-Origin").orElse(null));
+        assertTrue(response.headers().firstValue("Access-Control-Allow-Methods").orElse("").contains("POST"));
+        assertTrue(response.headers().firstValue("Access-Control-Allow-Headers").orElse("").contains("Content-Type"));
+        assertEquals(Integer.toString(CORSFilter.PREFLIGHT_MAX_AGE),
+                response.headers().firstValue("Access-Control-Max-Age").orElse(null));
+    }
+
+    @Test
+    public void testPreflightFromOtherOrigin() throws Exception {
+        HttpResponse<String> response = send("OPTIONS", "/ping", OTHER);
+        assertEquals(204, response.statusCode());
+        assertFalse(hasHeader(response, "Access-Control-Allow-Origin"));
+        assertFalse(hasHeader(response, "Access-Control-Allow-Methods"));
+        assertFalse(hasHeader(response, "Access-Control-Max-Age"));
+    }
+}
@@ -0,0 +1,140 @@
+package campuspaths.junitTests;
+
+import campuspaths.junitTests.FakeHttp.FakeRequest;
+import campuspaths.junitTests.FakeHttp.FakeResponse;
+import campuspaths.utils.DistanceMatrixHandler;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.ModelAPI;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestDistanceMatrixHandler {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    // returns the matrix of the JSON answer to a request for the given names
+    private static JsonObject json(DistanceMatrixHandler handler, String names) throws IOException {
+        FakeRequest req = new FakeRequest();
+        if (names != null) {
+            req.param("names", names);
+        }
+        FakeResponse res = new FakeResponse();
+        Object body = handler.handle(req.toSpark(), res.spark);
+        assertEquals(200, res.status);
+        assertEquals("application/json", res.contentType);
+        return new JsonParser().parse((String) body).getAsJsonObject();
+    }
+
+    // asserts that the JSON row has the given costs, with null for infinity
+    private static void assertRow(double[] expected, JsonArray row) {
+        assertEquals(expected.length, row.size());
+        for (int j = 0; j < expected.length; j++) {
+            if (Double.isInfinite(expected[j])) {
+                assertTrue(row.get(j).isJsonNull());
+            } else {
+                assertEquals(expected[j], row.get(j).getAsDouble(), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        JsonObject matrix = json(new DistanceMatrixHandler(SmallCampus.map(), null, 10), "A, C,B");
+        assertEquals("[\"A\",\"C\",\"B\"]", matrix.get("names").toString());
+        JsonArray costs = matrix.get("costs").getAsJsonArray();
+        assertRow(new double[] {0, 2, 1}, costs.get(0).getAsJsonArray());
+        assertRow(new double[] {2, 0, 1}, costs.get(1).getAsJsonArray());
+        assertRow(new double[] {1, 1, 0}, costs.get(2).getAsJsonArray());
+    }
+
+    /** a building off the graph has an infinite row and column, as with a route table, rather than failing */
+    @Test
+    public void testOffGraphBuilding() throws IOException {
+        double inf = Double.POSITIVE_INFINITY;
+        CampusMap map = SmallCampus.map();
+        for (DistanceMatrixHandler handler : new DistanceMatrixHandler[] {new DistanceMatrixHandler(map, null, 10),
+                new DistanceMatrixHandler(map, map.buildRouteTable(), 10)}) {
+            JsonArray costs = json(handler, "A,X,E,B").get("costs").getAsJsonArray();
+            assertRow(new double[] {0, inf, inf, 1}, costs.get(0).getAsJsonArray());
+            assertRow(new double[] {inf, inf, inf, inf}, costs.get(1).getAsJsonArray());
+            assertRow(new double[] {inf, inf, 0, inf}, costs.get(2).getAsJsonArray());
+            assertRow(new double[] {1, inf, inf, 0}, costs.get(3).getAsJsonArray());
+        }
+    }
+
+    /** an IllegalArgumentException from the search is a failure, not a sign that a building is off the graph */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchFailureNotHidden() throws IOException {
+        CampusMap map = SmallCampus.map();
+        ModelAPI failing = (ModelAPI) Proxy.newProxyInstance(ModelAPI.class.getClassLoader(),
+                new Class<?>[] {ModelAPI.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("distanceMatrix")) {
+                        throw new IllegalArgumentException("search failed");
+                    }
+                    try {
+                        return method.invoke(map, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        new DistanceMatrixHandler(failing, null, 10).handle(new FakeRequest().param("names", "A,X").toSpark(),
+                new FakeResponse().spark);
+    }
+
+    @Test
+    public void testAllBuildingsInSortedOrder() throws IOException {
+        JsonObject matrix = json(new DistanceMatrixHandler(SmallCampus.map(), null, 10), null);
+        assertEquals("[\"A\",\"B\",\"C\",\"E\",\"X\"]", matrix.get("names").toString());
+        assertEquals(5, matrix.get("costs").getAsJsonArray().size());
+    }
+
+    @Test
+    public void testBinary() throws IOException {
+        DistanceMatrixHandler handler = new DistanceMatrixHandler(SmallCampus.map(), null, 10);
+        FakeResponse res = new FakeResponse();
+        Object body = handler.handle(new FakeRequest().param("names", "B,X")
+                .header("Accept", DistanceMatrixHandler.BINARY_TYPE).toSpark(), res.spark);
+        assertEquals(DistanceMatrixHandler.BINARY_TYPE, res.contentType);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream((byte[]) body));
+        assertEquals(2, in.readInt());
+        assertEquals("B", in.readUTF());
+        assertEquals("X", in.readUTF());
+        assertEquals(0.0, in.readDouble(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, in.readDouble(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, in.readDouble(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, in.readDouble(), 0.0);
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testBinaryRefused() throws IOException {
+        DistanceMatrixHandler handler = new DistanceMatrixHandler(SmallCampus.map(), null, 10);
+        for (String accept : new String[] {DistanceMatrixHandler.BINARY_TYPE + ";q=0, */*",
+                                           DistanceMatrixHandler.BINARY_TYPE + ";q=0.5, application/json"}) {
+            FakeResponse res = new FakeResponse();
+            handler.handle(new FakeRequest().param("names", "B,X").header("Accept", accept).toSpark(), res.spark);
+            assertEquals(accept, "application/json", res.contentType);
+        }
+    }
+
+    @Test
+    public void testBadRequests() throws IOException {
+        DistanceMatrixHandler handler = new DistanceMatrixHandler(SmallCampus.map(), null, 2);
+        for (String names : new String[] {"A,Z", "A,B,C", "A,,B"}) {
+            FakeResponse res = new FakeResponse();
+            handler.handle(new FakeRequest().param("names", names).toSpark(), res.spark);
+            assertEquals(names, 400, res.status);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestLatencyHistogram {
+
+    // returns the highest duration of the bucket nanos is recorded in
+    private static long bucketTop(long nanos) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(nanos);
+        // a second, larger duration keeps max() from capping the answer
+        histogram.record(Long.MAX_VALUE);
+        return histogram.quantile(0.5);
+    }
+
+    @Test
+    public void testSmallDurationsAreExact() {
+        for (long nanos = 0; nanos < 32; nanos++) {
+            assertEquals(nanos, bucketTop(nanos));
+        }
+    }
+
+    /** from 32 on, every power of two is split into 16 buckets */
+    @Test
+    public void testBucketEdges() {
+        assertEquals(33, bucketTop(32));
+        assertEquals(33, bucketTop(33));
+        assertEquals(35, bucketTop(34));
+        assertEquals(63, bucketTop(62));
+        assertEquals(63, bucketTop(63));
+        assertEquals(67, bucketTop(64));
+        assertEquals(67, bucketTop(67));
+        assertEquals(71, bucketTop(68));
+        assertEquals(123, bucketTop(120));
+        assertEquals(127, bucketTop(124));
+        assertEquals(135, bucketTop(128));
+        for (int k = 5; k < 63; k++) {
+            long power = 1L << k;
+            assertEquals(power + (power >> 4) - 1, bucketTop(power));
+            assertEquals(power - 1, bucketTop(power - 1));
+        }
+    }
+
+    @Test
+    public void testWithinOneSixteenth() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long nanos = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            long top = bucketTop(nanos);
+            assertTrue(top >= nanos);
+            assertTrue(nanos + " -> " + top, top - nanos <= nanos / 16);
+        }
+    }
+
+    @Test
+    public void testLargestDuration() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.quantile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.max());
+    }
+
+    /** a quantile is at most the longest duration recorded, not the top of its bucket */
+    @Test
+    public void testQuantileCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        assertEquals(1000, histogram.quantile(0.5));
+        assertEquals(1000, histogram.quantile(1));
+    }
+
+    @Test
+    public void testQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int nanos = 30; nanos >= 1; nanos--) {
+            histogram.record(nanos);
+        }
+        assertEquals(1, histogram.quantile(0));
+        assertEquals(15, histogram.quantile(0.5));
+        assertEquals(27, histogram.quantile(0.9));
+        assertEquals(30, histogram.quantile(1));
+        assertEquals(30, histogram.count());
+        assertEquals(465, histogram.sum());
+        assertEquals(30, histogram.max());
+    }
+
+    @Test
+    public void testEmptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.quantile(0.99));
+        histogram.record(-5);
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.sum());
+        assertEquals(0, histogram.quantile(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuantileAboveOne() {
+        new LatencyHistogram().quantile(1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuantileNaN() {
+        new LatencyHistogram().quantile(Double.NaN);
+    }
+}
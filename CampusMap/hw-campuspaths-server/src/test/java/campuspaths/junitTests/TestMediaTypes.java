@@ -0,0 +1,79 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.MediaTypes;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestMediaTypes {
+
+    private static final String JSON = "application/json";
+    private static final String BINARY = "application/vnd.campuspaths.path";
+
+    private static String negotiate(String accept) {
+        return MediaTypes.negotiate(accept, JSON, BINARY);
+    }
+
+    @Test
+    public void testDefault() {
+        assertEquals(JSON, negotiate(null));
+        assertEquals(JSON, negotiate(""));
+        assertEquals(JSON, negotiate("*/*"));
+        assertEquals(JSON, negotiate("text/html"));
+    }
+
+    @Test
+    public void testExactType() {
+        assertEquals(BINARY, negotiate(BINARY));
+        assertEquals(BINARY, negotiate("text/html, " + BINARY + ";version=1"));
+        assertEquals(JSON, negotiate(JSON));
+    }
+
+    @Test
+    public void testZeroQuality() {
+        assertEquals(JSON, negotiate(BINARY + ";q=0"));
+        assertEquals(JSON, negotiate(BINARY + "; q=0.0, */*"));
+        assertEquals(BINARY, negotiate(JSON + ";q=0, " + BINARY));
+    }
+
+    @Test
+    public void testQualityOrder() {
+        assertEquals(JSON, negotiate(BINARY + ";q=0.5, " + JSON + ";q=0.9"));
+        assertEquals(BINARY, negotiate(BINARY + ";q=0.9, " + JSON + ";q=0.5"));
+        assertEquals(BINARY, negotiate("application/*;q=0.2, " + BINARY));
+        assertEquals(JSON, negotiate("application/*, " + BINARY + ";q=0.3"));
+    }
+
+    /** of types the client likes as much, one it names is preferred to one it only matches with a wildcard */
+    @Test
+    public void testSpecificRangeBreaksTies() {
+        assertEquals(BINARY, negotiate(BINARY + ", */*"));
+        assertEquals(BINARY, negotiate("*/*;q=0.8, application/*;q=0.8, " + BINARY + ";q=0.8"));
+        assertEquals(JSON, negotiate(BINARY + ", " + JSON));
+    }
+
+    /** the most specific matching range sets the quality, wherever it is in the header */
+    @Test
+    public void testMostSpecificRangeWins() {
+        assertEquals(JSON, negotiate(BINARY + ";q=0, */*"));
+        assertEquals(BINARY, negotiate("*/*;q=0, " + BINARY));
+        assertEquals(JSON, negotiate("*/*;q=0, application/json;q=0.1"));
+    }
+
+    @Test
+    public void testNothingAcceptable() {
+        assertEquals(JSON, negotiate(JSON + ";q=0, " + BINARY + ";q=0"));
+        assertEquals(JSON, negotiate("*/*;q=0"));
+    }
+
+    @Test
+    public void testMalformedQuality() {
+        assertEquals(BINARY, negotiate(BINARY + ";q=high"));
+        assertEquals(BINARY, negotiate(BINARY + ";q=7, " + JSON + ";q=0.9"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNothingOffered() {
+        MediaTypes.negotiate(BINARY);
+    }
+}
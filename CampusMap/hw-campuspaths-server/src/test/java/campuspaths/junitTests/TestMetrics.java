@@ -0,0 +1,129 @@
+package campuspaths.junitTests;
+
+import campuspaths.junitTests.FakeHttp.FakeRequest;
+import campuspaths.junitTests.FakeHttp.FakeResponse;
+import campuspaths.utils.Metrics;
+import org.junit.Test;
+import spark.Route;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestMetrics {
+
+    // a sample line of the Prometheus text format: a name, optional labels, and a value
+    private static final Pattern SAMPLE =
+            Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*(\\{([a-zA-Z_][a-zA-Z0-9_]*=\"[^\"]*\",?)*})? \\S+");
+
+    private static void call(Route route) throws Exception {
+        FakeResponse res = new FakeResponse();
+        try {
+            route.handle(new FakeRequest().toSpark(), res.spark);
+        } catch (IllegalStateException e) {
+            // routes in these tests fail on purpose
+        }
+    }
+
+    private static List<String> lines(Metrics metrics) {
+        String text = metrics.render();
+        assertTrue(text.endsWith("\n"));
+        return Arrays.asList(text.split("\n"));
+    }
+
+    // returns the value of the sample line that starts with the given name and labels
+    private static String value(Metrics metrics, String sample) {
+        for (String line : lines(metrics)) {
+            if (line.startsWith(sample + " ")) {
+                return line.substring(sample.length() + 1);
+            }
+        }
+        fail("no sample " + sample);
+        return null;
+    }
+
+    @Test
+    public void testEveryLineIsWellFormed() throws Exception {
+        Metrics metrics = new Metrics();
+        call(metrics.timed("/a", (req, res) -> "ok"));
+        metrics.phaseCompleted(Metrics.SERIALIZE, 5000);
+        metrics.counter("things_total", "Things.", () -> 3);
+        metrics.gauge("level", "Level.", () -> -2);
+        for (String line : lines(metrics)) {
+            assertTrue(line, line.startsWith("# HELP ") || line.startsWith("# TYPE ")
+                    || SAMPLE.matcher(line).matches());
+        }
+    }
+
+    @Test
+    public void testCountsRequestsByRouteAndStatus() throws Exception {
+        Metrics metrics = new Metrics();
+        Route ok = metrics.timed("/ok", (req, res) -> "ok");
+        Route missing = metrics.timed("/ok", (req, res) -> {
+            res.status(404);
+            return "";
+        });
+        call(ok);
+        call(ok);
+        call(missing);
+        call(metrics.timed("/fails", (req, res) -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("2", value(metrics, "campuspaths_requests_total{route=\"/ok\",status=\"200\"}"));
+        assertEquals("1", value(metrics, "campuspaths_requests_total{route=\"/ok\",status=\"404\"}"));
+        // a route that throws is counted as a server error
+        assertEquals("1", value(metrics, "campuspaths_requests_total{route=\"/fails\",status=\"500\"}"));
+        assertEquals("3", value(metrics, "campuspaths_request_duration_seconds_count{route=\"/ok\"}"));
+        assertTrue(lines(metrics).contains("# TYPE campuspaths_requests_total counter"));
+    }
+
+    @Test
+    public void testPhaseSummaryInSeconds() {
+        Metrics metrics = new Metrics();
+        metrics.phaseCompleted("search", 2_000_000_000L);
+        metrics.phaseCompleted("search", 500_000_000L);
+        String name = "campuspaths_phase_duration_seconds";
+        assertTrue(lines(metrics).contains("# TYPE " + name + " summary"));
+        assertEquals("2.5", value(metrics, name + "_sum{phase=\"search\"}"));
+        assertEquals("2", value(metrics, name + "_count{phase=\"search\"}"));
+        assertEquals(2.0, Double.parseDouble(value(metrics, name + "{phase=\"search\",quantile=\"0.999\"}")), 0.0);
+        double median = Double.parseDouble(value(metrics, name + "{phase=\"search\",quantile=\"0.5\"}"));
+        assertTrue(median >= 0.5 && median <= 0.5 * 17 / 16);
+    }
+
+    /** counters and gauges are read when the metrics are rendered, not when they are registered */
+    @Test
+    public void testCountersAndGauges() {
+        Metrics metrics = new Metrics();
+        AtomicLong hits = new AtomicLong();
+        metrics.counter("hits_total", "Cache hits.", hits::get);
+        metrics.gauge("queued", "Queued requests.", () -> 7);
+        hits.set(41);
+        List<String> lines = lines(metrics);
+        assertTrue(lines.contains("# HELP hits_total Cache hits."));
+        assertTrue(lines.contains("# TYPE hits_total counter"));
+        assertTrue(lines.contains("hits_total 41"));
+        assertTrue(lines.contains("# TYPE queued gauge"));
+        assertTrue(lines.contains("queued 7"));
+        hits.incrementAndGet();
+        assertEquals("42", value(metrics, "hits_total"));
+    }
+
+    /** the HELP and TYPE lines of a metric come before its samples */
+    @Test
+    public void testHeadersBeforeSamples() throws Exception {
+        Metrics metrics = new Metrics();
+        call(metrics.timed("/a", (req, res) -> "ok"));
+        metrics.counter("b_total", "B.", () -> 1);
+        List<String> lines = lines(metrics);
+        int type = lines.indexOf("# TYPE campuspaths_request_duration_seconds summary");
+        int sample = lines.indexOf("campuspaths_request_duration_seconds_count{route=\"/a\"} 1");
+        assertTrue(type >= 0 && sample > type);
+        assertTrue(lines.indexOf("# HELP b_total B.") < lines.indexOf("b_total 1"));
+    }
+}
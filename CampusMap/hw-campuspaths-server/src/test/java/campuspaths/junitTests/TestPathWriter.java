@@ -0,0 +1,108 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.PathWriter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestPathWriter {
+
+    private static final Gson GSON =
+            new GsonBuilder().registerTypeHierarchyAdapter(Path.class, new PathSerializer()).create();
+
+    // returns paths between pairs of buildings all over the campus
+    private static List<Path<Point>> campusPaths() {
+        CampusMap map = new CampusMap();
+        List<String> names = new ArrayList<>(map.buildingNames().keySet());
+        Collections.sort(names);
+        List<Path<Point>> paths = new ArrayList<>();
+        for (int i = 0; i < names.size(); i += 7) {
+            for (int j = 0; j < names.size(); j += 11) {
+                paths.add(map.findShortestPath(names.get(i), names.get(j)));
+            }
+        }
+        return paths;
+    }
+
+    private static byte[] gson(Path<Point> path) {
+        return GSON.toJson(path).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testFullFormatIsGsonText() throws IOException {
+        PathWriter writer = new PathWriter(false);
+        for (Path<Point> path : campusPaths()) {
+            assertArrayEquals(gson(path), writer.toBytes(path));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.write(path, out);
+            assertArrayEquals(gson(path), out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testOddNumbersAreGsonText() {
+        PathWriter writer = new PathWriter(false);
+        Path<Point> path = new Path<>(new Point(-0.0, 1e-7)).extend(new Point(1e21, 566.85714), 1.0 / 3)
+                .extend(new Point(Double.MIN_VALUE, -12345.678), 0);
+        assertArrayEquals(gson(path), writer.toBytes(path));
+    }
+
+    @Test
+    public void testSinglePointAndNull() {
+        PathWriter writer = new PathWriter(false);
+        Path<Point> path = new Path<>(new Point(1, 2));
+        assertArrayEquals(gson(path), writer.toBytes(path));
+        assertEquals("null", new String(writer.toBytes(null), StandardCharsets.UTF_8));
+        assertEquals("null", new String(new PathWriter(true).toBytes(null), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCompactFormat() {
+        PathWriter writer = new PathWriter(true);
+        for (Path<Point> path : campusPaths()) {
+            JsonObject json = new JsonParser().parse(new String(writer.toBytes(path), StandardCharsets.UTF_8))
+                    .getAsJsonObject();
+            assertEquals(path.getCost(), json.get("cost").getAsDouble(), 0.0);
+            JsonArray coordinates = json.get("coordinates").getAsJsonArray();
+            List<Point> points = new ArrayList<>();
+            points.add(path.getStart());
+            for (Path<Point>.Segment segment : path) {
+                points.add(segment.getEnd());
+            }
+            assertEquals(2 * points.size(), coordinates.size());
+            for (int i = 0; i < points.size(); i++) {
+                assertEquals(points.get(i).getX(), coordinates.get(2 * i).getAsDouble(), 0.0);
+                assertEquals(points.get(i).getY(), coordinates.get(2 * i + 1).getAsDouble(), 0.0);
+            }
+        }
+    }
+
+    /** a path too long for the retained buffers is written whole, and shorter ones after it still are */
+    @Test
+    public void testHugePath() {
+        PathWriter writer = new PathWriter(false);
+        Path<Point> path = new Path<>(new Point(0, 0));
+        for (int i = 1; i < 20_000; i++) {
+            path = path.extend(new Point(i, i), 1);
+        }
+        assertArrayEquals(gson(path), writer.toBytes(path));
+        Path<Point> small = new Path<>(new Point(0, 0)).extend(new Point(3, 4), 5);
+        assertArrayEquals(gson(small), writer.toBytes(small));
+    }
+}
@@ -0,0 +1,163 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.MapSnapshot;
+import campuspaths.utils.Reloader;
+import campuspaths.utils.WorkerPool;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestReloader {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // waits until condition holds, failing after ten seconds
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static MapSnapshot snapshot() {
+        return new MapSnapshot(SmallCampus.map(), null, 16, 1 << 16, true, 10, 10, new WorkerPool(1, 1, 1000));
+    }
+
+    @Test
+    public void testFirstValueLoadedAtOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Reloader<Integer> reloader = new Reloader<>("test", loads::incrementAndGet);
+        assertEquals(Integer.valueOf(1), reloader.current());
+        assertEquals(1, reloader.generation());
+        assertEquals(0, reloader.reloads());
+    }
+
+    /** a reload replaces the whole snapshot, and a reader that got the old one keeps using it unchanged */
+    @Test
+    public void testSnapshotSwap() throws InterruptedException {
+        Reloader<MapSnapshot> maps = new Reloader<>("test", TestReloader::snapshot);
+        MapSnapshot old = maps.current();
+        old.getRouteCache().get("A", "B", () -> new byte[] {1});
+        assertTrue(maps.reload());
+        await(() -> maps.generation() == 2);
+        MapSnapshot current = maps.current();
+        assertNotSame(old, current);
+        assertNotSame(old.getMap(), current.getMap());
+        assertNotSame(old.getBatchHandler(), current.getBatchHandler());
+        // the new snapshot starts with empty caches, and the old one keeps its own
+        assertEquals(0, current.getRouteCache().size());
+        assertEquals(1, old.getRouteCache().size());
+        // the same data gives the same names, with the same tag
+        assertEquals(old.getShortNames().getETag(), current.getShortNames().getETag());
+        assertEquals(1, maps.reloads());
+    }
+
+    /** readers see the old value until the new one is completely loaded */
+    @Test
+    public void testOldValueServedDuringLoad() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Reloader<Integer> reloader = new Reloader<>("test", () -> {
+            if (loads.get() > 0) {
+                loading.countDown();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return loads.incrementAndGet();
+        });
+        reloader.reload();
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(1), reloader.current());
+        assertEquals(1, reloader.generation());
+        release.countDown();
+        await(() -> reloader.generation() == 2);
+        assertEquals(Integer.valueOf(2), reloader.current());
+    }
+
+    /** reloads requested while one is waiting to start share it */
+    @Test
+    public void testWaitingReloadsAreShared() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Reloader<Integer> reloader = new Reloader<>("test", () -> {
+            if (loads.get() == 1) {
+                loading.countDown();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return loads.incrementAndGet();
+        });
+        assertTrue(reloader.reload());
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        // the running load may have read old data, so a new one is started after it, and shared by later requests
+        assertTrue(reloader.reload());
+        assertFalse(reloader.reload());
+        assertFalse(reloader.reload());
+        release.countDown();
+        await(() -> reloader.generation() == 3);
+        Thread.sleep(50);
+        assertEquals(3, reloader.generation());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testFailedLoadKeepsValue() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Reloader<Integer> reloader = new Reloader<>("test", () -> {
+            int load = loads.incrementAndGet();
+            if (load == 2) {
+                throw new IllegalStateException("bad data");
+            }
+            return load == 3 ? null : load;
+        });
+        reloader.reload();
+        await(() -> reloader.failures() == 1);
+        reloader.reload();
+        await(() -> reloader.failures() == 2);
+        assertEquals(Integer.valueOf(1), reloader.current());
+        assertEquals(1, reloader.generation());
+        reloader.reload();
+        await(() -> reloader.generation() == 2);
+        assertEquals(Integer.valueOf(4), reloader.current());
+        assertEquals(2, reloader.failures());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFirstLoadFails() {
+        new Reloader<Integer>("test", () -> {
+            throw new IllegalStateException("bad data");
+        });
+    }
+
+    @Test
+    public void testWatchReloadsOnChange() throws IOException, InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Reloader<Integer> reloader = new Reloader<>("test", loads::incrementAndGet);
+        reloader.watch(folder.getRoot().toPath());
+        Files.write(folder.getRoot().toPath().resolve("campus_paths.csv"), new byte[] {'0'});
+        await(() -> reloader.generation() >= 2);
+        assertEquals(reloader.generation(), reloader.reloads() + 1);
+    }
+}
@@ -0,0 +1,119 @@
+package campuspaths.junitTests;
+
+import campuspaths.utils.RouteCache;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TestRouteCache {
+
+    // returns a supplier of the given response that counts how often it is called
+    private static Supplier<byte[]> counting(AtomicInteger calls, byte[] response) {
+        return () -> {
+            calls.incrementAndGet();
+            return response;
+        };
+    }
+
+    @Test
+    public void testHitAfterMiss() {
+        RouteCache cache = new RouteCache(10, 1000);
+        AtomicInteger calls = new AtomicInteger();
+        byte[] response = {1, 2, 3};
+        assertSame(response, cache.get("CSE", "KNE", counting(calls, response)));
+        assertSame(response, cache.get("CSE", "KNE", counting(calls, new byte[] {9})));
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.weight());
+    }
+
+    /** (start, end) and (end, start) are different routes */
+    @Test
+    public void testPairIsOrdered() {
+        RouteCache cache = new RouteCache(10, 1000);
+        cache.get("CSE", "KNE", () -> new byte[] {1});
+        assertArrayEquals(new byte[] {2}, cache.get("KNE", "CSE", () -> new byte[] {2}));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        RouteCache cache = new RouteCache(2, 1000);
+        cache.get("A", "B", () -> new byte[] {1});
+        cache.get("B", "C", () -> new byte[] {2});
+        // using (A, B) again makes (B, C) the least recently used
+        cache.get("A", "B", () -> new byte[] {9});
+        cache.get("C", "D", () -> new byte[] {3});
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        AtomicInteger calls = new AtomicInteger();
+        cache.get("A", "B", counting(calls, new byte[] {9}));
+        assertEquals(0, calls.get());
+        cache.get("B", "C", counting(calls, new byte[] {2}));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testEvictsToStayWithinBytes() {
+        RouteCache cache = new RouteCache(100, 10);
+        cache.get("A", "B", () -> new byte[6]);
+        cache.get("B", "C", () -> new byte[4]);
+        assertEquals(10, cache.weight());
+        // evicting the 6 bytes of (A, B) is enough to make room for 5 more
+        cache.get("C", "D", () -> new byte[5]);
+        assertEquals(2, cache.size());
+        assertEquals(9, cache.weight());
+        assertEquals(1, cache.evictions());
+        cache.get("D", "E", () -> new byte[10]);
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.weight());
+        assertEquals(3, cache.evictions());
+    }
+
+    /** a response larger than the whole cache is returned but not cached, and evicts nothing */
+    @Test
+    public void testOversizedResponseNotCached() {
+        RouteCache cache = new RouteCache(100, 10);
+        cache.get("A", "B", () -> new byte[4]);
+        assertEquals(11, cache.get("B", "C", () -> new byte[11]).length);
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.evictions());
+    }
+
+    @Test
+    public void testZeroEntriesCachesNothing() {
+        RouteCache cache = new RouteCache(0, 1000);
+        AtomicInteger calls = new AtomicInteger();
+        cache.get("A", "B", counting(calls, new byte[1]));
+        cache.get("A", "B", counting(calls, new byte[1]));
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidateAllKeepsCounters() {
+        RouteCache cache = new RouteCache(10, 1000);
+        cache.get("A", "B", () -> new byte[3]);
+        cache.get("A", "B", () -> new byte[3]);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        AtomicInteger calls = new AtomicInteger();
+        cache.get("A", "B", counting(calls, new byte[3]));
+        assertEquals(1, calls.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() {
+        new RouteCache(-1, 10);
+    }
+}
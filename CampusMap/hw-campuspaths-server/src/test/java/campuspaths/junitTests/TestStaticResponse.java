@@ -0,0 +1,142 @@
+package campuspaths.junitTests;
+
+import campuspaths.junitTests.FakeHttp.FakeRequest;
+import campuspaths.junitTests.FakeHttp.FakeResponse;
+import campuspaths.utils.StaticResponse;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestStaticResponse {
+
+    // a body that compresses well
+    private static final byte[] BODY = repeat("[\"BAG\",\"BGR\",\"CSE\",\"KNE\",\"MGH\"]", 50);
+
+    private static byte[] repeat(String text, int times) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            out.append(text);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testServesBodyWithETag() throws IOException {
+        StaticResponse response = new StaticResponse("application/json", BODY, false);
+        FakeResponse res = new FakeResponse();
+        assertSame(BODY, response.serve(new FakeRequest().toSpark(), res.spark));
+        assertEquals(200, res.status);
+        assertEquals("application/json", res.contentType);
+        assertEquals(response.getETag(), res.header("ETag"));
+        assertNull(res.header("Vary"));
+    }
+
+    @Test
+    public void testETagFollowsBody() {
+        byte[] other = Arrays.copyOf(BODY, BODY.length);
+        other[0] = '{';
+        assertEquals(new StaticResponse("text/plain", BODY, false).getETag(),
+                new StaticResponse("text/plain", BODY.clone(), true).getETag());
+        assertNotEquals(new StaticResponse("text/plain", BODY, false).getETag(),
+                new StaticResponse("text/plain", other, false).getETag());
+        String etag = new StaticResponse("text/plain", BODY, false).getETag();
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    }
+
+    @Test
+    public void testNotModified() throws IOException {
+        StaticResponse response = new StaticResponse("application/json", BODY, false);
+        for (String ifNoneMatch : new String[] {response.getETag(), "W/" + response.getETag(), "*",
+                "\"other\", " + response.getETag()}) {
+            FakeResponse res = new FakeResponse();
+            Object body = response.serve(new FakeRequest().header("If-None-Match", ifNoneMatch).toSpark(), res.spark);
+            assertEquals(ifNoneMatch, 304, res.status);
+            assertEquals("", body);
+            assertEquals(response.getETag(), res.header("ETag"));
+        }
+    }
+
+    @Test
+    public void testModified() throws IOException {
+        StaticResponse response = new StaticResponse("application/json", BODY, false);
+        FakeResponse res = new FakeResponse();
+        Object body = response.serve(new FakeRequest().header("If-None-Match", "\"other\"").toSpark(), res.spark);
+        assertEquals(200, res.status);
+        assertSame(BODY, body);
+    }
+
+    @Test
+    public void testServesGzipWhenAccepted() throws IOException {
+        StaticResponse response = new StaticResponse("application/json", BODY, true);
+        FakeResponse res = new FakeResponse();
+        Object body = response.serve(new FakeRequest().header("Accept-Encoding", "deflate, gzip;q=0.8").toSpark(),
+                res.spark);
+        assertEquals("", body);
+        assertEquals("gzip", res.header("Content-Encoding"));
+        assertEquals("Accept-Encoding", res.header("Vary"));
+        assertTrue(res.committed);
+        assertTrue(res.written.size() < BODY.length);
+        assertArrayEquals(BODY, gunzip(res.written.toByteArray()));
+        // the compressed body is a different representation, so it has its own tag
+        assertNotEquals(response.getETag(), res.header("ETag"));
+    }
+
+    @Test
+    public void testGzipETagIsNotModified() throws IOException {
+        StaticResponse response = new StaticResponse("application/json", BODY, true);
+        FakeResponse first = new FakeResponse();
+        response.serve(new FakeRequest().header("Accept-Encoding", "gzip").toSpark(), first.spark);
+        FakeResponse second = new FakeResponse();
+        Object body = response.serve(new FakeRequest().header("Accept-Encoding", "gzip")
+                .header("If-None-Match", first.header("ETag")).toSpark(), second.spark);
+        assertEquals(304, second.status);
+        assertEquals("", body);
+        assertEquals(0, second.written.size());
+    }
+
+    @Test
+    public void testNoGzipWhenRefused() throws IOException {
+        StaticResponse response = new StaticResponse("application/json", BODY, true);
+        for (String acceptEncoding : new String[] {null, "deflate", "gzip;q=0", "gzip; q=0.0", "*;q=0"}) {
+            FakeRequest req = new FakeRequest();
+            if (acceptEncoding != null) {
+                req.header("Accept-Encoding", acceptEncoding);
+            }
+            FakeResponse res = new FakeResponse();
+            assertSame(String.valueOf(acceptEncoding), BODY, response.serve(req.toSpark(), res.spark));
+            assertNull(res.header("Content-Encoding"));
+            assertEquals(response.getETag(), res.header("ETag"));
+            // the body still depends on Accept-Encoding, so caches must know
+            assertEquals("Accept-Encoding", res.header("Vary"));
+        }
+    }
+
+    /** a body that gzip cannot shrink is always sent uncompressed */
+    @Test
+    public void testGzipKeptOnlyIfSmaller() throws IOException {
+        byte[] tiny = "[]".getBytes(StandardCharsets.UTF_8);
+        StaticResponse response = new StaticResponse("application/json", tiny, true);
+        FakeResponse res = new FakeResponse();
+        assertSame(tiny, response.serve(new FakeRequest().header("Accept-Encoding", "gzip").toSpark(), res.spark));
+        assertNull(res.header("Content-Encoding"));
+        assertNull(res.header("Vary"));
+    }
+}
@@ -0,0 +1,122 @@
+package campuspaths.junitTests;
+
+import campuspaths.junitTests.FakeHttp.FakeRequest;
+import campuspaths.junitTests.FakeHttp.FakeResponse;
+import campuspaths.utils.WorkerPool;
+import org.junit.Test;
+import spark.Route;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestWorkerPool {
+
+    // answers a request with route and returns the response
+    private static FakeResponse call(Route route) throws Exception {
+        FakeResponse res = new FakeResponse();
+        res.written.write(String.valueOf(route.handle(new FakeRequest().toSpark(), res.spark)).getBytes());
+        return res;
+    }
+
+    // starts answering a request with route on another thread
+    private static CompletableFuture<FakeResponse> callAsync(Route route) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call(route);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    // returns a route that tells started when it starts and then waits for release
+    private static Route blocking(CountDownLatch started, CountDownLatch release) {
+        return (req, res) -> {
+            started.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return "done";
+        };
+    }
+
+    // waits until pool has the given number of requests queued
+    private static void awaitQueued(WorkerPool pool, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.queued() != queued) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testAnswersOnWorkerThread() throws Exception {
+        WorkerPool pool = new WorkerPool(2, 4, 1000);
+        FakeResponse res = call(pool.around((req, response) -> Thread.currentThread().getName()));
+        assertEquals(200, res.status);
+        assertTrue(res.written.toString().startsWith("route-worker-"));
+        assertEquals(1, pool.completed());
+        assertEquals(0, pool.rejected());
+        assertEquals(0, pool.timedOut());
+    }
+
+    @Test
+    public void testShedsWhenQueueIsFull() throws Exception {
+        WorkerPool pool = new WorkerPool(1, 1, 10_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Route route = pool.around(blocking(started, release));
+        CompletableFuture<FakeResponse> running = callAsync(route);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<FakeResponse> waiting = callAsync(route);
+        awaitQueued(pool, 1);
+
+        FakeResponse shed = call(route);
+        assertEquals(503, shed.status);
+        assertEquals("1", shed.header("Retry-After"));
+        assertEquals(1, pool.rejected());
+        assertEquals(1, pool.active());
+
+        release.countDown();
+        assertEquals("done", running.get(10, TimeUnit.SECONDS).written.toString());
+        assertEquals("done", waiting.get(10, TimeUnit.SECONDS).written.toString());
+        assertEquals(2, pool.completed());
+    }
+
+    /** a request that waits too long is shed, and its route never runs */
+    @Test
+    public void testShedsAfterTimeout() throws Exception {
+        WorkerPool pool = new WorkerPool(1, 4, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<FakeResponse> running = callAsync(pool.around(blocking(started, release)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        AtomicInteger runs = new AtomicInteger();
+        FakeResponse shed = call(pool.around((req, res) -> runs.incrementAndGet()));
+        assertEquals(503, shed.status);
+        assertEquals(1, pool.timedOut());
+
+        release.countDown();
+        assertEquals(200, running.get(10, TimeUnit.SECONDS).status);
+        // the worker is free again, and the shed request has been dropped from its queue
+        assertEquals(200, call(pool.around((req, res) -> "next")).status);
+        assertEquals(0, runs.get());
+        assertEquals(2, pool.completed());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRethrowsRouteException() throws Exception {
+        call(new WorkerPool(1, 1, 1000).around((req, res) -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoThreads() {
+        new WorkerPool(0, 1, 1000);
+    }
+}
@@ -0,0 +1,247 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Represents an immutable, read-only snapshot of a directed graph with double edge weights, stored in compressed
+ * sparse row form. Every node is given a dense id in [0, size()), and the outgoing edges of node i are the edge
+ * indices e with firstEdge(i) &lt;= e &lt; endEdge(i), where target(e) is the id of the child node and weight(e)
+ * is the weight of the edge. Since all edges are kept in flat primitive arrays, scanning the edges of a node
+ * neither boxes weights nor chases pointers. The graph also keeps the reverse adjacency: the incoming edges of node i
+ * are inEdge(j) for firstInEdge(i) &lt;= j &lt; endInEdge(i), and source(e) is the id of the parent node of edge e.
+ * @param <N> A type parameter to make node data generic
+ */
+public class CSRGraph<N> {
+    // AF(this) = for each id i in [0, nodes.size()), the node nodes.get(i) has an edge to nodes.get(targets[e])
+    //            with weight weights[e] for every offsets[i] <= e < offsets[i + 1]
+    // RI: nodes != null, ids != null, offsets != null, targets != null, weights != null;
+    //     offsets.length == nodes.size() + 1, offsets[0] == 0, offsets is non-decreasing,
+    //     offsets[nodes.size()] == targets.length == weights.length;
+    //     for all 0 <= i < nodes.size(), ids.get(nodes.get(i)) == i;
+    //     sources[e] == i for every offsets[i] <= e < offsets[i + 1];
+    //     inEdges is a permutation of the edges, in which the edges e with targets[e] == i are exactly
+    //     inEdges[inOffsets[i] .. inOffsets[i + 1] - 1]
+    private final List<N> nodes;
+    private final Map<N, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] sources;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+
+    /**
+     * Creates a new CSRGraph from already laid out arrays. The arrays are taken over by this graph, so the caller
+     * must not modify them afterwards.
+     * @param nodes The node data, in order of id
+     * @param ids A mapping from the node data to its id
+     * @param offsets The start of the edge range of every node, followed by the total number of edges
+     * @param targets The child node id of every edge
+     * @param weights The weight of every edge
+     * @spec.requires the arguments satisfy the rep invariant of this
+     */
+    CSRGraph(List<N> nodes, Map<N, Integer> ids, int[] offsets, int[] targets, double[] weights) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        // lay out the reverse adjacency with a counting sort of the edges by target
+        this.sources = new int[targets.length];
+        this.inOffsets = new int[nodes.size() + 1];
+        this.inEdges = new int[targets.length];
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                sources[e] = i;
+                inOffsets[targets[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] next = Arrays.copyOf(inOffsets, nodes.size());
+        for (int e = 0; e < targets.length; e++) {
+            inEdges[next[targets[e]]++] = e;
+        }
+        checkRep();
+    }
+
+    /**
+     * Creates a new CSRGraph from arrays laid out elsewhere, such as read back from a file, checking that they
+     * describe a graph. The arrays are taken over by the graph, so the caller must not modify them afterwards.
+     * @param nodes The node data, in order of id
+     * @param offsets The start of the edge range of every node, followed by the total number of edges
+     * @param targets The child node id of every edge
+     * @param weights The weight of every edge
+     * @param <N> The type of the node data
+     * @throws IllegalArgumentException if nodes has a null or repeated node, the arrays have inconsistent lengths,
+     *                                  offsets is not non-decreasing from 0, or an edge targets a node not in nodes
+     * @return A CSRGraph in which node i is nodes.get(i) and has the edges offsets[i] .. offsets[i + 1] - 1
+     */
+    public static <N> CSRGraph<N> of(List<N> nodes, int[] offsets, int[] targets, double[] weights) {
+        int n = nodes.size();
+        if (offsets.length != n + 1 || offsets[0] != 0 || offsets[n] != targets.length
+                || targets.length != weights.length) {
+            throw new IllegalArgumentException("of: inconsistent array lengths");
+        }
+        for (int i = 0; i < n; i++) {
+            if (offsets[i] > offsets[i + 1]) {
+                throw new IllegalArgumentException("of: offsets decrease");
+            }
+        }
+        for (int target : targets) {
+            if (target < 0 || target >= n) {
+                throw new IllegalArgumentException("of: edge to a node outside the graph");
+            }
+        }
+        Map<N, Integer> ids = new HashMap<>(n * 4 / 3 + 1);
+        for (int i = 0; i < n; i++) {
+            N data = nodes.get(i);
+            if (data == null || ids.putIfAbsent(data, i) != null) {
+                throw new IllegalArgumentException("of: null or repeated node");
+            }
+        }
+        return new CSRGraph<>(new ArrayList<>(nodes), ids, offsets, targets, weights);
+    }
+
+    /**
+     * Returns the number of nodes in this graph.
+     * @return The number of nodes in this graph
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the number of edges in this graph.
+     * @return The number of edges in this graph
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Checks whether this graph contains a node with specified data
+     * @param data A data that specify a node to check
+     * @return true if node is contained in the graph, false if not contained
+     */
+    public boolean containsNode(N data) {
+        return ids.containsKey(data);
+    }
+
+    /**
+     * Returns the dense id of a node of this graph.
+     * @param data A data that specify a node of this graph
+     * @throws IllegalArgumentException if the node does not exist in this graph
+     * @return The id of the node, in [0, size())
+     */
+    public int idOf(N data) {
+        Integer id = ids.get(data);
+        if (id == null) {
+            throw new IllegalArgumentException("idOf: node does not exist in this graph");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the data of the node with a given id.
+     * @param id The id of a node of this graph
+     * @throws IndexOutOfBoundsException if id is not in [0, size())
+     * @return The data of the node with the given id
+     */
+    public N nodeOf(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * Returns an unmodifiable list of the nodes in this graph, in order of id.
+     * @return An unmodifiable list of the nodes in this graph, in order of id
+     */
+    public List<N> getNodeList() {
+        return nodes;
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of a node.
+     * @param id The id of a node of this graph
+     * @return The index of the first outgoing edge of the node
+     */
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Returns the index one past the last outgoing edge of a node.
+     * @param id The id of a node of this graph
+     * @return The index one past the last outgoing edge of the node
+     */
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the id of the child node of an edge.
+     * @param edge The index of an edge of this graph
+     * @return The id of the child node of the edge
+     */
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of an edge.
+     * @param edge The index of an edge of this graph
+     * @return The weight of the edge
+     */
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the id of the parent node of an edge.
+     * @param edge The index of an edge of this graph
+     * @return The id of the parent node of the edge
+     */
+    public int source(int edge) {
+        return sources[edge];
+    }
+
+    /**
+     * Returns the position of the first incoming edge of a node, to be passed to inEdge.
+     * @param id The id of a node of this graph
+     * @return The position of the first incoming edge of the node
+     */
+    public int firstInEdge(int id) {
+        return inOffsets[id];
+    }
+
+    /**
+     * Returns the position one past the last incoming edge of a node.
+     * @param id The id of a node of this graph
+     * @return The position one past the last incoming edge of the node
+     */
+    public int endInEdge(int id) {
+        return inOffsets[id + 1];
+    }
+
+    /**
+     * Returns the incoming edge at a position of the reverse adjacency.
+     * @param position A position in [firstInEdge(i), endInEdge(i)) for some node id i
+     * @return The index of the edge at that position, whose target is i
+     */
+    public int inEdge(int position) {
+        return inEdges[position];
+    }
+
+    // check if RI holds
+    // Only called on construction, since this is immutable and the accessors are used in tight search loops.
+    private void checkRep() {
+        if (nodes == null || ids == null || offsets == null || targets == null || weights == null) {
+            throw new RuntimeException("checkRep of CSRGraph failure: null field");
+        }
+        if (offsets.length != nodes.size() + 1 || offsets[0] != 0 || offsets[nodes.size()] != targets.length
+                || targets.length != weights.length) {
+            throw new RuntimeException("checkRep of CSRGraph failure: inconsistent array lengths");
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Represents a mutable directed graph with double edge weights, specialised to keep large graphs small. Every node is
+ * interned to a dense int id in [0, size()) when it is added, and edges are kept in growable primitive arrays rather
+ * than as edge objects, so an edge costs 16 bytes: its target id, its weight, and a link to the next edge of the same
+ * parent. The outgoing edges of a node are visited in insertion order with forEachEdge, without an iterator. Unlike
+ * DirectedLabeledGraph, parallel edges with equal weights are allowed and are not checked for.
+ * @param <N> A type parameter to make node data generic
+ */
+public class DoubleWeightedGraph<N> {
+    // AF(this) = for each id i in [0, nodes.size()), the node nodes.get(i) has an edge to nodes.get(targets[e]) with
+    //            weight weights[e] for every e in the list firstEdge[i], nextEdge[firstEdge[i]], ... that ends at -1
+    // RI: nodes != null, ids != null, firstEdge != null, lastEdge != null, targets != null, weights != null,
+    //     nextEdge != null; ids.get(nodes.get(i)) == i for all 0 <= i < nodes.size();
+    //     firstEdge.length == lastEdge.length >= nodes.size(), targets.length == weights.length == nextEdge.length
+    //     >= edgeCount; every edge in [0, edgeCount) is on exactly one node's list, and lastEdge[i] is the last edge
+    //     on the list of node i, or -1 if it is empty
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<N> nodes;
+    private final Map<N, Integer> ids;
+    private int[] firstEdge;
+    private int[] lastEdge;
+    private int[] targets;
+    private double[] weights;
+    private int[] nextEdge;
+    private int edgeCount;
+
+    /**
+     * Receives the edges of a node from forEachEdge.
+     */
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        /**
+         * Receives one outgoing edge.
+         * @param target The id of the child node of the edge
+         * @param weight The weight of the edge
+         */
+        void accept(int target, double weight);
+    }
+
+    /**
+     * Creates a new initially empty DoubleWeightedGraph.
+     */
+    public DoubleWeightedGraph() {
+        nodes = new ArrayList<>();
+        ids = new HashMap<>();
+        firstEdge = new int[INITIAL_CAPACITY];
+        lastEdge = new int[INITIAL_CAPACITY];
+        targets = new int[INITIAL_CAPACITY];
+        weights = new double[INITIAL_CAPACITY];
+        nextEdge = new int[INITIAL_CAPACITY];
+        edgeCount = 0;
+        checkRep();
+    }
+
+    /**
+     * Returns the id of a node, adding the node to this graph first if it is not already in it.
+     * @param data A data that represent a node of this graph
+     * @throws IllegalArgumentException if data is null
+     * @spec.modifies this
+     * @spec.effects Add a node to the graph if it is not in the graph
+     * @return The id of the node, in [0, size())
+     */
+    public int intern(N data) {
+        if (data == null) {
+            throw new IllegalArgumentException("intern: node data must not be null");
+        }
+        Integer id = ids.get(data);
+        if (id != null) {
+            return id;
+        }
+        int newId = nodes.size();
+        if (newId == firstEdge.length) {
+            firstEdge = Arrays.copyOf(firstEdge, 2 * newId);
+            lastEdge = Arrays.copyOf(lastEdge, 2 * newId);
+        }
+        firstEdge[newId] = -1;
+        lastEdge[newId] = -1;
+        nodes.add(data);
+        ids.put(data, newId);
+        checkRep();
+        return newId;
+    }
+
+    /**
+     * Adds an edge between two nodes of this graph.
+     * @param parent The id of the node to be regarded as parent for this edge
+     * @param child The id of the node to be regarded as child for this edge
+     * @param weight The weight of the edge
+     * @throws IllegalArgumentException if parent or child is not the id of a node of this graph
+     * @spec.modifies this
+     * @spec.effects Add an edge to the graph
+     */
+    public void addEdgeById(int parent, int child, double weight) {
+        if (parent < 0 || parent >= nodes.size() || child < 0 || child >= nodes.size()) {
+            throw new IllegalArgumentException("addEdgeById: parentNode or childNode does not exist in this graph");
+        }
+        if (edgeCount == targets.length) {
+            int capacity = 2 * edgeCount;
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            nextEdge = Arrays.copyOf(nextEdge, capacity);
+        }
+        int e = edgeCount++;
+        targets[e] = child;
+        weights[e] = weight;
+        nextEdge[e] = -1;
+        if (lastEdge[parent] < 0) {
+            firstEdge[parent] = e;
+        } else {
+            nextEdge[lastEdge[parent]] = e;
+        }
+        lastEdge[parent] = e;
+    }
+
+    /**
+     * Adds an edge between two nodes, adding either node to this graph first if it is not already in it.
+     * @param parent A data that represent the parent node of this edge
+     * @param child A data that represent the child node of this edge
+     * @param weight The weight of the edge
+     * @throws IllegalArgumentException if parent or child is null
+     * @spec.modifies this
+     * @spec.effects Add an edge, and any missing node, to the graph
+     */
+    public void addEdge(N parent, N child, double weight) {
+        int parentId = intern(parent);
+        addEdgeById(parentId, intern(child), weight);
+    }
+
+    /**
+     * Returns the number of nodes in this graph.
+     * @return The number of nodes in this graph
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the number of edges in this graph.
+     * @return The number of edges in this graph
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Checks whether this graph contains a node with specified data
+     * @param data A data that specify a node to check
+     * @return true if node is contained in the graph, false if not contained
+     */
+    public boolean containsNode(N data) {
+        return ids.containsKey(data);
+    }
+
+    /**
+     * Returns the id of a node of this graph.
+     * @param data A data that specify a node of this graph
+     * @throws IllegalArgumentException if the node does not exist in this graph
+     * @return The id of the node, in [0, size())
+     */
+    public int idOf(N data) {
+        Integer id = ids.get(data);
+        if (id == null) {
+            throw new IllegalArgumentException("idOf: node does not exist in this graph");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the data of the node with a given id.
+     * @param id The id of a node of this graph
+     * @throws IndexOutOfBoundsException if id is not in [0, size())
+     * @return The data of the node with the given id
+     */
+    public N nodeOf(int id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * Passes every outgoing edge of a node to consumer, in the order the edges were added.
+     * @param node The id of a node of this graph
+     * @param consumer The consumer to receive the child id and weight of each edge
+     * @throws IllegalArgumentException if node is not the id of a node of this graph
+     */
+    public void forEachEdge(int node, EdgeConsumer consumer) {
+        if (node < 0 || node >= nodes.size()) {
+            throw new IllegalArgumentException("forEachEdge: node does not exist in this graph");
+        }
+        for (int e = firstEdge[node]; e >= 0; e = nextEdge[e]) {
+            consumer.accept(targets[e], weights[e]);
+        }
+    }
+
+    /**
+     * Returns an immutable compressed sparse row snapshot of this graph with the same node ids, in which the edges of
+     * every node keep their insertion order. Later changes to this graph are not reflected in the snapshot.
+     * @return An immutable CSRGraph with the same nodes, ids and edges as this graph
+     */
+    public CSRGraph<N> freeze() {
+        checkRep();
+        int n = nodes.size();
+        int[] offsets = new int[n + 1];
+        int[] frozenTargets = new int[edgeCount];
+        double[] frozenWeights = new double[edgeCount];
+        int edge = 0;
+        for (int i = 0; i < n; i++) {
+            offsets[i] = edge;
+            for (int e = firstEdge[i]; e >= 0; e = nextEdge[e]) {
+                frozenTargets[edge] = targets[e];
+                frozenWeights[edge] = weights[e];
+                edge++;
+            }
+        }
+        offsets[n] = edge;
+        return new CSRGraph<>(new ArrayList<>(nodes), new HashMap<>(ids), offsets, frozenTargets, frozenWeights);
+    }
+
+    // check if RI holds
+    // Only checks sizes, since walking every edge list would make each call linear in the size of the graph.
+    private void checkRep() {
+        if (nodes == null || ids == null || firstEdge == null || lastEdge == null || targets == null
+                || weights == null || nextEdge == null) {
+            throw new RuntimeException("checkRep of DoubleWeightedGraph failure: null field");
+        }
+        if (ids.size() != nodes.size() || firstEdge.length < nodes.size() || lastEdge.length != firstEdge.length
+                || targets.length < edgeCount || weights.length != targets.length
+                || nextEdge.length != targets.length) {
+            throw new RuntimeException("checkRep of DoubleWeightedGraph failure: inconsistent array lengths");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Test;
+
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * CSRGraphTest is a glassbox test of the CSRGraph class and DirectedLabeledGraph.freeze().
+ */
+public class CSRGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final double EPSILON = 1e-9;
+
+    private static DirectedLabeledGraph<String, Double> makeGraph() {
+        DirectedLabeledGraph<String, Double> g1 = new DirectedLabeledGraph<>();
+        g1.addNode("n1");
+        g1.addNode("n2");
+        g1.addNode("n3");
+        g1.addEdge("n1", "n2", 1.0);
+        g1.addEdge("n1", "n2", 2.0);
+        g1.addEdge("n1", "n3", 3.0);
+        g1.addEdge("n3", "n3", 4.0);
+        return g1;
+    }
+
+    /** Test freezing an empty graph. */
+    @Test
+    public void testFreezeEmpty() {
+        CSRGraph<String> frozen = new DirectedLabeledGraph<String, Double>().freeze(Double::doubleValue);
+        assertEquals(0, frozen.size());
+        assertEquals(0, frozen.edgeCount());
+        assertFalse(frozen.containsNode("n1"));
+    }
+
+    /** Test that freeze() gives every node a dense id. */
+    @Test
+    public void testFreezeIds() {
+        CSRGraph<String> frozen = makeGraph().freeze(Double::doubleValue);
+        assertEquals(3, frozen.size());
+        assertEquals(4, frozen.edgeCount());
+        for (String n : new String[] {"n1", "n2", "n3"}) {
+            assertTrue(frozen.containsNode(n));
+            int id = frozen.idOf(n);
+            assertTrue(id >= 0 && id < frozen.size());
+            assertEquals(n, frozen.nodeOf(id));
+        }
+    }
+
+    /** Test that freeze() keeps every edge and weight. */
+    @Test
+    public void testFreezeEdges() {
+        CSRGraph<String> frozen = makeGraph().freeze(Double::doubleValue);
+        Map<String, Double> weightSums = new HashMap<>();
+        for (int i = 0; i < frozen.size(); i++) {
+            for (int e = frozen.firstEdge(i); e < frozen.endEdge(i); e++) {
+                weightSums.merge(frozen.nodeOf(i) + "->" + frozen.nodeOf(frozen.target(e)), frozen.weight(e),
+                        Double::sum);
+            }
+        }
+        assertEquals(3, weightSums.size());
+        assertEquals(3.0, weightSums.get("n1->n2"), EPSILON);
+        assertEquals(3.0, weightSums.get("n1->n3"), EPSILON);
+        assertEquals(4.0, weightSums.get("n3->n3"), EPSILON);
+        int n2 = frozen.idOf("n2");
+        assertEquals(frozen.firstEdge(n2), frozen.endEdge(n2));
+    }
+
+    /** Test that the snapshot does not change with the graph it was frozen from. */
+    @Test
+    public void testFreezeIsSnapshot() {
+        DirectedLabeledGraph<String, Double> g1 = makeGraph();
+        CSRGraph<String> frozen = g1.freeze(Double::doubleValue);
+        g1.addNode("n4");
+        g1.addEdge("n2", "n4", 5.0);
+        assertEquals(3, frozen.size());
+        assertEquals(4, frozen.edgeCount());
+        assertFalse(frozen.containsNode("n4"));
+    }
+
+    /** Test that of() rebuilds a frozen graph from its arrays, with the same ids and edges. */
+    @Test
+    public void testOf() {
+        CSRGraph<String> frozen = makeGraph().freeze(Double::doubleValue);
+        int[] offsets = new int[frozen.size() + 1];
+        int[] targets = new int[frozen.edgeCount()];
+        double[] weights = new double[frozen.edgeCount()];
+        for (int i = 0; i < frozen.size(); i++) {
+            offsets[i + 1] = frozen.endEdge(i);
+            for (int e = frozen.firstEdge(i); e < frozen.endEdge(i); e++) {
+                targets[e] = frozen.target(e);
+                weights[e] = frozen.weight(e);
+            }
+        }
+        CSRGraph<String> copy = CSRGraph.of(frozen.getNodeList(), offsets, targets, weights);
+        assertEquals(frozen.getNodeList(), copy.getNodeList());
+        for (int i = 0; i < frozen.size(); i++) {
+            assertEquals(i, copy.idOf(frozen.nodeOf(i)));
+            assertEquals(frozen.firstEdge(i), copy.firstEdge(i));
+            assertEquals(frozen.endEdge(i), copy.endEdge(i));
+            assertEquals(frozen.endInEdge(i) - frozen.firstInEdge(i), copy.endInEdge(i) - copy.firstInEdge(i));
+        }
+        for (int e = 0; e < frozen.edgeCount(); e++) {
+            assertEquals(frozen.target(e), copy.target(e));
+            assertEquals(frozen.weight(e), copy.weight(e), EPSILON);
+            assertEquals(frozen.source(e), copy.source(e));
+        }
+    }
+
+    /** Test of() error case: an edge to a node that does not exist */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfTargetError() {
+        CSRGraph.of(List.of("n1", "n2"), new int[] {0, 1, 1}, new int[] {2}, new double[] {1.0});
+    }
+
+    /** Test of() error case: decreasing offsets */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfOffsetsError() {
+        CSRGraph.of(List.of("n1", "n2"), new int[] {0, 2, 1}, new int[] {1}, new double[] {1.0});
+    }
+
+    /** Test of() error case: a node given twice */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfRepeatedNodeError() {
+        CSRGraph.of(List.of("n1", "n1"), new int[] {0, 0, 0}, new int[0], new double[0]);
+    }
+
+    /** Test idOf() error case: node does not exist in this graph */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIdOfError() {
+        makeGraph().freeze(Double::doubleValue).idOf("n4");
+    }
+}
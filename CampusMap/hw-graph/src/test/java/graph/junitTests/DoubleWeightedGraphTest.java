@@ -0,0 +1,117 @@
+package graph.junitTests;
+
+import graph.*;
+import org.junit.Test;
+
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * DoubleWeightedGraphTest is a glassbox test of the DoubleWeightedGraph class.
+ */
+public class DoubleWeightedGraphTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final double EPSILON = 1e-9;
+
+    private static List<String> edgesOf(DoubleWeightedGraph<String> g, String node) {
+        List<String> edges = new ArrayList<>();
+        g.forEachEdge(g.idOf(node), (target, weight) -> edges.add(g.nodeOf(target) + ":" + weight));
+        return edges;
+    }
+
+    /** Test that intern() gives every node one dense id. */
+    @Test
+    public void testIntern() {
+        DoubleWeightedGraph<String> g1 = new DoubleWeightedGraph<>();
+        assertEquals(0, g1.size());
+        assertEquals(0, g1.intern("n1"));
+        assertEquals(1, g1.intern("n2"));
+        assertEquals(0, g1.intern("n1"));
+        assertEquals(2, g1.size());
+        assertTrue(g1.containsNode("n2"));
+        assertFalse(g1.containsNode("n3"));
+        assertEquals(1, g1.idOf("n2"));
+        assertEquals("n2", g1.nodeOf(1));
+    }
+
+    /** Test that forEachEdge() visits the edges of a node in insertion order, including parallel edges. */
+    @Test
+    public void testForEachEdge() {
+        DoubleWeightedGraph<String> g1 = new DoubleWeightedGraph<>();
+        g1.addEdge("n1", "n2", 1.0);
+        g1.addEdge("n1", "n3", 3.0);
+        g1.addEdge("n3", "n3", 4.0);
+        g1.addEdge("n1", "n2", 1.0);
+        assertEquals(3, g1.size());
+        assertEquals(4, g1.edgeCount());
+        assertEquals(List.of("n2:1.0", "n3:3.0", "n2:1.0"), edgesOf(g1, "n1"));
+        assertEquals(List.of(), edgesOf(g1, "n2"));
+        assertEquals(List.of("n3:4.0"), edgesOf(g1, "n3"));
+    }
+
+    /** Test that freeze() keeps ids, edges, weights and edge order. */
+    @Test
+    public void testFreeze() {
+        DoubleWeightedGraph<String> g1 = new DoubleWeightedGraph<>();
+        g1.addEdge("n1", "n2", 1.0);
+        g1.addEdge("n2", "n1", 2.0);
+        g1.addEdge("n1", "n3", 3.0);
+        CSRGraph<String> frozen = g1.freeze();
+        g1.addEdge("n3", "n1", 5.0);
+        assertEquals(3, frozen.size());
+        assertEquals(3, frozen.edgeCount());
+        int n1 = frozen.idOf("n1");
+        assertEquals(g1.idOf("n1"), n1);
+        assertEquals(2, frozen.endEdge(n1) - frozen.firstEdge(n1));
+        assertEquals("n2", frozen.nodeOf(frozen.target(frozen.firstEdge(n1))));
+        assertEquals(1.0, frozen.weight(frozen.firstEdge(n1)), EPSILON);
+        assertEquals("n3", frozen.nodeOf(frozen.target(frozen.firstEdge(n1) + 1)));
+        assertEquals(3.0, frozen.weight(frozen.firstEdge(n1) + 1), EPSILON);
+        int n3 = frozen.idOf("n3");
+        assertEquals(0, frozen.endEdge(n3) - frozen.firstEdge(n3));
+    }
+
+    /** large case: the arrays grow to hold many nodes and edges */
+    @Test
+    public void testGrowth() {
+        DoubleWeightedGraph<Integer> g1 = new DoubleWeightedGraph<>();
+        int n = 200000;
+        for (int i = 0; i < n; i++) {
+            g1.addEdge(i, (i + 1) % n, i);
+            g1.addEdge(i, (i + 7) % n, -i);
+        }
+        assertEquals(n, g1.size());
+        assertEquals(2 * n, g1.edgeCount());
+        double[] sum = new double[1];
+        for (int i = 0; i < n; i++) {
+            g1.forEachEdge(g1.idOf(i), (target, weight) -> sum[0] += weight);
+        }
+        assertEquals(0.0, sum[0], EPSILON);
+        assertEquals(2 * n, g1.freeze().edgeCount());
+    }
+
+    /** Test intern() error case: null node */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInternNull() {
+        new DoubleWeightedGraph<String>().intern(null);
+    }
+
+    /** Test addEdgeById() error case: childNode does not exist in this graph */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgeError() {
+        DoubleWeightedGraph<String> g1 = new DoubleWeightedGraph<>();
+        g1.addEdgeById(g1.intern("n1"), 1, 1.0);
+    }
+
+    /** Test forEachEdge() error case: node does not exist in this graph */
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEachEdgeError() {
+        new DoubleWeightedGraph<String>().forEachEdge(0, (target, weight) -> { });
+    }
+}
@@ -0,0 +1,102 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Path;
+
+/**
+ * This represents an immutable A* search applied on a particular frozen graph, which finds a minimum-cost path
+ * between two given nodes in the graph. It works like IndexedDijkstras_Algorithm, except that the frontier is
+ * ordered by the cost so far plus a heuristic estimate of the cost remaining, so the search is pulled towards the
+ * destination instead of expanding in every direction. Paths are of minimum cost as long as the heuristic is
+ * admissible and consistent.
+ * @param <N> A type parameter to make A* generic on its nodes.
+ */
+public class AStar_Algorithm<N> implements ShortestPathFinder<N> {
+    // AF(this) = graph that is applied of A* search guided by heuristic
+    // RI: this.graph != null, this.heuristic != null, this.spaces != null
+    private final CSRGraph<N> graph;
+    private final Heuristic<? super N> heuristic;
+    private final ThreadLocal<SearchSpace> spaces;
+
+    /**
+     * Creates the A* search applied on a given frozen graph
+     * @param graph The frozen graph to apply on A* search
+     * @param heuristic A consistent estimate of the cost between two nodes of graph
+     */
+    public AStar_Algorithm(CSRGraph<N> graph, Heuristic<? super N> heuristic) {
+        this.graph = graph;
+        this.heuristic = heuristic;
+        this.spaces = ThreadLocal.withInitial(() -> new SearchSpace(graph.size()));
+        checkRep();
+    }
+
+    @Override
+    public Path<N> findMinCost(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        if (!graph.containsNode(dest)) {
+            return null;
+        }
+        int t = graph.idOf(dest);
+        SearchSpace space = spaces.get();
+        if (!search(space, s, t)) {
+            checkRep();
+            return null;
+        }
+        checkRep();
+        return SearchSpace.buildPath(graph, s, space.edgesTo(t));
+    }
+
+    @Override
+    public int countSettled(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        SearchSpace space = spaces.get();
+        search(space, s, graph.containsNode(dest) ? graph.idOf(dest) : -1);
+        return space.settledCount();
+    }
+
+    /**
+     * Runs A* search from s until t is settled or every node reachable from s has been settled.
+     * @param space The working memory of the search
+     * @param s The id of the start node
+     * @param t The id of the destination node, or -1 to settle every reachable node
+     * @return {@literal true} iff t was settled
+     */
+    private boolean search(SearchSpace space, int s, int t) {
+        space.reset();
+        N dest = t < 0 ? null : graph.nodeOf(t);
+        space.reach(s, 0, -1, -1);
+        space.heap.insertOrDecrease(s, estimate(s, dest));
+        while (!space.heap.isEmpty()) {
+            int u = space.heap.poll();
+            space.settle(u);
+            if (u == t) {
+                return true;
+            }
+            double du = space.dist[u];
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.target(e);
+                double dv = du + graph.weight(e);
+                if (!space.isSettled(v) && dv < space.distance(v)) {
+                    space.reach(v, dv, u, e);
+                    space.heap.insertOrDecrease(v, dv + estimate(v, dest));
+                }
+            }
+        }
+        return false;
+    }
+
+    // estimates the cost from node v to dest; without a destination there is nothing to estimate, and
+    // the search degenerates to Dijkstra's Algorithm
+    private double estimate(int v, N dest) {
+        return dest == null ? 0 : heuristic.estimate(graph.nodeOf(v), dest);
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (graph == null || heuristic == null || spaces == null) {
+            throw new RuntimeException("checkRep of AStar_Algorithm failure: null field");
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Path;
+
+/**
+ * This represents an immutable bidirectional Dijkstra's Algorithm applied on a particular frozen graph, which finds a
+ * minimum-cost path between two given nodes in the graph. It grows a forward search from the start over outgoing
+ * edges and a backward search from the destination over incoming edges, always advancing the side with the smaller
+ * frontier distance, and stops once the two frontiers together can no longer beat the best meeting found so far.
+ * On a point-to-point query each side only has to cover about half the radius of a one-sided search.
+ * @param <N> A type parameter to make the algorithm generic on its nodes.
+ */
+public class BidirectionalDijkstras_Algorithm<N> implements ShortestPathFinder<N> {
+    // AF(this) = graph that is applied of bidirectional Dijkstra's Algorithm
+    // RI: this.graph != null, this.spaces != null, this.forwardOnly != null
+    private final CSRGraph<N> graph;
+    // the forward search space at index 0 and the backward search space at index 1
+    private final ThreadLocal<SearchSpace[]> spaces;
+    // runs the forward side alone, in the forward search space, when there is no destination to search back from
+    private final IndexedDijkstras_Algorithm<N> forwardOnly;
+
+    // search results that are not an edge index
+    private static final int NOT_FOUND = -1;
+    private static final int SAME_NODE = -2;
+
+    /**
+     * Creates the bidirectional Dijkstra's Algorithm applied on a given frozen graph
+     * @param graph The frozen graph to apply on bidirectional Dijkstra's Algorithm
+     */
+    public BidirectionalDijkstras_Algorithm(CSRGraph<N> graph) {
+        this.graph = graph;
+        this.spaces = ThreadLocal.withInitial(
+                () -> new SearchSpace[] {new SearchSpace(graph.size()), new SearchSpace(graph.size())});
+        this.forwardOnly = new IndexedDijkstras_Algorithm<>(graph);
+        checkRep();
+    }
+
+    @Override
+    public Path<N> findMinCost(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        if (!graph.containsNode(dest)) {
+            return null;
+        }
+        int t = graph.idOf(dest);
+        SearchSpace[] pair = spaces.get();
+        int meetingEdge = search(pair[0], pair[1], s, t);
+        if (meetingEdge == NOT_FOUND) {
+            checkRep();
+            return null;
+        }
+        checkRep();
+        if (meetingEdge == SAME_NODE) {
+            return new Path<>(start);
+        }
+        return SearchSpace.buildPath(graph, s, edgesThrough(pair[0], pair[1], meetingEdge));
+    }
+
+    @Override
+    public int countSettled(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        if (!graph.containsNode(dest)) {
+            // an unknown destination has no backward search, so only the forward side runs
+            SearchSpace forward = spaces.get()[0];
+            forwardOnly.search(forward, s, -1);
+            return forward.settledCount();
+        }
+        SearchSpace[] pair = spaces.get();
+        search(pair[0], pair[1], s, graph.idOf(dest));
+        return pair[0].settledCount() + pair[1].settledCount();
+    }
+
+    /**
+     * Runs the forward search from s and the backward search from t until the shortest s-t path is known.
+     * @param forward The working memory of the forward search
+     * @param backward The working memory of the backward search
+     * @param s The id of the start node
+     * @param t The id of the destination node
+     * @return The index of the edge joining the forward and backward shortest path trees on a shortest s-t path,
+     *         SAME_NODE if s == t, or NOT_FOUND if t is unreachable from s
+     */
+    private int search(SearchSpace forward, SearchSpace backward, int s, int t) {
+        forward.reset();
+        backward.reset();
+        if (s == t) {
+            forward.settle(s);
+            return SAME_NODE;
+        }
+        forward.reach(s, 0, -1, -1);
+        forward.heap.insertOrDecrease(s, 0);
+        backward.reach(t, 0, -1, -1);
+        backward.heap.insertOrDecrease(t, 0);
+        double best = Double.POSITIVE_INFINITY;
+        int meetingEdge = NOT_FOUND;
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            double forwardTop = forward.heap.keyOf(forward.heap.peek());
+            double backwardTop = backward.heap.keyOf(backward.heap.peek());
+            // every path not yet seen leaves both settled regions, so it costs at least forwardTop + backwardTop
+            if (forwardTop + backwardTop >= best) {
+                break;
+            }
+            if (forwardTop <= backwardTop) {
+                int u = forward.heap.poll();
+                forward.settle(u);
+                double du = forward.dist[u];
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    int v = graph.target(e);
+                    double dv = du + graph.weight(e);
+                    if (!forward.isSettled(v) && dv < forward.distance(v)) {
+                        forward.reach(v, dv, u, e);
+                        forward.heap.insertOrDecrease(v, dv);
+                    }
+                    if (backward.isReached(v) && dv + backward.dist[v] < best) {
+                        best = dv + backward.dist[v];
+                        meetingEdge = e;
+                    }
+                }
+            } else {
+                int v = backward.heap.poll();
+                backward.settle(v);
+                double dv = backward.dist[v];
+                for (int i = graph.firstInEdge(v); i < graph.endInEdge(v); i++) {
+                    int e = graph.inEdge(i);
+                    int u = graph.source(e);
+                    double du = dv + graph.weight(e);
+                    if (!backward.isSettled(u) && du < backward.distance(u)) {
+                        backward.reach(u, du, v, e);
+                        backward.heap.insertOrDecrease(u, du);
+                    }
+                    if (forward.isReached(u) && forward.dist[u] + du < best) {
+                        best = forward.dist[u] + du;
+                        meetingEdge = e;
+                    }
+                }
+            }
+        }
+        return meetingEdge;
+    }
+
+    /**
+     * Returns the edges of the shortest s-t path that crosses from the forward to the backward search over
+     * meetingEdge, in order from s.
+     */
+    private int[] edgesThrough(SearchSpace forward, SearchSpace backward, int meetingEdge) {
+        int[] head = forward.edgesTo(graph.source(meetingEdge));
+        int tailLength = 0;
+        for (int v = graph.target(meetingEdge); backward.parentEdge[v] >= 0; v = backward.parent[v]) {
+            tailLength++;
+        }
+        int[] edges = new int[head.length + 1 + tailLength];
+        System.arraycopy(head, 0, edges, 0, head.length);
+        int i = head.length;
+        edges[i++] = meetingEdge;
+        // in the backward search, the parent of a node is the next node towards the destination
+        for (int v = graph.target(meetingEdge); backward.parentEdge[v] >= 0; v = backward.parent[v]) {
+            edges[i++] = backward.parentEdge[v];
+        }
+        return edges;
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (graph == null || spaces == null || forwardOnly == null) {
+            throw new RuntimeException("checkRep of BidirectionalDijkstras_Algorithm failure: null field");
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.datastructures.PointTable;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the frozen graph of campus paths data, with a node at every end of a path and an edge along every path.
+ * Large data is split into chunks of whole lines that are parsed in parallel on the common ForkJoinPool, each into
+ * its own buffer of edges between points interned within the chunk. The points of all chunks are then interned into
+ * one table, and the buffers are merged into the adjacency arrays of the graph with a parallel sort.
+ *
+ * <p>Points are interned with a PointTable of STEPS_PER_UNIT, so the ends of paths that lie in the same cell of its
+ * grid are one node, at the coordinates the first of them was given with. The graph does not depend on how the data
+ * was split: its nodes are numbered in the order their points first appear in the data, and the edges of each node
+ * are in the order of their lines. As every path is taken to be listed once, a line that is repeated gives two
+ * parallel edges.
+ */
+public class CampusGraphBuilder {
+
+    /**
+     * The number of grid steps per unit that points of campus data are interned with. The campus coordinates have up
+     * to eight decimals, and distinct points differ by at least 0.00001 in some coordinate, a whole step;
+     * every coordinate also lies at least a fifth of a step from halfway between two steps, so rounding noise never
+     * splits a point. Coordinates must lie within Integer.MAX_VALUE steps, 21474 units, of 0.
+     */
+    public static final double STEPS_PER_UNIT = 100_000;
+
+    // data smaller than this many bytes per chunk is split into fewer chunks, as parallelism would not pay off
+    private static final int MIN_CHUNK_BYTES = 1 << 16;
+
+    // chunks per thread of the common pool, so threads that finish early can take over the rest
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private CampusGraphBuilder() {
+    }
+
+    /**
+     * Builds the graph of campus paths data, parsing it in parallel if it is large.
+     * @param data The campus paths data, in the format of campus_paths.csv
+     * @throws CampusPathsParser.ParserException if the data cannot be parsed
+     * @throws IllegalArgumentException if a coordinate lies outside the grid of STEPS_PER_UNIT
+     * @return The frozen graph of the paths of data
+     */
+    public static CSRGraph<Point> build(byte[] data) {
+        int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD,
+                data.length / MIN_CHUNK_BYTES);
+        return build(data, Math.max(1, chunks));
+    }
+
+    /**
+     * Builds the graph of campus paths data, splitting it into a given number of chunks to parse in parallel.
+     * @param data The campus paths data, in the format of campus_paths.csv
+     * @param chunks The number of chunks to split data into; there are fewer if data has fewer lines
+     * @throws IllegalArgumentException if chunks &lt; 1
+     * @throws CampusPathsParser.ParserException if the data cannot be parsed
+     * @return The frozen graph of the paths of data, which is the same for any number of chunks
+     */
+    public static CSRGraph<Point> build(byte[] data, int chunks) {
+        if (chunks < 1) {
+            throw new IllegalArgumentException("chunks must be at least 1");
+        }
+        // split the data just after the newline at or following each of evenly spaced positions
+        List<Integer> bounds = new ArrayList<>(chunks + 1);
+        bounds.add(0);
+        for (int k = 1; k < chunks; k++) {
+            int bound = (int) ((long) data.length * k / chunks);
+            bound = Math.max(bound, bounds.get(bounds.size() - 1));
+            while (bound < data.length && data[bound] != '\n') {
+                bound++;
+            }
+            bound = Math.min(bound + 1, data.length);
+            if (bound > bounds.get(bounds.size() - 1)) {
+                bounds.add(bound);
+            }
+        }
+        if (bounds.get(bounds.size() - 1) < data.length) {
+            bounds.add(data.length);
+        }
+        Chunk[] parsed = new Chunk[bounds.size() - 1];
+        IntStream.range(0, parsed.length).parallel().forEach(k -> {
+            Chunk chunk = new Chunk();
+            CampusPathsParser.streamCampusPaths(data, bounds.get(k), bounds.get(k + 1), chunk);
+            parsed[k] = chunk;
+        });
+        return merge(parsed);
+    }
+
+    /**
+     * Builds the graph of the paths given one at a time, without parallelism.
+     * @param paths Gives the consumer it is given every path of the campus, in order
+     * @return The frozen graph of the paths, which is the same as build gives for data of the same paths
+     */
+    public static CSRGraph<Point> build(Consumer<CampusPathsParser.PathConsumer> paths) {
+        Chunk chunk = new Chunk();
+        paths.accept(chunk);
+        return merge(new Chunk[] {chunk});
+    }
+
+    // merges the edges of the given chunks, in order, into one graph
+    private static CSRGraph<Point> merge(Chunk[] chunks) {
+        // intern the points of the chunks in order, so nodes are numbered in the order their points first appear;
+        // this only visits the distinct points of each chunk, with no allocation per point
+        PointTable table = new PointTable(STEPS_PER_UNIT);
+        int[][] ids = new int[chunks.length][];
+        for (int c = 0; c < chunks.length; c++) {
+            PointTable points = chunks[c].points;
+            ids[c] = new int[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                ids[c][i] = table.intern(points.getX(i), points.getY(i));
+            }
+        }
+        List<Point> nodes = new ArrayList<>(table.size());
+        for (int v = 0; v < table.size(); v++) {
+            nodes.add(new Point(table.getX(v), table.getY(v)));
+        }
+
+        int[] firstEdge = new int[chunks.length + 1];
+        for (int c = 0; c < chunks.length; c++) {
+            firstEdge[c + 1] = firstEdge[c] + chunks[c].edges;
+        }
+        int edgeCount = firstEdge[chunks.length];
+        // lay out the edges in the order of their lines, keyed by source node and line so sorting keeps that order
+        long[] keys = new long[edgeCount];
+        int[] lineTargets = new int[edgeCount];
+        double[] lineWeights = new double[edgeCount];
+        IntStream.range(0, chunks.length).parallel().forEach(c -> {
+            Chunk chunk = chunks[c];
+            for (int j = 0; j < chunk.edges; j++) {
+                int e = firstEdge[c] + j;
+                keys[e] = (long) ids[c][chunk.ends[2 * j]] << 32 | e;
+                lineTargets[e] = ids[c][chunk.ends[2 * j + 1]];
+                lineWeights[e] = chunk.weights[j];
+            }
+        });
+        Arrays.parallelSort(keys);
+
+        int[] offsets = new int[nodes.size() + 1];
+        for (long key : keys) {
+            offsets[(int) (key >>> 32) + 1]++;
+        }
+        for (int v = 0; v < nodes.size(); v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        IntStream.range(0, edgeCount).parallel().forEach(e -> {
+            int line = (int) keys[e];
+            targets[e] = lineTargets[line];
+            weights[e] = lineWeights[line];
+        });
+        return CSRGraph.of(nodes, offsets, targets, weights);
+    }
+
+    /**
+     * The paths of one chunk of campus paths data, between points numbered in the order they first appear in it.
+     */
+    private static class Chunk implements CampusPathsParser.PathConsumer {
+        // AF(this) = path j goes from point ends[2 * j] of points to point ends[2 * j + 1] of points and is weights[j]
+        //            long, for 0 <= j < edges
+        // RI: points != null, ends.length >= 2 * edges, weights.length >= edges
+
+        private final PointTable points = new PointTable(STEPS_PER_UNIT);
+        private int[] ends = new int[256];
+        private double[] weights = new double[128];
+        private int edges;
+
+        @Override
+        public void accept(double x1, double y1, double x2, double y2, double distance) {
+            if (edges == weights.length) {
+                ends = Arrays.copyOf(ends, 4 * edges);
+                weights = Arrays.copyOf(weights, 2 * edges);
+            }
+            ends[2 * edges] = points.intern(x1, y1);
+            ends[2 * edges + 1] = points.intern(x2, y2);
+            weights[edges] = distance;
+            edges++;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2022 Kevin Zatloukal.  All rights reserved.  Permission is
+ * hereby granted to students registered for University of Washington
+ * CSE 331 for use solely during Spring Quarter 2022 for purposes of
+ * the course.  No other use, copying, distribution, or modification
+ * is permitted without prior written consent. Copyrights for
+ * third-party components of this work must be honored.  Instructors
+ * interested in reusing these course materials should contact the
+ * author.
+ */
+
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.*;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * This represents an immutable class, a Campus map, that implements ModelAPI and returns information needed by
+ * controller.
+ */
+public class CampusMap implements ModelAPI {
+    // AF(this) = frozen - the graph of all direct paths + buildings - all buildings of the campus
+    //            + buildingNodes - the graph node at each building that is on the graph, by short name
+    //            + nodeIndex - a k-d tree of the nodes of frozen, or null until nearestNode first needs it
+    // RI: this.frozen != null, this.buildings != null, this.map != null,
+    //     this.buildingNodes != null, this.engines != null, this.singleSource != null,
+    //     this.engines maps DIJKSTRA to this.singleSource and every other SearchMode to its algorithm once built,
+    //     this.defaultMode != null, this.listener != null;
+    private final List<CampusBuilding> buildings;
+    private final CSRGraph<Point> frozen;
+    private KdTree nodeIndex;
+    private final Map<String, String> map;
+    private final Map<String, Point> buildingNodes;
+    private final Map<SearchMode, ShortestPathFinder<Point>> engines;
+    private final IndexedDijkstras_Algorithm<Point> singleSource;
+    private final SearchMode defaultMode;
+    private final PhaseListener listener;
+
+    /**
+     * Creates a new CampusMap that process given files into data to be stored, and finds shortest paths with
+     * Dijkstra's Algorithm by default
+     */
+    public CampusMap () {
+        this(SearchMode.DIJKSTRA);
+    }
+
+    /**
+     * Creates a new CampusMap that process given files into data to be stored
+     * @param defaultMode The search algorithm findShortestPath uses when none is given
+     */
+    public CampusMap (SearchMode defaultMode) {
+        this(defaultMode, PhaseListener.NONE);
+    }
+
+    /**
+     * Creates a new CampusMap that process given files into data to be stored, and tells a listener how long the
+     * phases of each findShortestPath take
+     * @param defaultMode The search algorithm findShortestPath uses when none is given
+     * @param listener The listener told of the time of each phase of findShortestPath
+     */
+    public CampusMap (SearchMode defaultMode, PhaseListener listener) {
+        this(CampusPathsParser.parseCampusBuildings("campus_buildings.csv"),
+                CampusGraphBuilder.build(readAll(CampusPathsParser.openResource("campus_paths.csv"))), defaultMode,
+                listener);
+    }
+
+    /**
+     * Creates a new CampusMap of the given buildings and paths, and tells a listener how long the phases of each
+     * findShortestPath take
+     * @param buildings The buildings of the campus
+     * @param paths The direct paths between points of the campus
+     * @param defaultMode The search algorithm findShortestPath uses when none is given
+     * @param listener The listener told of the time of each phase of findShortestPath
+     */
+    public CampusMap (List<CampusBuilding> buildings, List<CampusPath> paths, SearchMode defaultMode,
+                      PhaseListener listener) {
+        this(buildings, CampusGraphBuilder.build(consumer -> {
+            for (CampusPath i : paths) {
+                consumer.accept(i.getX1(), i.getY1(), i.getX2(), i.getY2(), i.getDistance());
+            }
+        }), defaultMode, listener);
+    }
+
+    /**
+     * Creates a new CampusMap of the given buildings and the paths of the given campus paths data, and tells a
+     * listener how long the phases of each findShortestPath take
+     * @param buildings The buildings of the campus
+     * @param pathsData The direct paths between points of the campus, in the format of campus_paths.csv, which is
+     *                  read to its end and closed
+     * @param defaultMode The search algorithm findShortestPath uses when none is given
+     * @param listener The listener told of the time of each phase of findShortestPath
+     * @throws CampusPathsParser.ParserException if pathsData cannot be read or parsed
+     */
+    public CampusMap (List<CampusBuilding> buildings, InputStream pathsData, SearchMode defaultMode,
+                      PhaseListener listener) {
+        this(buildings, CampusGraphBuilder.build(readAll(pathsData)), defaultMode, listener);
+    }
+
+    /**
+     * Creates a new CampusMap of the buildings and graph of a compiled graph image, and tells a listener how long the
+     * phases of each findShortestPath take. The graph is the same, node for node, as the one the campus data the
+     * image was compiled from would give, so route tables built on either can be used with the other.
+     * @param image The compiled campus data
+     * @param defaultMode The search algorithm findShortestPath uses when none is given
+     * @param listener The listener told of the time of each phase of findShortestPath
+     */
+    public CampusMap (GraphImage image, SearchMode defaultMode, PhaseListener listener) {
+        this(image.getBuildings(), image.getGraph(), defaultMode, listener);
+    }
+
+    // creates a CampusMap of the given buildings and frozen graph of the campus paths
+    private CampusMap (List<CampusBuilding> buildings, CSRGraph<Point> frozen, SearchMode defaultMode,
+                       PhaseListener listener) {
+        this.defaultMode = defaultMode;
+        this.listener = listener;
+        this.buildings = new ArrayList<>(buildings);
+        this.frozen = frozen;
+        // only Dijkstra's Algorithm is built up front; the other engines need preprocessing, such as contracting the
+        // graph, that a map queried in one mode should not pay for, so each is built on the first query in its mode
+        engines = new ConcurrentHashMap<>();
+        singleSource = new IndexedDijkstras_Algorithm<>(frozen);
+        engines.put(SearchMode.DIJKSTRA, singleSource);
+
+        map = new HashMap<>();
+        for (CampusBuilding i : buildings) {
+            map.put(i.getShortName(), i.getLongName());
+        }
+
+        // resolve every building to its graph node once, rather than scanning the nodes on every request
+        // a building is at the node in its grid cell, as the ends of paths are, so rounding in the data does not
+        // leave it off the graph; the table numbers the cells itself, so nodeOfCell maps its ids to the ids of
+        // frozen, and a cell holding several nodes of a graph not built by CampusGraphBuilder gets the first
+        PointTable cells = new PointTable(CampusGraphBuilder.STEPS_PER_UNIT);
+        int[] nodeOfCell = new int[frozen.size()];
+        for (int id = 0; id < frozen.size(); id++) {
+            Point node = frozen.nodeOf(id);
+            int known = cells.size();
+            int cell = cells.intern(node.getX(), node.getY());
+            if (cells.size() > known) {
+                nodeOfCell[cell] = id;
+            }
+        }
+        buildingNodes = new HashMap<>();
+        for (CampusBuilding i : buildings) {
+            int cell = cells.indexOf(i.getX(), i.getY());
+            if (cell >= 0) {
+                buildingNodes.put(i.getShortName(), frozen.nodeOf(nodeOfCell[cell]));
+            }
+        }
+
+        checkRep();
+    }
+
+    @Override
+    public boolean shortNameExists(String shortName) {
+        checkRep();
+        return map.containsKey(shortName);
+    }
+
+    @Override
+    public String longNameForShort(String shortName) {
+        checkRep();
+        if (!map.containsKey(shortName)) {
+            checkRep();
+            throw new IllegalArgumentException("shortName does not exist in the map");
+        }
+        checkRep();
+        return map.get(shortName);
+    }
+
+    @Override
+    public boolean isOnGraph(String shortName) {
+        checkRep();
+        if (!map.containsKey(shortName)) {
+            checkRep();
+            throw new IllegalArgumentException("shortName does not exist in the map");
+        }
+        checkRep();
+        return buildingNodes.containsKey(shortName);
+    }
+
+    @Override
+    public Map<String, String> buildingNames() {
+        checkRep();
+        Map<String, String> mapCopy = new HashMap<>(map);
+        checkRep();
+        return mapCopy;
+    }
+
+    @Override
+    public Path<Point> findShortestPath(String startShortName, String endShortName) {
+        return findShortestPath(startShortName, endShortName, defaultMode);
+    }
+
+    @Override
+    public Path<Point> findShortestPath(String startShortName, String endShortName, SearchMode mode) {
+        checkRep();
+        long time = System.nanoTime();
+        if ((!map.containsKey(startShortName)) || (!map.containsKey(endShortName))) {
+            checkRep();
+            throw new IllegalArgumentException("startShortName or endShortName does not exist in the map");
+        }
+        time = lap(PhaseListener.LOOKUP, time);
+        Point[] ends = locate(startShortName, endShortName);
+        time = lap(PhaseListener.RESOLVE, time);
+        Path<Point> path = engine(mode).findMinCost(ends[0], ends[1]);
+        lap(PhaseListener.SEARCH, time);
+        checkRep();
+        return path;
+    }
+
+    // tells the listener that a phase which started at the given nanoTime has finished, returning the current nanoTime
+    private long lap(String phase, long start) {
+        long now = System.nanoTime();
+        listener.phaseCompleted(phase, now - start);
+        return now;
+    }
+
+    @Override
+    public List<Path<Point>> findShortestPaths(String startShortName, List<String> endShortNames) {
+        checkRep();
+        List<Point> dests = new ArrayList<>(endShortNames.size());
+        for (String endShortName : endShortNames) {
+            dests.add(locate(startShortName, endShortName)[1]);
+        }
+        Point start = locate(startShortName, startShortName)[0];
+        checkRep();
+        return singleSource.findMinCosts(start, dests);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The rows are computed in parallel on the common ForkJoinPool, each with one single-source search.
+     */
+    @Override
+    public double[][] distanceMatrix(List<String> shortNames) {
+        checkRep();
+        List<Point> points = new ArrayList<>(shortNames.size());
+        for (String shortName : shortNames) {
+            points.add(locate(shortName, shortName)[0]);
+        }
+        double[][] matrix = new double[points.size()][];
+        // a parallel stream runs its elements on the common ForkJoinPool
+        IntStream.range(0, points.size()).parallel()
+                .forEach(i -> matrix[i] = singleSource.findMinCostDistances(points.get(i), points));
+        checkRep();
+        return matrix;
+    }
+
+    @Override
+    public int countSettledNodes(String startShortName, String endShortName, SearchMode mode) {
+        checkRep();
+        Point[] ends = locate(startShortName, endShortName);
+        checkRep();
+        return engine(mode).countSettled(ends[0], ends[1]);
+    }
+
+    /**
+     * Precomputes the shortest paths between every pair of buildings on the graph, running one search per building
+     * in parallel.
+     * @return The table of the shortest paths between all buildings, by short name
+     */
+    public RouteTable<Point> buildRouteTable() {
+        checkRep();
+        RouteTable<Point> table = RouteTable.build(frozen, buildingNodes);
+        checkRep();
+        return table;
+    }
+
+    /**
+     * Reads a table of the shortest paths between all buildings that was built on this campus map and written out
+     * with RouteTable.write.
+     * @param in The stream to read the table from
+     * @throws IOException if the stream cannot be read, or does not hold a route table built on this campus map
+     * @return The table of the shortest paths between all buildings, by short name
+     */
+    public RouteTable<Point> readRouteTable(InputStream in) throws IOException {
+        checkRep();
+        RouteTable<Point> table = RouteTable.read(in, frozen);
+        checkRep();
+        return table;
+    }
+
+    /**
+     * Finds the node of the campus graph nearest to the given coordinates, for routing from a location that is not a
+     * building.
+     * @param x The x coordinate to search from
+     * @param y The y coordinate to search from
+     * @return The graph node nearest to (x, y), or null if the graph has no nodes
+     */
+    public Point nearestNode(double x, double y) {
+        checkRep();
+        int id = nodeIndex().nearest(x, y);
+        checkRep();
+        return id < 0 ? null : frozen.nodeOf(id);
+    }
+
+    // returns the index of the nodes of the graph, building it on first use since only nearestNode needs it
+    private synchronized KdTree nodeIndex() {
+        if (nodeIndex == null) {
+            nodeIndex = new KdTree(frozen.getNodeList());
+        }
+        return nodeIndex;
+    }
+
+    // returns the engine of the given mode, building it if this is its first query; concurrent first queries in the
+    // same mode wait for one build
+    private ShortestPathFinder<Point> engine(SearchMode mode) {
+        return engines.computeIfAbsent(mode, key -> {
+            switch (key) {
+                case A_STAR:
+                    return new AStar_Algorithm<>(frozen, EuclideanHeuristic.admissibleFor(frozen));
+                case BIDIRECTIONAL:
+                    return new BidirectionalDijkstras_Algorithm<>(frozen);
+                case CONTRACTION_HIERARCHIES:
+                    return new ContractionHierarchies<>(frozen);
+                default:
+                    throw new IllegalArgumentException("no search algorithm for mode " + key);
+            }
+        });
+    }
+
+    // returns the bytes of the given data, which is read to its end and closed
+    private static byte[] readAll(InputStream data) {
+        try (InputStream stream = data) {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new CampusPathsParser.ParserException("Cannot read data", e);
+        }
+    }
+
+    // returns the graph nodes at the two given buildings, or throws IllegalArgumentException if
+    // either building does not exist or is not on the graph
+    private Point[] locate(String startShortName, String endShortName) {
+        if ((!map.containsKey(startShortName)) || (!map.containsKey(endShortName))) {
+            checkRep();
+            throw new IllegalArgumentException("startShortName or endShortName does not exist in the map");
+        }
+        Point start = buildingNodes.get(startShortName);
+        Point dest = buildingNodes.get(endShortName);
+        if(start == null || dest == null) {
+            checkRep();
+            throw new IllegalArgumentException("startBuilding or endBuilding are null");
+        }
+        return new Point[] {start, dest};
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (this.frozen == null || this.buildings == null
+                || this.map == null || this.buildingNodes == null || this.engines == null || this.singleSource == null
+                || this.defaultMode == null || this.listener == null) {
+            throw new RuntimeException("checkRep of CampusMap failure");
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.IndexedDHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.Arrays;
+
+/**
+ * This represents an immutable contraction hierarchy over a particular frozen graph, which finds minimum-cost paths
+ * between two given nodes in the graph after a one-time preprocessing step.
+ * <p>
+ * Preprocessing contracts the nodes one at a time, least important first. Contracting a node v removes it from the
+ * remaining graph, and for every pair of remaining neighbours u -&gt; v -&gt; x whose only shortest connection runs
+ * through v, it adds a shortcut edge u -&gt; x with the cost of both edges. The order of contraction is the rank
+ * of a node. A query then runs a bidirectional Dijkstra's Algorithm in which both sides only follow edges towards
+ * higher ranked nodes, which settles very few nodes. The shortcuts on the resulting path are finally unpacked into
+ * the original edges, so the returned Path has the same segments as one found on the original graph.
+ * @param <N> A type parameter to make the hierarchy generic on its nodes.
+ */
+public class ContractionHierarchies<N> implements ShortestPathFinder<N> {
+    // AF(this) = the hierarchy over graph in which node v has rank rank[v], and the edges are the edges of graph
+    //            (ids 0 .. graph.edgeCount() - 1) followed by shortcuts, where edge e goes from edgeFrom[e] to
+    //            edgeTo[e] with cost edgeWeight[e], and a shortcut e replaces the edges skipFirst[e], skipSecond[e]
+    // RI: graph != null, all arrays != null, rank is a permutation of [0, graph.size());
+    //     for every edge e, the edges at upEdges[upOffsets[edgeFrom[e]] ..] include e iff
+    //     rank[edgeFrom[e]] < rank[edgeTo[e]], and the edges at downEdges[downOffsets[edgeTo[e]] ..] include e iff
+    //     rank[edgeFrom[e]] > rank[edgeTo[e]];
+    //     skipFirst[e] == skipSecond[e] == -1 for every e < graph.edgeCount()
+
+    /**
+     * The most nodes a witness search may settle before it gives up and a shortcut is added anyway. Extra
+     * shortcuts never make queries wrong, only a little slower.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 64;
+
+    private final CSRGraph<N> graph;
+    private final int[] rank;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeight;
+    private final int[] skipFirst;
+    private final int[] skipSecond;
+    private final int[] upOffsets;
+    private final int[] upEdges;
+    private final int[] downOffsets;
+    private final int[] downEdges;
+    private final ThreadLocal<SearchSpace[]> spaces;
+
+    /**
+     * Creates the contraction hierarchy over a given frozen graph, contracting all of its nodes
+     * @param graph The frozen graph to build the hierarchy over
+     */
+    public ContractionHierarchies(CSRGraph<N> graph) {
+        this.graph = graph;
+        Contraction contraction = new Contraction();
+        contraction.contractAll();
+        this.rank = contraction.rank;
+        int edgeCount = contraction.edgeCount;
+        this.edgeFrom = Arrays.copyOf(contraction.from, edgeCount);
+        this.edgeTo = Arrays.copyOf(contraction.to, edgeCount);
+        this.edgeWeight = Arrays.copyOf(contraction.weight, edgeCount);
+        this.skipFirst = Arrays.copyOf(contraction.skipFirst, edgeCount);
+        this.skipSecond = Arrays.copyOf(contraction.skipSecond, edgeCount);
+
+        // lay out the upward edges by source and the downward edges by target, each with a counting sort
+        this.upOffsets = new int[graph.size() + 1];
+        this.downOffsets = new int[graph.size() + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            if (rank[edgeFrom[e]] < rank[edgeTo[e]]) {
+                upOffsets[edgeFrom[e] + 1]++;
+            } else if (rank[edgeFrom[e]] > rank[edgeTo[e]]) {
+                downOffsets[edgeTo[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < graph.size(); v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        this.upEdges = new int[upOffsets[graph.size()]];
+        this.downEdges = new int[downOffsets[graph.size()]];
+        int[] nextUp = Arrays.copyOf(upOffsets, graph.size());
+        int[] nextDown = Arrays.copyOf(downOffsets, graph.size());
+        for (int e = 0; e < edgeCount; e++) {
+            if (rank[edgeFrom[e]] < rank[edgeTo[e]]) {
+                upEdges[nextUp[edgeFrom[e]]++] = e;
+            } else if (rank[edgeFrom[e]] > rank[edgeTo[e]]) {
+                downEdges[nextDown[edgeTo[e]]++] = e;
+            }
+        }
+
+        this.spaces = ThreadLocal.withInitial(
+                () -> new SearchSpace[] {new SearchSpace(graph.size()), new SearchSpace(graph.size())});
+        checkRep();
+    }
+
+    /**
+     * @return The number of shortcut edges added by preprocessing.
+     */
+    public int shortcutCount() {
+        return edgeFrom.length - graph.edgeCount();
+    }
+
+    @Override
+    public Path<N> findMinCost(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        if (!graph.containsNode(dest)) {
+            return null;
+        }
+        int t = graph.idOf(dest);
+        SearchSpace[] pair = spaces.get();
+        int meeting = search(pair[0], pair[1], s, t);
+        checkRep();
+        if (meeting < 0) {
+            return null;
+        }
+        return SearchSpace.buildPath(graph, s, unpack(pair[0], pair[1], meeting));
+    }
+
+    @Override
+    public int countSettled(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        SearchSpace[] pair = spaces.get();
+        search(pair[0], pair[1], s, graph.containsNode(dest) ? graph.idOf(dest) : -1);
+        return pair[0].settledCount() + pair[1].settledCount();
+    }
+
+    /**
+     * Runs the upward search from s and the backward upward search from t, until neither frontier can improve on
+     * the best meeting node found so far.
+     * @param forward The working memory of the forward search
+     * @param backward The working memory of the backward search
+     * @param s The id of the start node
+     * @param t The id of the destination node, or -1 if there is none
+     * @return The id of the highest ranked node on a shortest s-t path, or -1 if t is unreachable from s
+     */
+    private int search(SearchSpace forward, SearchSpace backward, int s, int t) {
+        forward.reset();
+        backward.reset();
+        forward.reach(s, 0, -1, -1);
+        forward.heap.insertOrDecrease(s, 0);
+        if (t >= 0) {
+            backward.reach(t, 0, -1, -1);
+            backward.heap.insertOrDecrease(t, 0);
+        }
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (true) {
+            boolean forwardOpen = !forward.heap.isEmpty() && forward.heap.keyOf(forward.heap.peek()) < best;
+            boolean backwardOpen = !backward.heap.isEmpty() && backward.heap.keyOf(backward.heap.peek()) < best;
+            if (!forwardOpen && !backwardOpen) {
+                break;
+            }
+            boolean goForward = forwardOpen && (!backwardOpen
+                    || forward.heap.keyOf(forward.heap.peek()) <= backward.heap.keyOf(backward.heap.peek()));
+            SearchSpace side = goForward ? forward : backward;
+            SearchSpace other = goForward ? backward : forward;
+            int u = side.heap.poll();
+            side.settle(u);
+            double du = side.dist[u];
+            if (other.isReached(u) && du + other.dist[u] < best) {
+                best = du + other.dist[u];
+                meeting = u;
+            }
+            int[] offsets = goForward ? upOffsets : downOffsets;
+            int[] edges = goForward ? upEdges : downEdges;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int e = edges[i];
+                int v = goForward ? edgeTo[e] : edgeFrom[e];
+                double dv = du + edgeWeight[e];
+                if (!side.isSettled(v) && dv < side.distance(v)) {
+                    side.reach(v, dv, u, e);
+                    side.heap.insertOrDecrease(v, dv);
+                }
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Returns the original edges of the shortest path through meeting, in order from the start, with every
+     * shortcut replaced by the edges it stands for.
+     */
+    private int[] unpack(SearchSpace forward, SearchSpace backward, int meeting) {
+        int[] head = forward.edgesTo(meeting);
+        int tailLength = 0;
+        for (int v = meeting; backward.parentEdge[v] >= 0; v = backward.parent[v]) {
+            tailLength++;
+        }
+        int[] hierarchyEdges = Arrays.copyOf(head, head.length + tailLength);
+        int i = head.length;
+        // in the backward search, the parent of a node is the next node towards the destination
+        for (int v = meeting; backward.parentEdge[v] >= 0; v = backward.parent[v]) {
+            hierarchyEdges[i++] = backward.parentEdge[v];
+        }
+
+        int[] original = new int[hierarchyEdges.length];
+        int count = 0;
+        int[] stack = new int[16];
+        for (int e : hierarchyEdges) {
+            int top = 0;
+            stack[top++] = e;
+            while (top > 0) {
+                int next = stack[--top];
+                if (skipFirst[next] < 0) {
+                    if (count == original.length) {
+                        original = Arrays.copyOf(original, 2 * count);
+                    }
+                    original[count++] = next;
+                } else {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, 2 * stack.length);
+                    }
+                    stack[top++] = skipSecond[next];
+                    stack[top++] = skipFirst[next];
+                }
+            }
+        }
+        return Arrays.copyOf(original, count);
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (graph == null || rank == null || edgeFrom == null || edgeTo == null || edgeWeight == null
+                || skipFirst == null || skipSecond == null || upOffsets == null || upEdges == null
+                || downOffsets == null || downEdges == null || spaces == null) {
+            throw new RuntimeException("checkRep of ContractionHierarchies failure: null field");
+        }
+    }
+
+    /**
+     * The mutable state of preprocessing: the growing edge list, the edges of every node that have not been
+     * contracted away, and the contraction order.
+     */
+    private class Contraction {
+        int edgeCount;
+        int[] from;
+        int[] to;
+        double[] weight;
+        int[] skipFirst;
+        int[] skipSecond;
+        // the edge ids touching each node, which may include edges to contracted nodes that are skipped lazily
+        final IntList[] outs;
+        final IntList[] ins;
+        final boolean[] contracted;
+        final int[] contractedNeighbours;
+        final int[] rank;
+        final SearchSpace witness;
+
+        Contraction() {
+            int n = graph.size();
+            int capacity = Math.max(16, 2 * graph.edgeCount());
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new double[capacity];
+            skipFirst = new int[capacity];
+            skipSecond = new int[capacity];
+            outs = new IntList[n];
+            ins = new IntList[n];
+            for (int v = 0; v < n; v++) {
+                outs[v] = new IntList();
+                ins[v] = new IntList();
+            }
+            for (int e = 0; e < graph.edgeCount(); e++) {
+                addEdge(graph.source(e), graph.target(e), graph.weight(e), -1, -1);
+            }
+            contracted = new boolean[n];
+            contractedNeighbours = new int[n];
+            rank = new int[n];
+            witness = new SearchSpace(n);
+        }
+
+        // contracts every node, least important first, and records the order in rank
+        void contractAll() {
+            int n = graph.size();
+            IndexedDHeap queue = new IndexedDHeap(n, SearchSpace.HEAP_ARITY);
+            for (int v = 0; v < n; v++) {
+                queue.insertOrDecrease(v, priority(v));
+            }
+            int next = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                // priorities go stale as neighbours are contracted; re-check lazily before contracting
+                double current = priority(v);
+                if (!queue.isEmpty() && current > queue.keyOf(queue.peek())) {
+                    queue.insertOrDecrease(v, current);
+                    continue;
+                }
+                contract(v, true);
+                contracted[v] = true;
+                rank[v] = next++;
+                for (IntList list : new IntList[] {outs[v], ins[v]}) {
+                    for (int i = 0; i < list.size; i++) {
+                        int e = list.items[i];
+                        int u = from[e] == v ? to[e] : from[e];
+                        if (!contracted[u]) {
+                            contractedNeighbours[u]++;
+                            queue.insertOrDecrease(u, priority(u));
+                        }
+                    }
+                }
+            }
+        }
+
+        // the importance of v: the change in edge count contracting it would cause, plus how many of its
+        // neighbours are already contracted, which spreads contraction evenly over the graph
+        double priority(int v) {
+            int removed = 0;
+            for (int i = 0; i < outs[v].size; i++) {
+                removed += contracted[to[outs[v].items[i]]] ? 0 : 1;
+            }
+            for (int i = 0; i < ins[v].size; i++) {
+                removed += contracted[from[ins[v].items[i]]] ? 0 : 1;
+            }
+            return contract(v, false) - removed + contractedNeighbours[v];
+        }
+
+        // finds the shortcuts needed to contract v, adds them if apply is set, and returns how many there are
+        int contract(int v, boolean apply) {
+            int shortcuts = 0;
+            for (int i = 0; i < ins[v].size; i++) {
+                int in = ins[v].items[i];
+                int u = from[in];
+                if (contracted[u] || u == v) {
+                    continue;
+                }
+                double maxCost = 0;
+                for (int j = 0; j < outs[v].size; j++) {
+                    int out = outs[v].items[j];
+                    if (!contracted[to[out]] && to[out] != u) {
+                        maxCost = Math.max(maxCost, weight[in] + weight[out]);
+                    }
+                }
+                witnessSearch(u, v, maxCost);
+                for (int j = 0; j < outs[v].size; j++) {
+                    int out = outs[v].items[j];
+                    int x = to[out];
+                    if (contracted[x] || x == u || x == v) {
+                        continue;
+                    }
+                    double viaV = weight[in] + weight[out];
+                    if (witness.distance(x) <= viaV) {
+                        continue;
+                    }
+                    shortcuts++;
+                    if (apply) {
+                        addEdge(u, x, viaV, in, out);
+                        // later witness searches from u may use the new shortcut
+                        witness.reach(x, viaV, u, edgeCount - 1);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        // runs a Dijkstra's Algorithm from u over the remaining graph without v, up to cost maxCost
+        void witnessSearch(int u, int v, double maxCost) {
+            witness.reset();
+            witness.reach(u, 0, -1, -1);
+            witness.heap.insertOrDecrease(u, 0);
+            while (!witness.heap.isEmpty() && witness.settledCount() < WITNESS_SETTLE_LIMIT) {
+                int w = witness.heap.poll();
+                witness.settle(w);
+                double dw = witness.dist[w];
+                if (dw > maxCost) {
+                    break;
+                }
+                for (int i = 0; i < outs[w].size; i++) {
+                    int e = outs[w].items[i];
+                    int x = to[e];
+                    double dx = dw + weight[e];
+                    if (x != v && !contracted[x] && !witness.isSettled(x) && dx < witness.distance(x)) {
+                        witness.reach(x, dx, w, e);
+                        witness.heap.insertOrDecrease(x, dx);
+                    }
+                }
+            }
+        }
+
+        void addEdge(int u, int x, double cost, int first, int second) {
+            if (edgeCount == from.length) {
+                int capacity = 2 * edgeCount;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                skipFirst = Arrays.copyOf(skipFirst, capacity);
+                skipSecond = Arrays.copyOf(skipSecond, capacity);
+            }
+            from[edgeCount] = u;
+            to[edgeCount] = x;
+            weight[edgeCount] = cost;
+            skipFirst[edgeCount] = first;
+            skipSecond[edgeCount] = second;
+            outs[u].add(edgeCount);
+            ins[x].add(edgeCount);
+            edgeCount++;
+        }
+    }
+
+    /**
+     * A minimal growable list of ints.
+     */
+    private static class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, 2 * size);
+            }
+            items[size++] = item;
+        }
+    }
+}
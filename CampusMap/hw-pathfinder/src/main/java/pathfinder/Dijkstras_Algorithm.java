@@ -0,0 +1,128 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import graph.DirectedLabeledGraph;
+import pathfinder.datastructures.Path;
+
+import java.util.*;
+
+/**
+ * This represents an immutable Dijkstra's Algorithm applied on a particualr graph, which finds a minimum-cost path
+ * between two given nodes in a graph.
+ * @param <N> A type parameter to make Dijkstra's Algorithm generic on its nodes.
+ */
+public class Dijkstras_Algorithm <N> implements ShortestPathFinder<N> {
+    // AF(this) = graph that is applied of Dijkstra's Algorithm
+    // RI: this.graph != null
+    private final CSRGraph<N> graph;
+
+    private Comparator<Active<N>> compPath = new Comparator<>() {
+        @Override
+        public int compare(Active<N> o1, Active<N> o2) {
+            return Double.compare(o1.path.getCost(), o2.path.getCost());
+        }
+    };
+
+    /**
+     * Creates the Dijkstra's Algorithm applied on a given graph. The algorithm runs on a frozen snapshot of the
+     * graph, so later changes to the graph are not seen by this.
+     * @param graph The graph to apply on Dijkstra's Algorithm
+     */
+    public Dijkstras_Algorithm (DirectedLabeledGraph<N, Double> graph) {
+        this(graph.freeze(Double::doubleValue));
+    }
+
+    /**
+     * Creates the Dijkstra's Algorithm applied on a given frozen graph
+     * @param graph The frozen graph to apply on Dijkstra's Algorithm
+     */
+    public Dijkstras_Algorithm (CSRGraph<N> graph) {
+        this.graph = graph;
+        checkRep();
+    }
+
+    /**
+     * Find a minimum-cost path between two given nodes of this using Dijkstra's Algorithm
+     *
+     * @param start The start node of the path
+     * @param dest Then end node of the path
+     * @throws IllegalArgumentException if start does not exist in the graph
+     * @return A path from start node to end node that has minimum cost.
+     *          Or null if no path is found.
+     */
+    @Override
+    public Path<N> findMinCost(N start, N dest) {
+        checkRep();
+        Path<N> minPath = search(start, dest, new boolean[graph.size()]);
+        checkRep();
+        return minPath;
+    }
+
+    @Override
+    public int countSettled(N start, N dest) {
+        checkRep();
+        boolean[] finished = new boolean[graph.size()];
+        // the destination is settled when it is reached, but never marked finished
+        int count = search(start, dest, finished) == null ? 0 : 1;
+        for (boolean i : finished) {
+            if (i) {
+                count++;
+            }
+        }
+        checkRep();
+        return count;
+    }
+
+    // runs Dijkstra's Algorithm from start until dest is reached, marking every node whose edges have been
+    // expanded in finished, and returns the minimum-cost path to dest or null if there is none
+    private Path<N> search(N start, N dest, boolean[] finished) {
+        // a search from an unknown start node is an error, while an unknown dest node is simply unreachable
+        int startId = graph.idOf(start);
+        int destId = graph.containsNode(dest) ? graph.idOf(dest) : -1;
+        PriorityQueue<Active<N>> active = new PriorityQueue<>(compPath);
+        active.add(new Active<>(new Path<>(start), startId));
+
+        Path<N> minPath;
+        int minId;
+
+        while (!active.isEmpty()) {
+            Active<N> min = active.remove();
+            minPath = min.path;
+            minId = min.id;
+
+            if (minId == destId) {
+                return minPath;
+            }
+            if (finished[minId]) {
+                continue;
+            }
+
+            for (int e = graph.firstEdge(minId); e < graph.endEdge(minId); e++) {
+                int child = graph.target(e);
+                if (!finished[child]) {
+                    active.add(new Active<>(minPath.extend(graph.nodeOf(child), graph.weight(e)), child));
+                }
+            }
+            finished[minId] = true;
+        }
+        return null;
+    }
+
+    // a path waiting in the queue, with the graph id of its end node, so a pop needs no lookup of the end node
+    private static class Active<N> {
+        private final Path<N> path;
+        private final int id;
+
+        private Active(Path<N> path, int id) {
+            this.path = path;
+            this.id = id;
+        }
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if(graph == null) {
+            throw new RuntimeException("checkRep of Dijkstras_Algorithm failure: graph = null");
+        }
+    }
+}
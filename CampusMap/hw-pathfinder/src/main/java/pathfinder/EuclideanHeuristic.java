@@ -0,0 +1,71 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Point;
+
+/**
+ * This represents an immutable heuristic that estimates the cost between two points as their Euclidean distance,
+ * multiplied by a fixed scale that converts coordinate units into cost units.
+ */
+public class EuclideanHeuristic implements Heuristic<Point> {
+    // AF(this) = the estimate scale * |node - dest| for any two points node and dest
+    // RI: Double.isFinite(scale) && scale >= 0
+    private final double scale;
+
+    /**
+     * Creates the Euclidean heuristic with a given scale
+     * @param scale The cost of one unit of Euclidean distance
+     * @throws IllegalArgumentException if scale is negative, NaN or infinite
+     */
+    public EuclideanHeuristic(double scale) {
+        if (!Double.isFinite(scale) || scale < 0) {
+            throw new IllegalArgumentException("scale must be finite and >= 0");
+        }
+        this.scale = scale;
+        checkRep();
+    }
+
+    /**
+     * Creates the Euclidean heuristic with the largest scale that is still admissible and consistent on a graph,
+     * which is the smallest ratio between the cost and the Euclidean length of any edge. Edges of zero length
+     * are ignored, since no scale can overestimate them.
+     * @param graph The graph the heuristic is used on
+     * @return The tightest Euclidean heuristic that is consistent on graph
+     */
+    public static EuclideanHeuristic admissibleFor(CSRGraph<Point> graph) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (int u = 0; u < graph.size(); u++) {
+            Point from = graph.nodeOf(u);
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                double length = distance(from, graph.nodeOf(graph.target(e)));
+                if (length > 0) {
+                    scale = Math.min(scale, graph.weight(e) / length);
+                }
+            }
+        }
+        return new EuclideanHeuristic(Double.isInfinite(scale) ? 0 : Math.max(scale, 0));
+    }
+
+    /**
+     * @return The cost of one unit of Euclidean distance under this heuristic.
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    @Override
+    public double estimate(Point node, Point dest) {
+        return scale * distance(node, dest);
+    }
+
+    private static double distance(Point a, Point b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (!Double.isFinite(scale) || scale < 0) {
+            throw new RuntimeException("checkRep of EuclideanHeuristic failure: bad scale");
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This represents an immutable compiled form of the campus data: the buildings, and the frozen graph of the campus
+ * paths with its nodes in the order CampusMap gives them. An image is compiled once from campus_buildings.csv and
+ * campus_paths.csv and written to a file, and loading it again maps that file into memory and copies its arrays out,
+ * without parsing text, hashing edges into a graph or freezing it.
+ *
+ * <p>The file is little-endian and laid out so every array is aligned to its element size:
+ * <pre>
+ *   header   int magic "CPGI", int version, int nodes, int edges, int buildings, int name bytes,
+ *            long checksum of the campus data, long CRC-32 of everything after the header
+ *   doubles  x of each node, y of each node, weight of each edge, x of each building, y of each building
+ *   ints     first edge of each node followed by the number of edges, target node of each edge
+ *   names    for each building, its short then its long name, each as an int length and UTF-8 bytes
+ * </pre>
+ * Edges are in the order of their source node, so the outgoing edges of node i are offsets[i] .. offsets[i + 1] - 1.
+ */
+public class GraphImage {
+    // AF(this) = the campus with the buildings buildings and the paths of graph, compiled from campus data whose
+    //            checksum is sourceChecksum
+    // RI: buildings != null, graph != null
+
+    // identifies the file format, and its version
+    private static final int MAGIC = 0x49475043;
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 40;
+    private static final int SOURCE_CHECKSUM_OFFSET = 24;
+    private static final int CHECKSUM_OFFSET = 32;
+
+    private final List<CampusBuilding> buildings;
+    private final CSRGraph<Point> graph;
+    private final long sourceChecksum;
+
+    // takes over the given list
+    private GraphImage(List<CampusBuilding> buildings, CSRGraph<Point> graph, long sourceChecksum) {
+        this.buildings = Collections.unmodifiableList(buildings);
+        this.graph = graph;
+        this.sourceChecksum = sourceChecksum;
+        checkRep();
+    }
+
+    /**
+     * Compiles campus data into an image, building the same graph CampusMap builds from it.
+     * @param buildingsData The campus buildings data, which is read to its end and closed
+     * @param pathsData The campus paths data, which is read to its end and closed
+     * @throws IOException if the data cannot be read
+     * @throws CampusPathsParser.ParserException if the data cannot be parsed
+     * @return The image of the campus data
+     */
+    public static GraphImage compile(InputStream buildingsData, InputStream pathsData) throws IOException {
+        byte[] buildingsBytes;
+        byte[] pathsBytes;
+        try (InputStream b = buildingsData; InputStream p = pathsData) {
+            buildingsBytes = b.readAllBytes();
+            pathsBytes = p.readAllBytes();
+        }
+        List<CampusBuilding> buildings =
+                CampusPathsParser.parseCampusBuildings(new ByteArrayInputStream(buildingsBytes));
+        return new GraphImage(new ArrayList<>(buildings), CampusGraphBuilder.build(pathsBytes),
+                checksum(buildingsBytes, pathsBytes));
+    }
+
+    /**
+     * Returns the checksum of campus data that images compiled from it record, so a caller can tell whether an image
+     * is out of date without parsing the data.
+     * @param buildingsData The campus buildings data, which is read to its end and closed
+     * @param pathsData The campus paths data, which is read to its end and closed
+     * @throws IOException if the data cannot be read
+     * @return The checksum of the data, which is equal to getSourceChecksum() of an image compiled from it
+     */
+    public static long sourceChecksum(InputStream buildingsData, InputStream pathsData) throws IOException {
+        try (InputStream b = buildingsData; InputStream p = pathsData) {
+            return checksum(b.readAllBytes(), p.readAllBytes());
+        }
+    }
+
+    /**
+     * Loads an image written by write by mapping its file into memory.
+     * @param file The file of the image
+     * @throws IOException if the file cannot be read, is not an image of this version, or fails its checksum
+     * @return The image in file
+     */
+    public static GraphImage map(Path file) throws IOException {
+        ByteBuffer image;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("map: not a graph image");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            image = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (image.getInt(0) != MAGIC || image.getInt(4) != VERSION) {
+            throw new IOException("map: not a graph image of version " + VERSION);
+        }
+        int n = image.getInt(8);
+        int m = image.getInt(12);
+        int b = image.getInt(16);
+        int nameBytes = image.getInt(20);
+        long expectedLength = HEADER_BYTES + (long) Double.BYTES * (2L * n + m + 2L * b)
+                + (long) Integer.BYTES * (n + 1L + m) + nameBytes;
+        if (n < 0 || m < 0 || b < 0 || nameBytes < 0 || expectedLength != image.capacity()) {
+            throw new IOException("map: graph image is truncated or has inconsistent sizes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(image.duplicate().position(HEADER_BYTES));
+        if (crc.getValue() != image.getLong(CHECKSUM_OFFSET)) {
+            throw new IOException("map: graph image fails its checksum");
+        }
+
+        image.position(HEADER_BYTES);
+        double[] nodeX = doubles(image, n);
+        double[] nodeY = doubles(image, n);
+        double[] weights = doubles(image, m);
+        double[] buildingX = doubles(image, b);
+        double[] buildingY = doubles(image, b);
+        int[] offsets = ints(image, n + 1);
+        int[] targets = ints(image, m);
+        List<CampusBuilding> buildings = new ArrayList<>(b);
+        for (int i = 0; i < b; i++) {
+            buildings.add(new CampusBuilding(string(image), string(image), buildingX[i], buildingY[i]));
+        }
+        List<Point> nodes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            nodes.add(new Point(nodeX[i], nodeY[i]));
+        }
+        try {
+            return new GraphImage(buildings, CSRGraph.of(nodes, offsets, targets, weights),
+                    image.getLong(SOURCE_CHECKSUM_OFFSET));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("map: graph image does not hold a graph", e);
+        }
+    }
+
+    /**
+     * Writes this image to a stream, in the form map reads.
+     * @param out The stream to write the image to
+     * @spec.modifies out
+     * @throws IOException if writing to out fails
+     */
+    public void write(OutputStream out) throws IOException {
+        checkRep();
+        int n = graph.size();
+        int m = graph.edgeCount();
+        int b = buildings.size();
+        List<byte[]> names = new ArrayList<>(2 * b);
+        int nameBytes = 0;
+        for (CampusBuilding i : buildings) {
+            for (String name : new String[] {i.getShortName(), i.getLongName()}) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                names.add(bytes);
+                nameBytes += Integer.BYTES + bytes.length;
+            }
+        }
+        ByteBuffer image = ByteBuffer.allocate(HEADER_BYTES + Double.BYTES * (2 * n + m + 2 * b)
+                + Integer.BYTES * (n + 1 + m) + nameBytes).order(ByteOrder.LITTLE_ENDIAN);
+        image.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(m).putInt(b).putInt(nameBytes).putLong(sourceChecksum)
+                .putLong(0);
+        for (Point i : graph.getNodeList()) {
+            image.putDouble(i.getX());
+        }
+        for (Point i : graph.getNodeList()) {
+            image.putDouble(i.getY());
+        }
+        for (int e = 0; e < m; e++) {
+            image.putDouble(graph.weight(e));
+        }
+        for (CampusBuilding i : buildings) {
+            image.putDouble(i.getX());
+        }
+        for (CampusBuilding i : buildings) {
+            image.putDouble(i.getY());
+        }
+        for (int v = 0; v < n; v++) {
+            image.putInt(graph.firstEdge(v));
+        }
+        image.putInt(m);
+        for (int e = 0; e < m; e++) {
+            image.putInt(graph.target(e));
+        }
+        for (byte[] name : names) {
+            image.putInt(name.length).put(name);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(image.array(), HEADER_BYTES, image.capacity() - HEADER_BYTES);
+        image.putLong(CHECKSUM_OFFSET, crc.getValue());
+        out.write(image.array());
+        out.flush();
+    }
+
+    /**
+     * @return An unmodifiable list of the buildings of the campus, in the order of the campus buildings data.
+     */
+    public List<CampusBuilding> getBuildings() {
+        return buildings;
+    }
+
+    /**
+     * @return The frozen graph of the campus paths.
+     */
+    public CSRGraph<Point> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return The checksum of the campus data this image was compiled from, as sourceChecksum computes it.
+     */
+    public long getSourceChecksum() {
+        return sourceChecksum;
+    }
+
+    /**
+     * Compiles the campus data into an image file, which replaces the file atomically so that a server watching it
+     * never maps a partly written image.
+     * @param args The file to write the image to, optionally followed by a directory to read campus_buildings.csv
+     *             and campus_paths.csv from instead of the classpath
+     * @throws IOException if the data cannot be read or the image cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: GraphImage <image file> [campus data directory]");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[0]).toAbsolutePath();
+        GraphImage image;
+        if (args.length == 2) {
+            image = compile(Files.newInputStream(Paths.get(args[1], "campus_buildings.csv")),
+                    Files.newInputStream(Paths.get(args[1], "campus_paths.csv")));
+        } else {
+            image = compile(CampusPathsParser.openResource("campus_buildings.csv"),
+                    CampusPathsParser.openResource("campus_paths.csv"));
+        }
+        Files.createDirectories(output.getParent());
+        // each run writes a file of its own, so runs at the same time never write into one another's file
+        Path temporary = Files.createTempFile(output.getParent(), output.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                image.write(out);
+            }
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        System.out.println("Wrote " + image.graph.size() + " nodes, " + image.graph.edgeCount() + " edges and "
+                + image.buildings.size() + " buildings to " + output);
+    }
+
+    // returns the checksum of the bytes of the campus buildings and paths data, one CRC-32 in each half
+    private static long checksum(byte[] buildingsBytes, byte[] pathsBytes) {
+        CRC32 crc = new CRC32();
+        crc.update(buildingsBytes);
+        long high = crc.getValue();
+        crc.reset();
+        crc.update(pathsBytes);
+        return high << 32 | crc.getValue();
+    }
+
+    // reads count doubles from the position of image, and moves past them
+    private static double[] doubles(ByteBuffer image, int count) {
+        double[] values = new double[count];
+        image.asDoubleBuffer().get(values);
+        image.position(image.position() + count * Double.BYTES);
+        return values;
+    }
+
+    // reads count ints from the position of image, and moves past them
+    private static int[] ints(ByteBuffer image, int count) {
+        int[] values = new int[count];
+        image.asIntBuffer().get(values);
+        image.position(image.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    // reads a length-prefixed UTF-8 string from the position of image, and moves past it
+    private static String string(ByteBuffer image) throws IOException {
+        int length = image.getInt();
+        if (length < 0 || length > image.remaining()) {
+            throw new IOException("map: graph image has a malformed building name");
+        }
+        byte[] bytes = new byte[length];
+        image.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (buildings == null || graph == null) {
+            throw new RuntimeException("checkRep of GraphImage failure: null field");
+        }
+    }
+}
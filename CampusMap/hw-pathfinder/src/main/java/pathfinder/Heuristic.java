@@ -0,0 +1,19 @@
+package pathfinder;
+
+/**
+ * This interface represents an estimate of the minimum cost from any node of a graph to a destination node, used to
+ * guide A* search. For A* to return minimum-cost paths, the estimate must never exceed the true minimum cost
+ * (admissible), and must never drop by more than the cost of an edge along that edge (consistent).
+ * @param <N> A type parameter to make the heuristic generic on its nodes.
+ */
+public interface Heuristic<N> {
+
+    /**
+     * Estimates the minimum cost of a path from node to dest.
+     *
+     * @param node The node the estimated path starts at
+     * @param dest The node the estimated path ends at
+     * @return A lower bound on the cost of every path from node to dest, which is >= 0
+     */
+    public double estimate(N node, N dest);
+}
@@ -0,0 +1,175 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This represents an immutable Dijkstra's Algorithm applied on a particular frozen graph, which finds a minimum-cost
+ * path between two given nodes in the graph. Unlike Dijkstras_Algorithm, it keeps tentative distances and parents in
+ * primitive arrays indexed by node id and the frontier in an indexed heap with decrease-key, and builds the resulting
+ * Path only once the destination is settled. The working arrays are reused between searches of the same thread, so a
+ * search allocates only the path it returns.
+ * @param <N> A type parameter to make Dijkstra's Algorithm generic on its nodes.
+ */
+public class IndexedDijkstras_Algorithm<N> implements ShortestPathFinder<N> {
+    // AF(this) = graph that is applied of Dijkstra's Algorithm
+    // RI: this.graph != null, this.spaces != null
+    private final CSRGraph<N> graph;
+    private final ThreadLocal<SearchSpace> spaces;
+
+    /**
+     * Creates the Dijkstra's Algorithm applied on a given frozen graph
+     * @param graph The frozen graph to apply on Dijkstra's Algorithm
+     */
+    public IndexedDijkstras_Algorithm(CSRGraph<N> graph) {
+        this.graph = graph;
+        this.spaces = ThreadLocal.withInitial(() -> new SearchSpace(graph.size()));
+        checkRep();
+    }
+
+    @Override
+    public Path<N> findMinCost(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        if (!graph.containsNode(dest)) {
+            return null;
+        }
+        int t = graph.idOf(dest);
+        SearchSpace space = spaces.get();
+        if (!search(space, s, t)) {
+            checkRep();
+            return null;
+        }
+        checkRep();
+        return SearchSpace.buildPath(graph, s, space.edgesTo(t));
+    }
+
+    /**
+     * Finds minimum-cost paths from one start node to many destination nodes with a single search, which stops as
+     * soon as every destination is settled.
+     *
+     * @param start The start node of the paths
+     * @param dests The end nodes of the paths, which may repeat
+     * @throws IllegalArgumentException if start does not exist in the graph
+     * @return A list whose i-th element is a minimum-cost path from start to dests.get(i), or null if no path to
+     *         dests.get(i) is found
+     */
+    public List<Path<N>> findMinCosts(N start, List<N> dests) {
+        checkRep();
+        int s = graph.idOf(start);
+        SearchSpace space = searchAll(s, dests);
+        List<Path<N>> paths = new ArrayList<>(dests.size());
+        for (N dest : dests) {
+            if (graph.containsNode(dest) && space.isSettled(graph.idOf(dest))) {
+                paths.add(SearchSpace.buildPath(graph, s, space.edgesTo(graph.idOf(dest))));
+            } else {
+                paths.add(null);
+            }
+        }
+        checkRep();
+        return paths;
+    }
+
+    /**
+     * Finds the costs of minimum-cost paths from one start node to many destination nodes with a single search,
+     * without building the paths themselves.
+     *
+     * @param start The start node of the paths
+     * @param dests The end nodes of the paths, which may repeat
+     * @throws IllegalArgumentException if start does not exist in the graph
+     * @return An array whose i-th element is the cost of a minimum-cost path from start to dests.get(i), or positive
+     *         infinity if no path to dests.get(i) is found
+     */
+    public double[] findMinCostDistances(N start, List<N> dests) {
+        checkRep();
+        SearchSpace space = searchAll(graph.idOf(start), dests);
+        double[] distances = new double[dests.size()];
+        for (int i = 0; i < distances.length; i++) {
+            N dest = dests.get(i);
+            distances[i] = graph.containsNode(dest) && space.isSettled(graph.idOf(dest))
+                    ? space.dist[graph.idOf(dest)] : Double.POSITIVE_INFINITY;
+        }
+        checkRep();
+        return distances;
+    }
+
+    // runs Dijkstra's Algorithm from s until every node of dests is settled or every node reachable from s has been
+    // settled, and returns the search space holding the result
+    private SearchSpace searchAll(int s, List<N> dests) {
+        boolean[] pending = new boolean[graph.size()];
+        int remaining = 0;
+        for (N dest : dests) {
+            if (graph.containsNode(dest) && !pending[graph.idOf(dest)]) {
+                pending[graph.idOf(dest)] = true;
+                remaining++;
+            }
+        }
+        SearchSpace space = spaces.get();
+        space.reset();
+        space.reach(s, 0, -1, -1);
+        space.heap.insertOrDecrease(s, 0);
+        while (remaining > 0 && !space.heap.isEmpty()) {
+            int u = space.heap.poll();
+            space.settle(u);
+            if (pending[u]) {
+                remaining--;
+            }
+            relax(space, u);
+        }
+        return space;
+    }
+
+    @Override
+    public int countSettled(N start, N dest) {
+        checkRep();
+        int s = graph.idOf(start);
+        SearchSpace space = spaces.get();
+        search(space, s, graph.containsNode(dest) ? graph.idOf(dest) : -1);
+        return space.settledCount();
+    }
+
+    /**
+     * Runs Dijkstra's Algorithm from s until t is settled or every node reachable from s has been settled.
+     * @param space The working memory of the search
+     * @param s The id of the start node
+     * @param t The id of the destination node, or -1 to settle every reachable node
+     * @return {@literal true} iff t was settled
+     */
+    boolean search(SearchSpace space, int s, int t) {
+        space.reset();
+        space.reach(s, 0, -1, -1);
+        space.heap.insertOrDecrease(s, 0);
+        while (!space.heap.isEmpty()) {
+            int u = space.heap.poll();
+            space.settle(u);
+            if (u == t) {
+                return true;
+            }
+            relax(space, u);
+        }
+        return false;
+    }
+
+    // reaches every unsettled child of the just settled node u through u, where that is shorter
+    private void relax(SearchSpace space, int u) {
+        double du = space.dist[u];
+        for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+            int v = graph.target(e);
+            double dv = du + graph.weight(e);
+            if (!space.isSettled(v) && dv < space.distance(v)) {
+                space.reach(v, dv, u, e);
+                space.heap.insertOrDecrease(v, dv);
+            }
+        }
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (graph == null || spaces == null) {
+            throw new RuntimeException("checkRep of IndexedDijkstras_Algorithm failure: null field");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package pathfinder;
+
+/**
+ * This interface is told how long each phase of finding a shortest path on a CampusMap took, so that the time spent
+ * on a request can be attributed to its phases.
+ */
+@FunctionalInterface
+public interface PhaseListener {
+
+    /**
+     * Checking that the building names of a request exist.
+     */
+    public static final String LOOKUP = "lookup";
+
+    /**
+     * Finding the graph nodes of the buildings of a request.
+     */
+    public static final String RESOLVE = "resolve";
+
+    /**
+     * Searching the graph for the shortest path.
+     */
+    public static final String SEARCH = "search";
+
+    /**
+     * A listener that ignores every phase.
+     */
+    public static final PhaseListener NONE = (phase, nanos) -> { };
+
+    /**
+     * Is told that a phase has finished. It may be called from many threads at once.
+     *
+     * @param phase The name of the phase, such as LOOKUP, RESOLVE or SEARCH
+     * @param nanos The nanoseconds the phase took
+     */
+    public void phaseCompleted(String phase, long nanos);
+}
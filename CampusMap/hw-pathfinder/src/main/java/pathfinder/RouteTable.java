@@ -0,0 +1,330 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Path;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * This represents an immutable table of the precomputed shortest routes between every ordered pair of a fixed set
+ * of named places on a frozen graph. Looking a route up costs time proportional to its length, independent of the
+ * size of the graph. Every route is stored as the sequence of node ids it visits together with its total cost, with
+ * the sequences of all routes packed into one array. A table can be written to a stream and read back, so it only has
+ * to be computed once per graph; the written form ends with a CRC-32 of everything before it, so a table that was
+ * cut short or damaged is rejected rather than read.
+ * @param <N> A type parameter to make the table generic on the nodes of its graph.
+ */
+public class RouteTable<N> {
+    // AF(this) = for the places names.get(0 .. k - 1), at nodes of graph with ids placeNodes[0 .. k - 1], the route
+    //            from place i to place j visits the node ids routeNodes[offsets[i * k + j] .. offsets[i * k + j + 1]]
+    //            in order and costs distances[i * k + j], or does not exist if that range is empty
+    // RI: graph != null, names != null, index != null, placeNodes != null, offsets != null, routeNodes != null,
+    //     distances != null; k == names.size() == placeNodes.length, offsets.length == k * k + 1,
+    //     distances.length == k * k, index.get(names.get(i)) == i, offsets is non-decreasing,
+    //     offsets[k * k] == routeNodes.length; every non-empty route from i to j starts at placeNodes[i] and ends at
+    //     placeNodes[j]; distances[i * k + j] is infinite iff the route from i to j is empty
+
+    // identifies the serialised form, and its version
+    private static final int MAGIC = 0x5254424C;
+    private static final int VERSION = 2;
+
+    // the most places a table may have, so that the k * k routes between them can be indexed by an int
+    private static final int MAX_PLACES = 46340;
+
+    private final CSRGraph<N> graph;
+    private final List<String> names;
+    private final Map<String, Integer> index;
+    private final int[] placeNodes;
+    private final int[] offsets;
+    private final int[] routeNodes;
+    private final double[] distances;
+
+    // takes over the given arrays
+    private RouteTable(CSRGraph<N> graph, List<String> names, int[] placeNodes, int[] offsets, int[] routeNodes,
+                       double[] distances) {
+        this.graph = graph;
+        this.names = Collections.unmodifiableList(names);
+        this.index = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            index.put(names.get(i), i);
+        }
+        this.placeNodes = placeNodes;
+        this.offsets = offsets;
+        this.routeNodes = routeNodes;
+        this.distances = distances;
+        checkRep();
+    }
+
+    /**
+     * Computes the shortest routes between every ordered pair of the given places, running one single-source
+     * Dijkstra's Algorithm per place in parallel.
+     * @param graph The frozen graph to find the routes on
+     * @param places A mapping from the name of each place to its node of graph
+     * @param <N> The type of the nodes of the graph
+     * @throws IllegalArgumentException if a place is not a node of graph
+     * @return The table of the shortest routes between all the places
+     */
+    public static <N> RouteTable<N> build(CSRGraph<N> graph, Map<String, N> places) {
+        List<String> names = new ArrayList<>(places.keySet());
+        Collections.sort(names);
+        int k = names.size();
+        int[] placeNodes = new int[k];
+        for (int i = 0; i < k; i++) {
+            placeNodes[i] = graph.idOf(places.get(names.get(i)));
+        }
+
+        IndexedDijkstras_Algorithm<N> dijkstra = new IndexedDijkstras_Algorithm<>(graph);
+        double[] distances = new double[k * k];
+        int[][] rows = new int[k][];
+        int[][] rowOffsets = new int[k][];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            SearchSpace space = new SearchSpace(graph.size());
+            dijkstra.search(space, placeNodes[i], -1);
+            // lay out the routes from place i, and the end of each of them within the row
+            int[] ends = new int[k];
+            int length = 0;
+            for (int j = 0; j < k; j++) {
+                int t = placeNodes[j];
+                if (space.isSettled(t)) {
+                    distances[i * k + j] = space.dist[t];
+                    length++;
+                    for (int v = t; space.parentEdge[v] >= 0; v = space.parent[v]) {
+                        length++;
+                    }
+                } else {
+                    distances[i * k + j] = Double.POSITIVE_INFINITY;
+                }
+                ends[j] = length;
+            }
+            int[] row = new int[length];
+            for (int j = 0; j < k; j++) {
+                int position = ends[j];
+                if (space.isSettled(placeNodes[j])) {
+                    int v = placeNodes[j];
+                    for (; space.parentEdge[v] >= 0; v = space.parent[v]) {
+                        row[--position] = v;
+                    }
+                    row[--position] = v;
+                }
+            }
+            rows[i] = row;
+            rowOffsets[i] = ends;
+        });
+
+        int[] offsets = new int[k * k + 1];
+        int total = 0;
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                offsets[i * k + j + 1] = total + rowOffsets[i][j];
+            }
+            total += rows[i].length;
+        }
+        int[] routeNodes = new int[total];
+        for (int i = 0; i < k; i++) {
+            System.arraycopy(rows[i], 0, routeNodes, offsets[i * k], rows[i].length);
+        }
+        return new RouteTable<>(graph, names, placeNodes, offsets, routeNodes, distances);
+    }
+
+    /**
+     * Reads a table written by write, for the same graph it was built on.
+     * @param in The stream to read the table from
+     * @param graph The frozen graph the table was built on
+     * @param <N> The type of the nodes of the graph
+     * @throws IOException if the stream cannot be read, does not hold a whole route table of this version, or holds
+     *                     a table that was built on a different graph
+     * @return The table read from in
+     */
+    public static <N> RouteTable<N> read(InputStream in, CSRGraph<N> graph) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream data = new DataInputStream(new CheckedInputStream(new BufferedInputStream(in), crc));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("read: not a route table of version " + VERSION);
+        }
+        if (data.readLong() != fingerprint(graph)) {
+            throw new IOException("read: route table was built on a different graph");
+        }
+        int k = data.readInt();
+        if (k < 0 || k > MAX_PLACES) {
+            throw new IOException("read: route table has an invalid number of places");
+        }
+        List<String> names = new ArrayList<>(k);
+        Set<String> distinct = new HashSet<>();
+        int[] placeNodes = new int[k];
+        for (int i = 0; i < k; i++) {
+            names.add(data.readUTF());
+            placeNodes[i] = data.readInt();
+            if (!distinct.add(names.get(i)) || placeNodes[i] < 0 || placeNodes[i] >= graph.size()) {
+                throw new IOException("read: route table has a repeated place or a place outside the graph");
+            }
+        }
+        int[] offsets = new int[k * k + 1];
+        double[] distances = new double[k * k];
+        for (int r = 0; r < k * k; r++) {
+            // a shortest route visits every node at most once
+            int length = data.readInt();
+            if (length < 0 || length > graph.size() || (long) offsets[r] + length > Integer.MAX_VALUE) {
+                throw new IOException("read: route table has an invalid route length");
+            }
+            offsets[r + 1] = offsets[r] + length;
+            distances[r] = data.readDouble();
+        }
+        int[] routeNodes = new int[offsets[k * k]];
+        for (int i = 0; i < routeNodes.length; i++) {
+            routeNodes[i] = data.readInt();
+            if (routeNodes[i] < 0 || routeNodes[i] >= graph.size()) {
+                throw new IOException("read: route table refers to a node outside the graph");
+            }
+        }
+        long checksum = crc.getValue();
+        if (data.readLong() != checksum) {
+            throw new IOException("read: route table fails its checksum");
+        }
+        for (int r = 0; r < k * k; r++) {
+            boolean empty = offsets[r] == offsets[r + 1];
+            boolean joins = empty || (routeNodes[offsets[r]] == placeNodes[r / k]
+                    && routeNodes[offsets[r + 1] - 1] == placeNodes[r % k]);
+            if (empty != (distances[r] == Double.POSITIVE_INFINITY) || !joins) {
+                throw new IOException("read: route table has a route that does not join its places");
+            }
+        }
+        return new RouteTable<>(graph, names, placeNodes, offsets, routeNodes, distances);
+    }
+
+    /**
+     * Writes this table to a stream, in a form that read turns back into an equal table.
+     * @param out The stream to write the table to
+     * @spec.modifies out
+     * @throws IOException if writing to out fails
+     */
+    public void write(OutputStream out) throws IOException {
+        checkRep();
+        CRC32 crc = new CRC32();
+        DataOutputStream data = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(out), crc));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeLong(fingerprint(graph));
+        data.writeInt(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            data.writeUTF(names.get(i));
+            data.writeInt(placeNodes[i]);
+        }
+        for (int r = 0; r < distances.length; r++) {
+            data.writeInt(offsets[r + 1] - offsets[r]);
+            data.writeDouble(distances[r]);
+        }
+        for (int v : routeNodes) {
+            data.writeInt(v);
+        }
+        data.writeLong(crc.getValue());
+        data.flush();
+    }
+
+    /**
+     * @return An unmodifiable list of the names of the places in this table, in sorted order.
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * @param name The name of a place
+     * @return {@literal true} iff this table has the routes from and to the place
+     */
+    public boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    /**
+     * Returns the cost of the shortest route between two places.
+     * @param start The name of the place the route starts at
+     * @param dest The name of the place the route ends at
+     * @throws IllegalArgumentException if start or dest is not a place of this table
+     * @return The cost of the shortest route, or positive infinity if there is none
+     */
+    public double distance(String start, String dest) {
+        checkRep();
+        return distances[row(start, dest)];
+    }
+
+    /**
+     * Returns the shortest route between two places. The returned Path is equal to the one Dijkstra's Algorithm
+     * finds between the two places.
+     * @param start The name of the place the route starts at
+     * @param dest The name of the place the route ends at
+     * @throws IllegalArgumentException if start or dest is not a place of this table
+     * @return The shortest route from start to dest, or null if there is none
+     */
+    public Path<N> route(String start, String dest) {
+        checkRep();
+        int r = row(start, dest);
+        if (offsets[r] == offsets[r + 1]) {
+            return null;
+        }
+        Path<N> path = new Path<>(graph.nodeOf(routeNodes[offsets[r]]));
+        for (int i = offsets[r] + 1; i < offsets[r + 1]; i++) {
+            path = path.extend(graph.nodeOf(routeNodes[i]), cheapestEdge(routeNodes[i - 1], routeNodes[i]));
+        }
+        return path;
+    }
+
+    // returns the position of the route from start to dest in offsets and distances
+    private int row(String start, String dest) {
+        Integer i = index.get(start);
+        Integer j = index.get(dest);
+        if (i == null || j == null) {
+            throw new IllegalArgumentException("start or dest is not a place of this route table");
+        }
+        return i * names.size() + j;
+    }
+
+    // returns the weight of the cheapest edge from u to v, which is the one every shortest path takes
+    private double cheapestEdge(int u, int v) {
+        double cheapest = Double.POSITIVE_INFINITY;
+        for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+            if (graph.target(e) == v) {
+                cheapest = Math.min(cheapest, graph.weight(e));
+            }
+        }
+        return cheapest;
+    }
+
+    // returns a checksum of the nodes and edges of graph, to detect a table being read for another graph
+    private static long fingerprint(CSRGraph<?> graph) {
+        CRC32 crc = new CRC32();
+        DataOutputStream data =
+                new DataOutputStream(new CheckedOutputStream(OutputStream.nullOutputStream(), crc));
+        try {
+            data.writeInt(graph.size());
+            data.writeInt(graph.edgeCount());
+            for (int v = 0; v < graph.size(); v++) {
+                data.writeInt(graph.nodeOf(v).hashCode());
+                for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                    data.writeInt(graph.target(e));
+                    data.writeDouble(graph.weight(e));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return crc.getValue();
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (graph == null || names == null || index == null || placeNodes == null || offsets == null
+                || routeNodes == null || distances == null) {
+            throw new RuntimeException("checkRep of RouteTable failure: null field");
+        }
+        int k = names.size();
+        if (placeNodes.length != k || offsets.length != k * k + 1 || distances.length != k * k
+                || offsets[k * k] != routeNodes.length) {
+            throw new RuntimeException("checkRep of RouteTable failure: inconsistent array lengths");
+        }
+    }
+}
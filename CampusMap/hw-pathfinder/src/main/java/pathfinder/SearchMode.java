@@ -0,0 +1,28 @@
+package pathfinder;
+
+/**
+ * The algorithms a CampusMap can use to find shortest paths.
+ */
+public enum SearchMode {
+    /**
+     * Dijkstra's Algorithm, which expands nodes in order of their distance from the start.
+     */
+    DIJKSTRA,
+
+    /**
+     * A* search, guided towards the destination by the Euclidean distance between points.
+     */
+    A_STAR,
+
+    /**
+     * Bidirectional Dijkstra's Algorithm, which searches forward from the start and backward from the
+     * destination at the same time.
+     */
+    BIDIRECTIONAL,
+
+    /**
+     * A query on a contraction hierarchy of the campus, which is preprocessed once so that each search only
+     * climbs from both ends towards the most important nodes.
+     */
+    CONTRACTION_HIERARCHIES
+}
@@ -0,0 +1,154 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.IndexedDHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.Arrays;
+
+/**
+ * This represents the mutable, reusable working memory of one search over a graph of a fixed size: tentative
+ * distances, the parent edge of every reached node, the settled flags and the frontier heap, all indexed by node id.
+ * Starting a new search is O(1), since reached and settled nodes are marked with a search stamp rather than cleared.
+ */
+class SearchSpace {
+    // AF(this) = for the current search, every node v with reached[v] == stamp has tentative distance dist[v],
+    //            and was last reached from node parent[v] over edge parentEdge[v] (or is a source if
+    //            parentEdge[v] == -1); node v is settled iff settled[v] == stamp; heap is the frontier;
+    //            settledCount nodes have been settled
+    // RI: all arrays have length heap.capacity(); stamp >= 0, and stamp == 0 only before the first reset()
+
+    /**
+     * The arity of the frontier heap. A 4-ary heap is shallower than a binary heap and keeps the children of a
+     * heap node in one cache line.
+     */
+    static final int HEAP_ARITY = 4;
+
+    final double[] dist;
+    final int[] parent;
+    final int[] parentEdge;
+    final IndexedDHeap heap;
+    private final int[] reached;
+    private final int[] settled;
+    private int stamp;
+    private int settledCount;
+
+    /**
+     * Creates the working memory for searches over a graph of the given size.
+     * @param size The number of nodes in the graph to be searched
+     */
+    SearchSpace(int size) {
+        dist = new double[size];
+        parent = new int[size];
+        parentEdge = new int[size];
+        reached = new int[size];
+        settled = new int[size];
+        heap = new IndexedDHeap(size, HEAP_ARITY);
+        stamp = 0;
+    }
+
+    /**
+     * Forgets everything about the previous search.
+     * @spec.modifies this
+     */
+    void reset() {
+        heap.clear();
+        settledCount = 0;
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * @param v A node id
+     * @return The tentative distance of v in the current search, or positive infinity if v has not been reached.
+     */
+    double distance(int v) {
+        return reached[v] == stamp ? dist[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param v A node id
+     * @return {@literal true} iff v has been reached in the current search.
+     */
+    boolean isReached(int v) {
+        return reached[v] == stamp;
+    }
+
+    /**
+     * Records that v is reachable with distance d, coming from node from over edge.
+     * @param v The node id that has been reached
+     * @param d The tentative distance of v
+     * @param from The node id v was reached from, or -1 for a source
+     * @param edge The edge index v was reached over, or -1 for a source
+     * @spec.modifies this
+     */
+    void reach(int v, double d, int from, int edge) {
+        reached[v] = stamp;
+        dist[v] = d;
+        parent[v] = from;
+        parentEdge[v] = edge;
+    }
+
+    /**
+     * @param v A node id
+     * @return {@literal true} iff v has been settled in the current search.
+     */
+    boolean isSettled(int v) {
+        return settled[v] == stamp;
+    }
+
+    /**
+     * Marks v as settled in the current search.
+     * @param v A node id
+     * @spec.modifies this
+     */
+    void settle(int v) {
+        settled[v] = stamp;
+        settledCount++;
+    }
+
+    /**
+     * @return The number of nodes settled in the current search.
+     */
+    int settledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Returns the ids of the edges on the path from a source of the current search to dest, in order from the source.
+     * @param dest A node id that has been reached in the current search
+     * @return The edges leading from the source to dest, empty if dest is the source itself
+     */
+    int[] edgesTo(int dest) {
+        int count = 0;
+        for (int v = dest; parentEdge[v] >= 0; v = parent[v]) {
+            count++;
+        }
+        int[] edges = new int[count];
+        for (int v = dest; parentEdge[v] >= 0; v = parent[v]) {
+            edges[--count] = parentEdge[v];
+        }
+        return edges;
+    }
+
+    /**
+     * Rebuilds the Path from start along the given edges. The cost of the path is accumulated segment by segment,
+     * exactly as it would be by extending the path edge by edge during the search.
+     * @param graph The graph the edges belong to
+     * @param start The node id the path starts at
+     * @param edges The edge indices of the path, in order
+     * @param <N> The type of the nodes of the graph
+     * @return The path from start along edges
+     */
+    static <N> Path<N> buildPath(CSRGraph<N> graph, int start, int[] edges) {
+        Path<N> path = new Path<>(graph.nodeOf(start));
+        for (int e : edges) {
+            path = path.extend(graph.nodeOf(graph.target(e)), graph.weight(e));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,32 @@
+package pathfinder;
+
+import pathfinder.datastructures.Path;
+
+/**
+ * This interface represents an algorithm that finds a minimum-cost path between two given nodes in a graph.
+ * @param <N> A type parameter to make the algorithm generic on its nodes.
+ */
+public interface ShortestPathFinder<N> {
+
+    /**
+     * Find a minimum-cost path between two given nodes of the graph
+     *
+     * @param start The start node of the path
+     * @param dest Then end node of the path
+     * @throws IllegalArgumentException if start does not exist in the graph
+     * @return A path from start node to end node that has minimum cost.
+     *          Or null if no path is found.
+     */
+    public Path<N> findMinCost(N start, N dest);
+
+    /**
+     * Counts the nodes that are settled while finding a minimum-cost path between two given nodes of the graph,
+     * which measures how much of the graph the search touches.
+     *
+     * @param start The start node of the path
+     * @param dest Then end node of the path
+     * @throws IllegalArgumentException if start does not exist in the graph
+     * @return The number of nodes settled by the search, including start and, if reachable, dest
+     */
+    public int countSettled(N start, N dest);
+}
@@ -0,0 +1,169 @@
+package pathfinder;
+
+import pathfinder.datastructures.IndexedDHeap;
+import pathfinder.datastructures.IntIntMap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.Arrays;
+
+/**
+ * This represents an immutable Dijkstra's Algorithm applied on a particular tiled graph, which finds a minimum-cost
+ * path between two given nodes while loading only the tiles its frontier reaches. Unlike IndexedDijkstras_Algorithm,
+ * it keeps no array over every node of the graph: the nodes a search reaches are given slots as they are reached, so
+ * both the tiles loaded and the working memory of a search follow the area it explores. The slots are found with a
+ * primitive map from node ids, and the frontier is an IndexedDHeap over slots that grows with them.
+ */
+public class TiledDijkstras_Algorithm implements ShortestPathFinder<Point> {
+    // AF(this) = graph that is applied of Dijkstra's Algorithm
+    // RI: this.graph != null
+    private final TiledGraph graph;
+
+    /**
+     * Creates the Dijkstra's Algorithm applied on a given tiled graph
+     * @param graph The tiled graph to apply on Dijkstra's Algorithm
+     */
+    public TiledDijkstras_Algorithm(TiledGraph graph) {
+        this.graph = graph;
+        checkRep();
+    }
+
+    /**
+     * Find a minimum-cost path between two given nodes of this using Dijkstra's Algorithm
+     *
+     * @param start The start node of the path
+     * @param dest Then end node of the path
+     * @throws IllegalArgumentException if start does not exist in the graph
+     * @throws java.io.UncheckedIOException if a tile the search reaches cannot be read
+     * @return A path from start node to end node that has minimum cost.
+     *          Or null if no path is found.
+     */
+    @Override
+    public Path<Point> findMinCost(Point start, Point dest) {
+        checkRep();
+        Search search = new Search();
+        int t = search.run(graph.idOf(start), graph.containsNode(dest) ? graph.idOf(dest) : -1);
+        checkRep();
+        return t < 0 ? null : search.pathTo(t);
+    }
+
+    @Override
+    public int countSettled(Point start, Point dest) {
+        checkRep();
+        Search search = new Search();
+        search.run(graph.idOf(start), graph.containsNode(dest) ? graph.idOf(dest) : -1);
+        checkRep();
+        return search.settledCount;
+    }
+
+    /**
+     * The working memory of one search, with a slot for every node it has reached, in the order they were reached.
+     */
+    private final class Search {
+        // AF(this) = the node with id ids[slot] has been reached with tentative distance dist[slot], from the node
+        //            of slot parent[slot] over an edge of weight weight[slot] (or is the source if parent[slot] ==
+        //            -1), is at (xs[slot], ys[slot]), and is settled iff settled[slot]; frontier holds the slots that
+        //            are reached but not settled, keyed by their tentative distances
+        // RI: slots maps ids[slot] to slot for each of the count slots; all arrays and the capacity of frontier are
+        //     >= count
+
+        private final IntIntMap slots = new IntIntMap();
+        private final IndexedDHeap frontier = new IndexedDHeap(16, SearchSpace.HEAP_ARITY);
+        private int[] ids = new int[16];
+        private double[] dist = new double[16];
+        private int[] parent = new int[16];
+        private double[] weight = new double[16];
+        private double[] xs = new double[16];
+        private double[] ys = new double[16];
+        private boolean[] settled = new boolean[16];
+        private int count;
+        private int settledCount;
+
+        // runs Dijkstra's Algorithm from node s until node t is settled or every node reachable from s has been
+        // settled, and returns the slot of t, or -1 if it was not settled
+        int run(int s, int t) {
+            TiledGraph.Tile tile = graph.tileOf(s);
+            reach(s, 0, -1, 0, tile.xs[s - tile.firstNode], tile.ys[s - tile.firstNode]);
+            while (!frontier.isEmpty()) {
+                int u = frontier.poll();
+                settled[u] = true;
+                settledCount++;
+                if (ids[u] == t) {
+                    return u;
+                }
+                // the edges of u are in the tile of u; its neighbours are usually in the same tile
+                int id = ids[u];
+                if (id < tile.firstNode || id >= tile.firstNode + tile.xs.length) {
+                    tile = graph.tileOf(id);
+                }
+                int local = id - tile.firstNode;
+                for (int j = tile.offsets[local]; j < tile.offsets[local + 1]; j++) {
+                    int target = tile.targets[j];
+                    double dv = dist[u] + tile.weights[j];
+                    int v = slots.get(target);
+                    if (v < 0) {
+                        TiledGraph.Tile targetTile = target >= tile.firstNode
+                                && target < tile.firstNode + tile.xs.length ? tile : graph.tileOf(target);
+                        int i = target - targetTile.firstNode;
+                        reach(target, dv, u, tile.weights[j], targetTile.xs[i], targetTile.ys[i]);
+                    } else if (!settled[v] && dv < dist[v]) {
+                        dist[v] = dv;
+                        parent[v] = u;
+                        weight[v] = tile.weights[j];
+                        frontier.insertOrDecrease(v, dv);
+                    }
+                }
+            }
+            return -1;
+        }
+
+        // gives the just reached node id a slot, and adds it to the frontier
+        private void reach(int id, double d, int from, double w, double x, double y) {
+            if (count == ids.length) {
+                int length = 2 * count;
+                ids = Arrays.copyOf(ids, length);
+                dist = Arrays.copyOf(dist, length);
+                parent = Arrays.copyOf(parent, length);
+                weight = Arrays.copyOf(weight, length);
+                xs = Arrays.copyOf(xs, length);
+                ys = Arrays.copyOf(ys, length);
+                settled = Arrays.copyOf(settled, length);
+                frontier.ensureCapacity(length);
+            }
+            ids[count] = id;
+            dist[count] = d;
+            parent[count] = from;
+            weight[count] = w;
+            xs[count] = x;
+            ys[count] = y;
+            slots.put(id, count);
+            frontier.insertOrDecrease(count, d);
+            count++;
+        }
+
+        // rebuilds the path from the source to the node of the given slot, accumulating its cost segment by segment
+        // as IndexedDijkstras_Algorithm does
+        Path<Point> pathTo(int slot) {
+            int length = 0;
+            for (int v = slot; parent[v] >= 0; v = parent[v]) {
+                length++;
+            }
+            int[] steps = new int[length];
+            for (int v = slot; parent[v] >= 0; v = parent[v]) {
+                steps[--length] = v;
+            }
+            Path<Point> path = new Path<>(new Point(xs[0], ys[0]));
+            for (int v : steps) {
+                path = path.extend(new Point(xs[v], ys[v]), weight[v]);
+            }
+            return path;
+        }
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (graph == null) {
+            throw new RuntimeException("checkRep of TiledDijkstras_Algorithm failure: graph = null");
+        }
+    }
+}
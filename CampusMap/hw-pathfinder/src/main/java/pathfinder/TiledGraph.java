@@ -0,0 +1,556 @@
+package pathfinder;
+
+import graph.CSRGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * This represents a frozen graph of points that is stored on disk in square spatial tiles and loaded a tile at a
+ * time, for path networks too large to keep in memory. Opening a tile file maps it into memory and reads only its
+ * directory; the nodes and edges of a tile are copied out of the file the first time a search needs them, and kept
+ * in a cache that evicts the least recently used tiles once their total size exceeds a budget. The memory a search
+ * uses therefore follows the area it explores, not the size of the network.
+ *
+ * <p>Nodes are numbered tile by tile, so the ids of the nodes of tile t are firstNode[t] .. firstNode[t + 1] - 1,
+ * and likewise for edges, which belong to the tile of their source node. Tile (column, row) covers the points whose
+ * x lies in [minX + column * tileSize, minX + (column + 1) * tileSize), and likewise for y, and has the index
+ * row * columns + column. The file is little-endian and laid out as
+ * <pre>
+ *   header     int magic "CPGT", int version, int nodes, int edges, int columns, int rows,
+ *              double minX, double minY, double tileSize
+ *   directory  int first node of each tile followed by the number of nodes, likewise the first edge of each tile,
+ *              int CRC-32 of the block of each tile
+ *   blocks     for each tile in order, doubles x of each node, y of each node, weight of each edge, then ints first
+ *              edge of each node relative to the tile followed by the number of edges, target node id of each edge
+ * </pre>
+ * Tiles are safe to load from many threads at once.
+ */
+public class TiledGraph {
+    // AF(this) = the graph of size nodes and edgeCount edges stored in image, whose tile t is tiles.get(t) if that is
+    //            loaded; tiles is ordered from least to most recently used; tiles have been loaded loads times and
+    //            evicted evictions times
+    // RI: image != null, firstNode != null, firstEdge != null, crcs != null, tiles != null, budgetBytes >= 0,
+    //     columns * rows == crcs.length, firstNode.length == firstEdge.length == crcs.length + 1,
+    //     loadedBytes == the sum of the bytes of the values of tiles, and loadedBytes <= budgetBytes unless tiles
+    //     holds a single tile
+
+    // identifies the file format, and its version
+    private static final int MAGIC = 0x54475043;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+
+    /**
+     * The most tiles a tile file may have, so that its directory stays small however finely a network is tiled.
+     */
+    public static final int MAX_TILES = 1 << 20;
+
+    private final ByteBuffer image;
+    private final int size;
+    private final int edgeCount;
+    private final int columns;
+    private final int rows;
+    private final double minX;
+    private final double minY;
+    private final double tileSize;
+    private final int[] firstNode;
+    private final int[] firstEdge;
+    private final int[] crcs;
+    private final long budgetBytes;
+    private final LinkedHashMap<Integer, Tile> tiles;
+    private long loadedBytes;
+    private long loads;
+    private long evictions;
+
+    // takes over the given buffer and arrays
+    private TiledGraph(ByteBuffer image, int size, int edgeCount, int columns, int rows, double minX, double minY,
+                       double tileSize, int[] firstNode, int[] firstEdge, int[] crcs, long budgetBytes) {
+        this.image = image;
+        this.size = size;
+        this.edgeCount = edgeCount;
+        this.columns = columns;
+        this.rows = rows;
+        this.minX = minX;
+        this.minY = minY;
+        this.tileSize = tileSize;
+        this.firstNode = firstNode;
+        this.firstEdge = firstEdge;
+        this.crcs = crcs;
+        this.budgetBytes = budgetBytes;
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true);
+        checkRep();
+    }
+
+    /**
+     * Writes a graph to a stream as a tile file.
+     * @param graph The graph to write
+     * @param tileSize The width and height of each tile, in the units of the coordinates of the nodes
+     * @param out The stream to write the tile file to
+     * @spec.modifies out
+     * @throws IllegalArgumentException if tileSize is not positive and finite, a node has a coordinate that is not
+     *                                  finite, or the graph spans more than MAX_TILES tiles
+     * @throws IOException if writing to out fails
+     */
+    public static void write(CSRGraph<Point> graph, double tileSize, OutputStream out) throws IOException {
+        if (!(tileSize > 0) || Double.isInfinite(tileSize)) {
+            throw new IllegalArgumentException("tileSize must be positive and finite");
+        }
+        int n = graph.size();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Point i : graph.getNodeList()) {
+            if (!Double.isFinite(i.getX()) || !Double.isFinite(i.getY())) {
+                throw new IllegalArgumentException("node " + i + " has a coordinate that is not finite");
+            }
+            minX = Math.min(minX, i.getX());
+            minY = Math.min(minY, i.getY());
+            maxX = Math.max(maxX, i.getX());
+            maxY = Math.max(maxY, i.getY());
+        }
+        if (n == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        double columns = Math.floor((maxX - minX) / tileSize) + 1;
+        double rows = Math.floor((maxY - minY) / tileSize) + 1;
+        if (columns * rows > MAX_TILES) {
+            throw new IllegalArgumentException("the graph spans more than " + MAX_TILES + " tiles of size " + tileSize);
+        }
+        int tileCount = (int) (columns * rows);
+
+        // number the nodes tile by tile, keeping the order of the nodes of each tile
+        int[] tileOf = new int[n];
+        int[] firstNode = new int[tileCount + 1];
+        for (int v = 0; v < n; v++) {
+            Point node = graph.nodeOf(v);
+            tileOf[v] = tileIndex(node.getX(), node.getY(), minX, minY, tileSize, (int) columns, (int) rows);
+            firstNode[tileOf[v] + 1]++;
+        }
+        for (int t = 0; t < tileCount; t++) {
+            firstNode[t + 1] += firstNode[t];
+        }
+        int[] newId = new int[n];
+        int[] order = new int[n];
+        int[] next = firstNode.clone();
+        for (int v = 0; v < n; v++) {
+            newId[v] = next[tileOf[v]]++;
+            order[newId[v]] = v;
+        }
+
+        int[] firstEdge = new int[tileCount + 1];
+        int[] crcs = new int[tileCount];
+        List<byte[]> blocks = new ArrayList<>(tileCount);
+        CRC32 crc = new CRC32();
+        for (int t = 0; t < tileCount; t++) {
+            int k = firstNode[t + 1] - firstNode[t];
+            int e = 0;
+            for (int i = firstNode[t]; i < firstNode[t + 1]; i++) {
+                e += graph.endEdge(order[i]) - graph.firstEdge(order[i]);
+            }
+            firstEdge[t + 1] = firstEdge[t] + e;
+            ByteBuffer block = ByteBuffer.allocate(blockBytes(k, e)).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = firstNode[t]; i < firstNode[t + 1]; i++) {
+                block.putDouble(graph.nodeOf(order[i]).getX());
+            }
+            for (int i = firstNode[t]; i < firstNode[t + 1]; i++) {
+                block.putDouble(graph.nodeOf(order[i]).getY());
+            }
+            for (int i = firstNode[t]; i < firstNode[t + 1]; i++) {
+                for (int edge = graph.firstEdge(order[i]); edge < graph.endEdge(order[i]); edge++) {
+                    block.putDouble(graph.weight(edge));
+                }
+            }
+            int offset = 0;
+            for (int i = firstNode[t]; i < firstNode[t + 1]; i++) {
+                block.putInt(offset);
+                offset += graph.endEdge(order[i]) - graph.firstEdge(order[i]);
+            }
+            block.putInt(offset);
+            for (int i = firstNode[t]; i < firstNode[t + 1]; i++) {
+                for (int edge = graph.firstEdge(order[i]); edge < graph.endEdge(order[i]); edge++) {
+                    block.putInt(newId[graph.target(edge)]);
+                }
+            }
+            crc.reset();
+            crc.update(block.array());
+            crcs[t] = (int) crc.getValue();
+            blocks.add(block.array());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + Integer.BYTES * (3 * tileCount + 2))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(graph.edgeCount()).putInt((int) columns)
+                .putInt((int) rows).putDouble(minX).putDouble(minY).putDouble(tileSize);
+        for (int i : firstNode) {
+            header.putInt(i);
+        }
+        for (int i : firstEdge) {
+            header.putInt(i);
+        }
+        for (int i : crcs) {
+            header.putInt(i);
+        }
+        out.write(header.array());
+        for (byte[] block : blocks) {
+            out.write(block);
+        }
+        out.flush();
+    }
+
+    /**
+     * Opens a tile file written by write by mapping it into memory, without loading any of its tiles.
+     * @param file The tile file
+     * @param budgetBytes The most bytes of loaded tiles to keep; the tile loaded last is kept even if it is larger
+     * @throws IllegalArgumentException if budgetBytes &lt; 0
+     * @throws IOException if the file cannot be read, or is not a tile file of this version
+     * @return The graph stored in file
+     */
+    public static TiledGraph open(Path file, long budgetBytes) throws IOException {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("budgetBytes must be >= 0");
+        }
+        ByteBuffer image;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("open: not a tile file");
+            }
+            image = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (image.getInt(0) != MAGIC || image.getInt(4) != VERSION) {
+            throw new IOException("open: not a tile file of version " + VERSION);
+        }
+        int n = image.getInt(8);
+        int m = image.getInt(12);
+        int columns = image.getInt(16);
+        int rows = image.getInt(20);
+        double minX = image.getDouble(24);
+        double minY = image.getDouble(32);
+        double tileSize = image.getDouble(40);
+        if (n < 0 || m < 0 || columns < 1 || rows < 1 || (long) columns * rows > MAX_TILES || !(tileSize > 0)
+                || !Double.isFinite(tileSize) || !Double.isFinite(minX) || !Double.isFinite(minY)) {
+            throw new IOException("open: tile file has an invalid header");
+        }
+        int tileCount = columns * rows;
+        long directoryEnd = HEADER_BYTES + (long) Integer.BYTES * (3 * tileCount + 2);
+        if (directoryEnd > image.capacity()) {
+            throw new IOException("open: tile file is truncated");
+        }
+        image.position(HEADER_BYTES);
+        int[] firstNode = new int[tileCount + 1];
+        int[] firstEdge = new int[tileCount + 1];
+        int[] crcs = new int[tileCount];
+        image.asIntBuffer().get(firstNode).get(firstEdge).get(crcs);
+        image.position(0);
+        for (int t = 0; t < tileCount; t++) {
+            if (firstNode[t] > firstNode[t + 1] || firstEdge[t] > firstEdge[t + 1]) {
+                throw new IOException("open: tile file has a malformed directory");
+            }
+        }
+        if (firstNode[0] != 0 || firstEdge[0] != 0 || firstNode[tileCount] != n || firstEdge[tileCount] != m
+                || directoryEnd + 20L * n + 12L * m + 4L * tileCount != image.capacity()) {
+            throw new IOException("open: tile file is truncated or has inconsistent sizes");
+        }
+        return new TiledGraph(image, n, m, columns, rows, minX, minY, tileSize, firstNode, firstEdge, crcs,
+                budgetBytes);
+    }
+
+    /**
+     * @return The number of nodes in this graph.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of edges in this graph.
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return The number of tiles this graph is stored in, including empty ones.
+     */
+    public int tileCount() {
+        return crcs.length;
+    }
+
+    /**
+     * Checks whether a point is a node of this graph, loading the tile it would be in.
+     * @param node The point to look for
+     * @throws UncheckedIOException if the tile cannot be read from the file
+     * @return {@literal true} iff node is a node of this graph
+     */
+    public boolean containsNode(Point node) {
+        return find(node) >= 0;
+    }
+
+    /**
+     * Returns the id of a node, loading its tile.
+     * @param node A node of this graph
+     * @throws IllegalArgumentException if node is not in this graph
+     * @throws UncheckedIOException if the tile cannot be read from the file
+     * @return The id of node
+     */
+    public int idOf(Point node) {
+        int id = find(node);
+        if (id < 0) {
+            throw new IllegalArgumentException("node " + node + " is not in the graph");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the node of an id, loading its tile.
+     * @param id The id of a node of this graph
+     * @throws IndexOutOfBoundsException if id is not in [0, size())
+     * @throws UncheckedIOException if the tile cannot be read from the file
+     * @return The node with the given id
+     */
+    public Point nodeOf(int id) {
+        Tile tile = tileOf(id);
+        return new Point(tile.xs[id - tile.firstNode], tile.ys[id - tile.firstNode]);
+    }
+
+    /**
+     * @return The number of tiles that are loaded.
+     */
+    public synchronized int loadedTiles() {
+        return tiles.size();
+    }
+
+    /**
+     * @return The total bytes of the tiles that are loaded.
+     */
+    public synchronized long loadedBytes() {
+        return loadedBytes;
+    }
+
+    /**
+     * @return The number of times a tile has been loaded from the file, including loads of evicted tiles again.
+     */
+    public synchronized long tileLoads() {
+        return loads;
+    }
+
+    /**
+     * @return The number of times a tile has been evicted to keep the loaded tiles within the budget.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the loaded tile holding a node, loading it first if it is not loaded.
+     * @param id The id of a node of this graph
+     * @throws IndexOutOfBoundsException if id is not in [0, size())
+     * @throws UncheckedIOException if the tile cannot be read from the file
+     * @spec.modifies this
+     * @spec.effects Marks the tile as most recently used, and loads it if needed, evicting least recently used tiles
+     *               until the budget holds again
+     * @return The tile holding the node with the given id
+     */
+    Tile tileOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("no node with id " + id);
+        }
+        // the last tile whose first node is at most id, skipping the empty tiles before it
+        int lo = 0;
+        int hi = crcs.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (firstNode[mid] <= id) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return tile(lo);
+    }
+
+    // returns the id of the node at the given point, or -1 if there is none
+    private int find(Point node) {
+        double x = node.getX();
+        double y = node.getY();
+        int t = tileIndex(x, y, minX, minY, tileSize, columns, rows);
+        if (t < 0 || firstNode[t] == firstNode[t + 1]) {
+            return -1;
+        }
+        Tile tile = tile(t);
+        for (int i = 0; i < tile.xs.length; i++) {
+            if (Double.compare(tile.xs[i], x) == 0 && Double.compare(tile.ys[i], y) == 0) {
+                return tile.firstNode + i;
+            }
+        }
+        return -1;
+    }
+
+    // returns tile t, loading it outside the lock if it is not loaded; concurrent misses may load it more than once
+    private Tile tile(int t) {
+        synchronized (this) {
+            Tile tile = tiles.get(t);
+            if (tile != null) {
+                return tile;
+            }
+        }
+        Tile tile = load(t);
+        synchronized (this) {
+            Tile previous = tiles.put(t, tile);
+            if (previous != null) {
+                loadedBytes -= previous.bytes;
+            }
+            loadedBytes += tile.bytes;
+            loads++;
+            Iterator<Map.Entry<Integer, Tile>> eldest = tiles.entrySet().iterator();
+            while (loadedBytes > budgetBytes && tiles.size() > 1) {
+                loadedBytes -= eldest.next().getValue().bytes;
+                eldest.remove();
+                evictions++;
+            }
+            checkRep();
+        }
+        return tile;
+    }
+
+    // copies tile t out of the file, checking it against its checksum and the sizes of the graph
+    private Tile load(int t) {
+        int k = firstNode[t + 1] - firstNode[t];
+        int e = firstEdge[t + 1] - firstEdge[t];
+        long start = HEADER_BYTES + (long) Integer.BYTES * (3 * crcs.length + 2) + 20L * firstNode[t]
+                + 12L * firstEdge[t] + 4L * t;
+        ByteBuffer block = image.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        block.position((int) start).limit((int) start + blockBytes(k, e));
+        CRC32 crc = new CRC32();
+        crc.update(block.duplicate());
+        if ((int) crc.getValue() != crcs[t]) {
+            throw new UncheckedIOException(new IOException("tile " + t + " fails its checksum"));
+        }
+        double[] xs = new double[k];
+        double[] ys = new double[k];
+        double[] weights = new double[e];
+        int[] offsets = new int[k + 1];
+        int[] targets = new int[e];
+        block.asDoubleBuffer().get(xs).get(ys).get(weights);
+        block.position(block.position() + Double.BYTES * (2 * k + e));
+        block.asIntBuffer().get(offsets).get(targets);
+        for (int i = 0; i < k; i++) {
+            if (offsets[i] > offsets[i + 1]) {
+                throw new UncheckedIOException(new IOException("tile " + t + " has decreasing offsets"));
+            }
+        }
+        if (offsets[0] != 0 || offsets[k] != e) {
+            throw new UncheckedIOException(new IOException("tile " + t + " has inconsistent offsets"));
+        }
+        for (int target : targets) {
+            if (target < 0 || target >= size) {
+                throw new UncheckedIOException(new IOException("tile " + t + " has an edge to a missing node"));
+            }
+        }
+        return new Tile(firstNode[t], firstEdge[t], xs, ys, offsets, targets, weights);
+    }
+
+    // returns the index of the tile of the given point, or -1 if it lies outside the grid
+    private static int tileIndex(double x, double y, double minX, double minY, double tileSize, int columns,
+                                 int rows) {
+        double column = Math.floor((x - minX) / tileSize);
+        double row = Math.floor((y - minY) / tileSize);
+        if (!(column >= 0 && column < columns && row >= 0 && row < rows)) {
+            return -1;
+        }
+        return (int) row * columns + (int) column;
+    }
+
+    // returns the size of the block of a tile with k nodes and e edges
+    private static int blockBytes(int k, int e) {
+        return Double.BYTES * (2 * k + e) + Integer.BYTES * (k + 1 + e);
+    }
+
+    /**
+     * Tiles the campus paths into a tile file, which replaces the file atomically.
+     * @param args The file to write the tiles to and the size of a tile, optionally followed by a directory to read
+     *             campus_paths.csv from instead of the classpath
+     * @throws IOException if the data cannot be read or the tiles cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: TiledGraph <tile file> <tile size> [campus data directory]");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[0]).toAbsolutePath();
+        double tileSize = Double.parseDouble(args[1]);
+        CSRGraph<Point> graph;
+        try (InputStream in = args.length == 3 ? Files.newInputStream(Paths.get(args[2], "campus_paths.csv"))
+                : CampusPathsParser.openResource("campus_paths.csv")) {
+            graph = CampusGraphBuilder.build(in.readAllBytes());
+        }
+        Files.createDirectories(output.getParent());
+        // each run writes a file of its own, so runs at the same time never write into one another's file
+        Path temporary = Files.createTempFile(output.getParent(), output.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                write(graph, tileSize, out);
+            }
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        System.out.println("Wrote " + graph.size() + " nodes and " + graph.edgeCount() + " edges to " + output);
+    }
+
+    // check if RI holds
+    // Only checks the fields and the budget, since summing the loaded tiles would make each load linear in them.
+    private void checkRep() {
+        if (image == null || firstNode == null || firstEdge == null || crcs == null || tiles == null) {
+            throw new RuntimeException("checkRep of TiledGraph failure: null field");
+        }
+        if (budgetBytes < 0 || (loadedBytes > budgetBytes && tiles.size() > 1)) {
+            throw new RuntimeException("checkRep of TiledGraph failure: loaded tiles exceed the budget");
+        }
+    }
+
+    /**
+     * This represents an immutable loaded tile: its nodes, numbered from firstNode, and their outgoing edges,
+     * numbered from firstEdge. The edges of node firstNode + i are firstEdge + offsets[i] .. firstEdge +
+     * offsets[i + 1] - 1, and edge firstEdge + j goes to node targets[j] and has weight weights[j].
+     */
+    static final class Tile {
+        final int firstNode;
+        final int firstEdge;
+        final double[] xs;
+        final double[] ys;
+        final int[] offsets;
+        final int[] targets;
+        final double[] weights;
+        // the heap this tile takes up, counting its arrays
+        final long bytes;
+
+        Tile(int firstNode, int firstEdge, double[] xs, double[] ys, int[] offsets, int[] targets,
+             double[] weights) {
+            this.firstNode = firstNode;
+            this.firstEdge = firstEdge;
+            this.xs = xs;
+            this.ys = ys;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.bytes = blockBytes(xs.length, weights.length);
+        }
+    }
+}
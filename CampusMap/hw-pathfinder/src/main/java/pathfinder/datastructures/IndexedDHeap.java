@@ -0,0 +1,205 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This represents a mutable indexed d-ary min-heap over the int ids [0, capacity), where each id in the heap has a
+ * double key. Unlike java.util.PriorityQueue, every id is in the heap at most once and its key can be lowered in
+ * place with decreaseKey, so a search never needs to push duplicate entries. The capacity can be raised with
+ * ensureCapacity, for searches that number the ids they reach as they go.
+ */
+public class IndexedDHeap {
+    // AF(this) = the ids heap[0 .. size - 1], each with key keys[id], ordered so that heap[0] has the minimum key
+    // RI: heap != null, pos != null, keys != null, arity >= 2, 0 <= size <= heap.length;
+    //     for all 0 <= p < size, pos[heap[p]] == p;
+    //     pos[id] == -1 for every id not in heap[0 .. size - 1];
+    //     for all 0 < p < size, keys[heap[(p - 1) / arity]] <= keys[heap[p]]
+
+    private final int arity;
+    private int[] heap;
+    private int[] pos;
+    private double[] keys;
+    private int size;
+
+    /**
+     * Creates a new, empty heap over the ids [0, capacity).
+     *
+     * @param capacity The number of distinct ids this heap can hold
+     * @param arity The number of children of every heap node
+     * @throws IllegalArgumentException if capacity &lt; 0 or arity &lt; 2
+     */
+    public IndexedDHeap(int capacity, int arity) {
+        if (capacity < 0 || arity < 2) {
+            throw new IllegalArgumentException("capacity must be >= 0 and arity must be >= 2");
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new double[capacity];
+        this.size = 0;
+        Arrays.fill(pos, -1);
+    }
+
+    /**
+     * @return The number of ids this heap can hold.
+     */
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Raises the capacity of this heap to at least the given capacity, keeping the ids in it and their keys. The
+     * capacity is at least doubled when it grows, so raising it one id at a time takes amortised constant time.
+     *
+     * @param capacity The number of distinct ids this heap must be able to hold
+     * @spec.modifies this
+     * @spec.effects capacity() &gt;= capacity
+     */
+    public void ensureCapacity(int capacity) {
+        int old = heap.length;
+        if (capacity <= old) {
+            return;
+        }
+        int length = (int) Math.min(Math.max(capacity, 2L * old), Integer.MAX_VALUE);
+        heap = Arrays.copyOf(heap, length);
+        pos = Arrays.copyOf(pos, length);
+        keys = Arrays.copyOf(keys, length);
+        Arrays.fill(pos, old, length, -1);
+    }
+
+    /**
+     * @return {@literal true} iff there are no ids in this heap.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param id An id in [0, capacity())
+     * @return {@literal true} iff id is in this heap.
+     */
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    /**
+     * @param id An id in this heap
+     * @return The current key of id.
+     */
+    public double keyOf(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Adds id to this heap with the given key, or lowers its key if it is already in the heap with a larger key.
+     *
+     * @param id An id in [0, capacity())
+     * @param key The key of id
+     * @return {@literal true} iff this heap changed.
+     * @spec.modifies this
+     */
+    public boolean insertOrDecrease(int id, double key) {
+        int p = pos[id];
+        if (p < 0) {
+            keys[id] = key;
+            heap[size] = id;
+            pos[id] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(p);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The id with the minimum key in this heap, without removing it.
+     * @throws NoSuchElementException if this heap is empty
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the minimum key in this heap.
+     *
+     * @return The id that had the minimum key in this heap
+     * @throws NoSuchElementException if this heap is empty
+     * @spec.modifies this
+     */
+    public int poll() {
+        int min = peek();
+        pos[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Removes every id from this heap, in time proportional to the number of ids currently in it.
+     *
+     * @spec.modifies this
+     */
+    public void clear() {
+        for (int p = 0; p < size; p++) {
+            pos[heap[p]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int p) {
+        int id = heap[p];
+        double key = keys[id];
+        while (p > 0) {
+            int parent = (p - 1) / arity;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[p] = parentId;
+            pos[parentId] = p;
+            p = parent;
+        }
+        heap[p] = id;
+        pos[id] = p;
+    }
+
+    private void siftDown(int p) {
+        int id = heap[p];
+        double key = keys[id];
+        while (true) {
+            int first = p * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int min = first;
+            int end = Math.min(first + arity, size);
+            for (int c = first + 1; c < end; c++) {
+                if (keys[heap[c]] < keys[heap[min]]) {
+                    min = c;
+                }
+            }
+            int minId = heap[min];
+            if (keys[minId] >= key) {
+                break;
+            }
+            heap[p] = minId;
+            pos[minId] = p;
+            p = min;
+        }
+        heap[p] = id;
+        pos[id] = p;
+    }
+}
@@ -0,0 +1,113 @@
+package pathfinder.datastructures;
+
+/**
+ * This represents a mutable map from int keys to non-negative int values. The entries are kept in an open-addressing
+ * hash table of primitive arrays, so, unlike a HashMap of Integer, neither a lookup nor a new entry allocates an
+ * object per key.
+ */
+public class IntIntMap {
+    // AF(this) = {keys[slot] -> slots[slot] - 1 : slots[slot] != 0}
+    // RI: keys != null, slots != null; keys.length == slots.length == 2^(32 - shift) is greater than 2 * size;
+    //     size is the number of nonzero slots, each of which holds a distinct key
+
+    private int[] keys;
+    private int[] slots;
+    private int shift;
+    private int size;
+
+    /**
+     * Creates a new, empty IntIntMap.
+     */
+    public IntIntMap() {
+        keys = new int[16];
+        slots = new int[16];
+        shift = 32 - 4;
+        checkRep();
+    }
+
+    /**
+     * Returns the value a key maps to.
+     * @param key The key to look up
+     * @return The value key maps to, or -1 if this map has no entry for key
+     */
+    public int get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key); slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Maps a key to a value, replacing any value it mapped to.
+     * @param key The key of the entry
+     * @param value The value of the entry
+     * @throws IllegalArgumentException if value &lt; 0 or value == Integer.MAX_VALUE
+     * @spec.modifies this
+     * @spec.effects Maps key to value
+     */
+    public void put(int key, int value) {
+        if (value < 0 || value == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("value must be in [0, Integer.MAX_VALUE)");
+        }
+        int mask = keys.length - 1;
+        int slot = slotOf(key);
+        while (slots[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (slots[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        slots[slot] = value + 1;
+        if (2 * size >= keys.length) {
+            rehash();
+        }
+    }
+
+    /**
+     * @return The number of entries in this map.
+     */
+    public int size() {
+        return size;
+    }
+
+    // doubles the hash table, placing every key again
+    private void rehash() {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new int[2 * oldKeys.length];
+        slots = new int[2 * oldSlots.length];
+        shift--;
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlots[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                slots[slot] = oldSlots[i];
+            }
+        }
+        checkRep();
+    }
+
+    // returns the home slot of a key with Fibonacci hashing, so consecutive keys spread over the table
+    private int slotOf(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    // check if RI holds
+    // Only checks sizes, since walking the table would make each call linear in the size of the table.
+    private void checkRep() {
+        if (keys == null || slots == null) {
+            throw new RuntimeException("checkRep of IntIntMap failure: null field");
+        }
+        if (keys.length != slots.length || keys.length != 1L << (32 - shift) || 2 * size >= keys.length) {
+            throw new RuntimeException("checkRep of IntIntMap failure: inconsistent array lengths");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package pathfinder.datastructures;
+
+import java.util.List;
+
+/**
+ * This represents an immutable 2-d tree over a fixed list of points, which finds the point nearest to any given
+ * coordinates in O(log n) expected time. Points are identified by their index in the list the tree was built from.
+ * The tree is balanced and stored implicitly in flat arrays: the root of the points at positions [lo, hi) is the
+ * median at position (lo + hi) / 2, which splits the rest by x at even depths and by y at odd depths.
+ */
+public class KdTree {
+    // AF(this) = the points (xs[p], ys[p]) with indices ids[p] for 0 <= p < ids.length
+    // RI: ids != null, xs != null, ys != null, ids.length == xs.length == ys.length;
+    //     for every subtree [lo, hi) of depth d with root m = (lo + hi) / 2, every position p in [lo, m) has
+    //     key(p, d) <= key(m, d), and every position p in (m, hi) has key(p, d) >= key(m, d),
+    //     where key(p, d) is xs[p] if d is even and ys[p] otherwise
+
+    private final int[] ids;
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * Creates a new KdTree over the given points.
+     * @param points The points to index, which are identified by their position in this list
+     * @throws IllegalArgumentException if points is null or contains null
+     */
+    public KdTree(List<Point> points) {
+        if (points == null || points.contains(null)) {
+            throw new IllegalArgumentException("points must not be null or contain null");
+        }
+        int n = points.size();
+        ids = new int[n];
+        xs = new double[n];
+        ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            xs[i] = points.get(i).getX();
+            ys[i] = points.get(i).getY();
+        }
+        build(0, n, 0);
+        checkRep();
+    }
+
+    /**
+     * @return The number of points in this tree.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds the point nearest to the given coordinates, by Euclidean distance.
+     * @param x The x coordinate to search from
+     * @param y The y coordinate to search from
+     * @return The index of a nearest point, or -1 if this tree is empty
+     */
+    public int nearest(double x, double y) {
+        if (ids.length == 0) {
+            return -1;
+        }
+        Nearest best = new Nearest();
+        nearest(0, ids.length, 0, x, y, best);
+        return ids[best.position];
+    }
+
+    // lays out the positions [lo, hi) as a subtree of the given depth
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int m = (lo + hi) >>> 1;
+        select(lo, hi, m, depth % 2 == 0 ? xs : ys);
+        build(lo, m, depth + 1);
+        build(m + 1, hi, depth + 1);
+    }
+
+    // moves the point with the k-th smallest key into position k, with no larger key before it and no smaller key
+    // after it, within positions [lo, hi)
+    private void select(int lo, int hi, int k, double[] keys) {
+        hi--;
+        while (lo < hi) {
+            double pivot = keys[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int p, int q) {
+        int id = ids[p];
+        ids[p] = ids[q];
+        ids[q] = id;
+        double x = xs[p];
+        xs[p] = xs[q];
+        xs[q] = x;
+        double y = ys[p];
+        ys[p] = ys[q];
+        ys[q] = y;
+    }
+
+    // updates best with the nearest point to (x, y) within the subtree [lo, hi) of depth depth
+    private void nearest(int lo, int hi, int depth, double x, double y, Nearest best) {
+        if (lo >= hi) {
+            return;
+        }
+        int m = (lo + hi) >>> 1;
+        double dx = xs[m] - x;
+        double dy = ys[m] - y;
+        double d = dx * dx + dy * dy;
+        if (d < best.squaredDistance) {
+            best.squaredDistance = d;
+            best.position = m;
+        }
+        double gap = depth % 2 == 0 ? x - xs[m] : y - ys[m];
+        // search the side of the splitting line holding (x, y) first, then the other side only if it may be closer
+        if (gap < 0) {
+            nearest(lo, m, depth + 1, x, y, best);
+            if (gap * gap < best.squaredDistance) {
+                nearest(m + 1, hi, depth + 1, x, y, best);
+            }
+        } else {
+            nearest(m + 1, hi, depth + 1, x, y, best);
+            if (gap * gap < best.squaredDistance) {
+                nearest(lo, m, depth + 1, x, y, best);
+            }
+        }
+    }
+
+    // check if RI holds
+    private void checkRep() {
+        if (ids == null || xs == null || ys == null) {
+            throw new RuntimeException("checkRep of KdTree failure: null field");
+        }
+        if (ids.length != xs.length || ids.length != ys.length) {
+            throw new RuntimeException("checkRep of KdTree failure: inconsistent array lengths");
+        }
+    }
+
+    /**
+     * The best candidate found so far by a nearest point search.
+     */
+    private static class Nearest {
+        int position = -1;
+        double squaredDistance = Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2022 Kevin Zatloukal.  All rights reserved.  Permission is
+ * hereby granted to students registered for University of Washington
+ * CSE 331 for use solely during Spring Quarter 2022 for purposes of
+ * the course.  No other use, copying, distribution, or modification
+ * is permitted without prior written consent. Copyrights for
+ * third-party components of this work must be honored.  Instructors
+ * interested in reusing these course materials should contact the
+ * author.
+ */
+
+package pathfinder.datastructures;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * This represents an immutable path between two cartesian coordinate points, particularly
+ * Path#getStart() and Path#getEnd(). Also contains a cached
+ * version of the total cost along this path, for efficient repeated access.
+ * @param <T> A type parameter to make Path generic
+ */
+public class Path<T> implements Iterable<Path<T>.Segment> {
+
+    // AF(this) =
+    //      first node in the path => start
+    //      each "step" along the path between nodes => the steps of prefix, followed by last, the
+    //          final step from an intermediate node to the end (no steps if prefix == null)
+    //      total cost along the path => cost
+    //      the destination node in this path, opposite the start node => getEnd()
+    //
+    //  Paths are persistent: extending a path shares it as the prefix of the new path instead of
+    //  copying its segments, so extend is O(1). The full list of segments is only materialised
+    //  (and then cached in path) when it is iterated or compared.
+
+    // Rep Invariant:
+    //      cost >= 0 &&
+    //      Double.isFinite(cost) &&
+    //      start != null &&
+    //      (prefix == null) == (last == null) &&
+    //      size == (prefix == null ? 0 : prefix.size + 1) &&
+    //      (path == null || path.size() == size)
+
+    /**
+     * The total cost along all the segments in this path.
+     */
+    private final double cost;
+
+    /**
+     * The node at the beginning of this path.
+     */
+    private final T start;
+
+    /**
+     * The path this path extends by one segment, or null if this path has no segments.
+     */
+    private final transient Path<T> prefix;
+
+    /**
+     * The final segment of this path, or null if this path has no segments.
+     */
+    private final transient Segment last;
+
+    /**
+     * The number of segments in this path.
+     */
+    private final transient int size;
+
+    /**
+     * The ordered sequence of segments representing a path between points, or null until it is
+     * first needed.
+     */
+    private transient volatile List<Segment> path;
+
+    /**
+     * Creates a new, empty path containing a start node. Essentially this represents a path
+     * from the start node to itself with a total cost of "0".
+     *
+     * @param start The starting node of the path.
+     */
+    public Path(T start) {
+        this.start = start;
+        this.cost = 0;
+        this.prefix = null;
+        this.last = null;
+        this.size = 0;
+        this.path = Collections.emptyList();
+        checkRep();
+    }
+
+    /**
+     * Creates a new path that is prefix followed by one more segment to newEnd.
+     *
+     * @param prefix      The path being extended.
+     * @param newEnd      The node at the end of the segment being appended to prefix.
+     * @param segmentCost The cost of the segment being appended to prefix.
+     */
+    private Path(Path<T> prefix, T newEnd, double segmentCost) {
+        this.start = prefix.start;
+        this.prefix = prefix;
+        this.last = new Segment(prefix.getEnd(), newEnd, segmentCost);
+        this.size = prefix.size + 1;
+        this.cost = prefix.cost + segmentCost;
+        this.path = null;
+        checkRep();
+    }
+
+    /**
+     * Appends a new single segment to the end of this path, originating at the current last node
+     * in this path and terminating at {@code newEnd}. The cost of adding this additional segment
+     * to the existing path is {@code segmentCost}. Thus, the returned Path represents a path
+     * from {@code this.getStart()} to {@code newEnd}, with a cost of {@code this.getCost() +
+     * segmentCost}.
+     *
+     * @param newEnd      The node being added at the end of the segment being appended to this path
+     * @param segmentCost The cost of the segment being added to the end of this path.
+     * @return A new path representing the current path with the given segment appended to the end.
+     */
+    public Path<T> extend(T newEnd, double segmentCost) {
+        checkRep();
+        return new Path<>(this, newEnd, segmentCost);
+    }
+
+    /**
+     * @return The total cost along this path.
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @return The node at the beginning of this path.
+     */
+    public T getStart() {
+        return start;
+    }
+
+    /**
+     * @return The node at the end of this path, which may be the start node if this path
+     * contains no segments (i.e. this path is from the start node to itself).
+     */
+    public T getEnd() {
+        if(last == null) {
+            return start;
+        }
+        return last.getEnd();
+    }
+
+    /**
+     * @return An iterator of the segments in this path, in order, beginning from the starting
+     * node and ending at the end node. In the case that this path represents a path between
+     * the start node and itself, this iterator contains no elements. This iterator does not
+     * support the optional Iterator#remove() operation and will throw an
+     * UnsupportedOperationException if Iterator#remove() is called.
+     */
+    @Override
+    public Iterator<Path<T>.Segment> iterator() {
+        // Create a wrapping iterator to guarantee exceptional behavior on Iterator#remove.
+        return new Iterator<>() {
+
+            private Iterator<Path<T>.Segment> backingIterator = segments().iterator();
+
+            @Override
+            public boolean hasNext() {
+                return backingIterator.hasNext();
+            }
+
+            @Override
+            public Path<T>.Segment next() {
+                return backingIterator.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Paths may not be modified.");
+            }
+        };
+    }
+
+    /**
+     * Returns the segments of this path in order, materialising and caching them on first use.
+     * The prefix chain is walked iteratively, so long paths cannot overflow the stack.
+     *
+     * @return An unmodifiable list of the segments of this path, in order.
+     */
+    private List<Segment> segments() {
+        List<Segment> segments = path;
+        if(segments == null) {
+            List<Segment> list = new ArrayList<>(Collections.nCopies(size, (Segment) null));
+            for(Path<T> p = this; p.last != null; p = p.prefix) {
+                list.set(p.size - 1, p.last);
+            }
+            segments = Collections.unmodifiableList(list);
+            path = segments;
+        }
+        return segments;
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation. This runs in constant time, so that extend stays O(1).
+     */
+    private void checkRep() {
+        assert cost >= 0;
+        assert Double.isFinite(cost);
+        assert start != null;
+        assert (prefix == null) == (last == null);
+        assert size == (prefix == null ? 0 : prefix.size + 1);
+    }
+
+    /**
+     * Checks this path for equality with another object. Two paths are equal if and only if
+     * they contain exactly the same sequence of segments in the same order. In the case that
+     * both paths are empty, they are only equal if their starting node is equal.
+     *
+     * @param obj The object to compare with {@code this}.
+     * @return {@literal true} if and only if {@code obj} is equal to {@code this}.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj) {
+            return true;
+        }
+        if(!(obj instanceof Path)) {
+            return false;
+        }
+        Path<?> other = (Path<?>) obj;
+        if(this.size != other.size) {
+            return false;
+        }
+        if(this.size == 0 && !this.start.equals(other.start)) {
+            return false;
+        }
+        return this.segments().equals(other.segments());
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * start.hashCode()) + segments().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(start.toString());
+        for(Segment segment : segments()) {
+            sb.append(" =(");
+            sb.append(String.format("%.3f", segment.getCost()));
+            sb.append(")=> ");
+            sb.append(segment.getEnd().toString());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Segment represents a single segment as part of a longer, more complex path between points.
+     * Segments are immutable parts of a larger path that cannot be instantiated directly, and
+     * are created as part of larger paths by calling Path#extend(node, double).
+     */
+    public class Segment {
+
+        // AF(this) = the beginning of the path segment => start
+        //            the end of the path segment => end
+        //            the cost of travelling along this segment => cost
+
+        // Rep. Invariant = start != null
+        //                  && end != null
+        //                  && Double.isFinite(cost)
+
+        /**
+         * The beginning of this segment.
+         */
+        private final T start;
+
+        /**
+         * The end of this segment.
+         */
+        private final T end;
+
+        /**
+         * The cost of travelling this segment.
+         */
+        private final double cost;
+
+        /**
+         * Constructs a new segment with the provided characteristics.
+         *
+         * @param start The starting node of this segment.
+         * @param end   The ending node of this segment.
+         * @param cost  The cost of travelling this segment.
+         * @throws NullPointerException     if either node is null.
+         * @throws IllegalArgumentException if cost is infinite or NaN
+         */
+        private Segment(T start, T end, double cost) {
+            if(start == null || end == null) {
+                throw new NullPointerException("Segments cannot have null points.");
+            }
+            if(!Double.isFinite(cost)) {
+                throw new IllegalArgumentException("Segment cost may not be NaN or infinite.");
+            }
+            this.start = start;
+            this.end = end;
+            this.cost = cost;
+            // checkRep not necessary: it's impossible for this constructor to create a Segment that
+            // violates the rep invariant because of the exception check, and all fields are final
+            // and immutable themselves.
+        }
+
+        /**
+         * @return The beginning node of this segment.
+         */
+        public T getStart() {
+            // Note: Since Points are immutable, this isn't rep exposure.
+            return this.start;
+        }
+
+        /**
+         * @return The ending node of this segment.
+         */
+        public T getEnd() {
+            return this.end;
+        }
+
+        /**
+         * @return The cost of this segment.
+         */
+        public double getCost() {
+            return this.cost;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("[");
+            sb.append(start.toString());
+            sb.append(" -> ");
+            sb.append(end.toString());
+            sb.append(" (");
+            sb.append(String.format("%.3f", cost));
+            sb.append(")]");
+            return sb.toString();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if(!(obj instanceof Path<?>.Segment)) {
+                return false;
+            }
+            Path<?>.Segment other = (Path<?>.Segment) obj;
+            return other.getStart().equals(this.getStart())
+                   && other.getEnd().equals(this.getEnd())
+                   && (Double.compare(this.cost, other.cost) == 0);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = start.hashCode();
+            result += (31 * result) + end.hashCode();
+            result += (31 * result) + Double.hashCode(cost);
+            return result;
+        }
+
+    }
+}
@@ -0,0 +1,198 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * This represents a mutable table that interns points, giving every distinct point a dense id in the order it is
+ * first added. Each coordinate is rounded to the nearest step of a grid with a given number of steps per unit, and
+ * two points are the same point iff both their coordinates round to the same steps. The two quantised coordinates of
+ * a point are packed into one long key, which is looked up in an open-addressing hash table of primitive arrays, so
+ * adding a point allocates nothing.
+ *
+ * <p>The step must suit the points: points meant to be distinct must differ by at least one step in some coordinate,
+ * or they may be merged, and points meant to be the same, differing only by floating-point noise, must not have a
+ * coordinate within that noise of halfway between two steps, or they may be split.
+ */
+public class PointTable {
+    // AF(this) = the points with ids 0 .. size - 1, where point id was first added as (xs[id], ys[id]) and the
+    //            points of its grid cell have key keys[slot] for the one slot with slots[slot] == id + 1
+    // RI: keys != null, slots != null, xs != null, ys != null; keys.length == slots.length == 2^(64 - shift)
+    //     is greater than 2 * size; xs.length == ys.length >= size; slots holds each of 1 .. size exactly once and is
+    //     0 elsewhere; stepsPerUnit is positive and finite
+
+    private final double stepsPerUnit;
+    private long[] keys;
+    private int[] slots;
+    private int shift;
+    private double[] xs;
+    private double[] ys;
+    private int size;
+
+    /**
+     * Creates a new, empty PointTable. Coordinates must lie within Integer.MAX_VALUE steps of 0.
+     * @param stepsPerUnit The number of grid steps per unit of the coordinates
+     * @throws IllegalArgumentException if stepsPerUnit is not positive and finite
+     */
+    public PointTable(double stepsPerUnit) {
+        if (!(stepsPerUnit > 0) || Double.isInfinite(stepsPerUnit)) {
+            throw new IllegalArgumentException("steps per unit must be positive and finite");
+        }
+        this.stepsPerUnit = stepsPerUnit;
+        keys = new long[16];
+        slots = new int[16];
+        shift = 64 - 4;
+        xs = new double[8];
+        ys = new double[8];
+        checkRep();
+    }
+
+    /**
+     * Returns the packed key of the grid cell of the given coordinates, which is the same for two points iff they
+     * are interned as the same point.
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @throws IllegalArgumentException if a coordinate is not finite or lies outside the grid
+     * @return The quantised x coordinate in the high 32 bits, and the quantised y coordinate in the low 32 bits
+     */
+    public long key(double x, double y) {
+        return quantise(x) << 32 | (quantise(y) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the id of a point, adding it to this table if no point of its grid cell has been added yet.
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @throws IllegalArgumentException if a coordinate is not finite or lies outside the grid
+     * @spec.modifies this
+     * @spec.effects Adds (x, y) with the id size() if no point of its grid cell is in this table
+     * @return The id of the point of this table in the grid cell of (x, y)
+     */
+    public int intern(double x, double y) {
+        long key = key(x, y);
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            if (slots[slot] == 0) {
+                return add(slot, key, x, y);
+            }
+            if (keys[slot] == key) {
+                return slots[slot] - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the id of a point.
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @throws IllegalArgumentException if a coordinate is not finite or lies outside the grid
+     * @return The id of the point of this table in the grid cell of (x, y), or -1 if there is none
+     */
+    public int indexOf(double x, double y) {
+        long key = key(x, y);
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key); slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The number of distinct points in this table.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the x coordinate a point was first added with.
+     * @param id The id of a point of this table
+     * @throws IndexOutOfBoundsException if id is not in [0, size())
+     * @return The x coordinate of the point
+     */
+    public double getX(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("no point with id " + id);
+        }
+        return xs[id];
+    }
+
+    /**
+     * Returns the y coordinate a point was first added with.
+     * @param id The id of a point of this table
+     * @throws IndexOutOfBoundsException if id is not in [0, size())
+     * @return The y coordinate of the point
+     */
+    public double getY(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("no point with id " + id);
+        }
+        return ys[id];
+    }
+
+    // adds a point with the given key in the given free slot, returning its id
+    private int add(int slot, long key, double x, double y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, 2 * size);
+            ys = Arrays.copyOf(ys, 2 * size);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        keys[slot] = key;
+        slots[slot] = ++size;
+        if (2 * size >= keys.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    // doubles the hash table, placing every key again
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[2 * oldKeys.length];
+        slots = new int[2 * oldSlots.length];
+        shift--;
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlots[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                slots[slot] = oldSlots[i];
+            }
+        }
+    }
+
+    // returns the home slot of a key, spreading the bits of both coordinates over the slot with Fibonacci hashing
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    // returns a coordinate in grid steps
+    private long quantise(double coordinate) {
+        double steps = Math.rint(coordinate * stepsPerUnit);
+        if (!(Math.abs(steps) <= Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("coordinate " + coordinate + " is not finite or lies outside the grid");
+        }
+        return (long) steps;
+    }
+
+    // check if RI holds
+    // Only checks sizes, since walking the table would make each call linear in the size of the table.
+    private void checkRep() {
+        if (keys == null || slots == null || xs == null || ys == null) {
+            throw new RuntimeException("checkRep of PointTable failure: null field");
+        }
+        if (!(stepsPerUnit > 0) || Double.isInfinite(stepsPerUnit)) {
+            throw new RuntimeException("checkRep of PointTable failure: bad steps per unit");
+        }
+        if (keys.length != slots.length || keys.length != 1L << (64 - shift) || 2 * size >= keys.length
+                || xs.length != ys.length || xs.length < size) {
+            throw new RuntimeException("checkRep of PointTable failure: inconsistent array lengths");
+        }
+    }
+}
@@ -0,0 +1,2 @@
+/** Data structures used by the Pathfinder program */
+package pathfinder.datastructures;
@@ -0,0 +1,479 @@
+/*
+ * Copyright (C) 2022 Kevin Zatloukal.  All rights reserved.  Permission is
+ * hereby granted to students registered for University of Washington
+ * CSE 331 for use solely during Spring Quarter 2022 for purposes of
+ * the course.  No other use, copying, distribution, or modification
+ * is permitted without prior written consent. Copyrights for
+ * third-party components of this work must be honored.  Instructors
+ * interested in reusing these course materials should contact the
+ * author.
+ */
+
+package pathfinder.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A utility class capable of parsing data in campus buildings and
+ * campus paths files in their expected formats.
+ */
+public class CampusPathsParser {
+
+    /**
+     * The most digits after the decimal point of a number that is parsed in place. 5 to this power still leaves room
+     * to shift the remainder of a long division by it left by one bit.
+     */
+    private static final int MAX_SCALE = 26;
+
+    /**
+     * The powers of ten that are exactly doubles.
+     */
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    /**
+     * The powers of five up to MAX_SCALE.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = 10 * POWERS_OF_TEN[i - 1];
+        }
+        POWERS_OF_FIVE[0] = 1;
+        for (int i = 1; i < POWERS_OF_FIVE.length; i++) {
+            POWERS_OF_FIVE[i] = 5 * POWERS_OF_FIVE[i - 1];
+        }
+    }
+
+    /**
+     * Parses the campus buildings file (in src/main/resources/data/) and
+     * returns a list of objects containing all the data in that file.
+     *
+     * @param file The simple filename of a campus buildings file to parse.
+     * @return A {@link List} of {@link CampusBuilding} objects, one for each
+     * line in the parsed file, containing the data contained within that line.
+     * @throws ParserException if the file cannot be found or parsed as expected
+     */
+    public static List<CampusBuilding> parseCampusBuildings(String file) {
+        return parseCampusBuildings(openResource(file));
+    }
+
+    /**
+     * Parses campus buildings data in the format of the campus buildings file
+     * and returns a list of objects containing all the data in it.
+     *
+     * @param data The campus buildings data, which is read to its end and closed.
+     * @return A {@link List} of {@link CampusBuilding} objects, one for each
+     * line of the data, containing the data contained within that line.
+     * @throws ParserException if the data cannot be read or parsed as expected
+     */
+    public static List<CampusBuilding> parseCampusBuildings(InputStream data) {
+        List<CampusBuilding> buildings = new ArrayList<>();
+        List<String> lines = readLines(data);
+        //
+        for (String line : lines) {
+            String[] fields = line.split(",");
+            if (fields.length != 4) {
+                throw new ParserException("Wrong number of fields in line.");
+            }
+            String shortName = fields[0];
+            String longName = fields[1];
+            double x, y;
+            try {
+                x = Double.parseDouble(fields[2]);
+                y = Double.parseDouble(fields[3]);
+            } catch (NumberFormatException e) {
+                throw new ParserException("Cannot parse x/y coordinates as numbers", e);
+            }
+            //
+            buildings.add(new CampusBuilding(shortName, longName, x, y));
+        }
+        //
+        return buildings;
+    }
+
+    /**
+     * Parses the campus paths file (in src/main/resources/data/) and
+     * returns a list of objects containing all the data in that file.
+     *
+     * @param file The simple filename of a campus paths file to parse.
+     * @return A {@link List} of {@link CampusPath} objects, one for each
+     * line in the parsed file, containing the data contained within that line.
+     * @throws ParserException if the file cannot be found or parsed as expected
+     */
+    public static List<CampusPath> parseCampusPaths(String file) {
+        return parseCampusPaths(openResource(file));
+    }
+
+    /**
+     * Parses campus paths data in the format of the campus paths file and
+     * returns a list of objects containing all the data in it.
+     *
+     * @param data The campus paths data, which is read to its end and closed.
+     * @return A {@link List} of {@link CampusPath} objects, one for each
+     * line of the data, containing the data contained within that line.
+     * @throws ParserException if the data cannot be read or parsed as expected
+     */
+    public static List<CampusPath> parseCampusPaths(InputStream data) {
+        List<CampusPath> paths = new ArrayList<>();
+        List<String> lines = readLines(data);
+        //
+        for (String line : lines) {
+            String[] fields = line.split(",");
+            if (fields.length != 5) {
+                throw new ParserException("Wrong number of fields in line");
+            }
+            double x1, x2, y1, y2, distance;
+            try {
+                x1 = Double.parseDouble(fields[0]);
+                y1 = Double.parseDouble(fields[1]);
+                x2 = Double.parseDouble(fields[2]);
+                y2 = Double.parseDouble(fields[3]);
+                distance = Double.parseDouble(fields[4]);
+            } catch (NumberFormatException e) {
+                throw new ParserException("Cannot parse x/y coordinates as numbers", e);
+            }
+            //
+            paths.add(new CampusPath(x1, y1, x2, y2, distance));
+        }
+        //
+        return paths;
+    }
+
+    /**
+     * Parses the campus paths file (in src/main/resources/data/) and passes
+     * the data of each line to a consumer as soon as it is parsed.
+     *
+     * @param file The simple filename of a campus paths file to parse.
+     * @param consumer Is given the data of each line of the file, in order.
+     * @throws ParserException if the file cannot be found or parsed as expected
+     */
+    public static void streamCampusPaths(String file, PathConsumer consumer) {
+        streamCampusPaths(openResource(file), consumer);
+    }
+
+    /**
+     * Parses campus paths data in the format of the campus paths file and
+     * passes the data of each line to a consumer as soon as it is parsed. The
+     * data is read in blocks and its numbers are parsed where they lie in the
+     * block, without creating a String or CampusPath for each line, so large
+     * files are parsed about as fast as they can be read.
+     *
+     * @param data The campus paths data, which is read to its end and closed.
+     * @param consumer Is given the data of each line of the data, in order.
+     * @throws ParserException if the data cannot be read or parsed as expected
+     */
+    public static void streamCampusPaths(InputStream data, PathConsumer consumer) {
+        double[] fields = new double[5];
+        try (InputStream stream = data) {
+            byte[] buffer = new byte[1 << 16];
+            int limit = 0;
+            while (true) {
+                int read = stream.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    if (limit > 0) {
+                        parseLine(buffer, 0, limit, fields, consumer);
+                    }
+                    return;
+                }
+                limit += read;
+                int start = parseLines(buffer, 0, limit, fields, consumer);
+                // move the partial line to the front of the buffer, growing it if the line fills it
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                limit -= start;
+                if (limit == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                }
+            }
+        } catch (IOException e) {
+            throw new ParserException("Cannot read data", e);
+        }
+    }
+
+    /**
+     * Parses the lines of campus paths data in a range of a byte array and
+     * passes the data of each line to a consumer as soon as it is parsed. A
+     * file split into ranges just after newlines can have its ranges parsed
+     * in parallel, each with its own consumer.
+     *
+     * @param data Holds the campus paths data.
+     * @param from The index in data of the start of the first line of the range.
+     * @param to The index in data after the end of the range, which ends with
+     *           a newline or at the end of the data.
+     * @param consumer Is given the data of each line of the range, in order.
+     * @throws IllegalArgumentException if from and to are not a range of data
+     * @throws ParserException if the data cannot be parsed as expected
+     */
+    public static void streamCampusPaths(byte[] data, int from, int to, PathConsumer consumer) {
+        if (from < 0 || from > to || to > data.length) {
+            throw new IllegalArgumentException("from and to are not a range of data");
+        }
+        double[] fields = new double[5];
+        int start = parseLines(data, from, to, fields, consumer);
+        if (start < to) {
+            parseLine(data, start, to, fields, consumer);
+        }
+    }
+
+    /**
+     * Parses every line that ends in a newline in a range of campus paths data.
+     *
+     * @param data Holds the lines.
+     * @param start The index in data of the start of the first line.
+     * @param limit The index in data after the end of the range.
+     * @param fields Room for the numbers of a line.
+     * @param consumer Is given the data of each line, in order.
+     * @return The index in data after the newline of the last line parsed.
+     * @throws ParserException if a line cannot be parsed as expected
+     */
+    private static int parseLines(byte[] data, int start, int limit, double[] fields, PathConsumer consumer) {
+        int newline;
+        while ((newline = indexOf(data, start, limit, (byte) '\n')) >= 0) {
+            parseLine(data, start, newline, fields, consumer);
+            start = newline + 1;
+        }
+        return start;
+    }
+
+    /**
+     * Parses one line of campus paths data, without its newline, ignoring a
+     * carriage return at its end.
+     *
+     * @param data Holds the line.
+     * @param start The index in data of the first character of the line.
+     * @param end The index in data after the last character of the line.
+     * @param fields Room for the numbers of the line.
+     * @param consumer Is given the data of the line.
+     * @throws ParserException if the line cannot be parsed as expected
+     */
+    private static void parseLine(byte[] data, int start, int end, double[] fields, PathConsumer consumer) {
+        if (end > start && data[end - 1] == '\r') {
+            end--;
+        }
+        parseFields(data, start, end, fields);
+        consumer.accept(fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+
+    /**
+     * Parses the comma-separated numbers of one line of campus paths data.
+     *
+     * @param line Holds the line.
+     * @param start The index in line of the first character of the line.
+     * @param end The index in line after the last character of the line.
+     * @param fields Is given the numbers of the line, and must have room for exactly as many
+     *               as the line must have.
+     * @throws ParserException if the line does not have that many fields or they are not numbers
+     */
+    private static void parseFields(byte[] line, int start, int end, double[] fields) {
+        int fieldStart = start;
+        for (int i = 0; i < fields.length; i++) {
+            boolean last = i == fields.length - 1;
+            int comma = indexOf(line, fieldStart, end, (byte) ',');
+            if (last ? comma >= 0 : comma < 0) {
+                throw new ParserException("Wrong number of fields in line");
+            }
+            int fieldEnd = last ? end : comma;
+            fields[i] = parseNumber(line, fieldStart, fieldEnd);
+            fieldStart = fieldEnd + 1;
+        }
+    }
+
+    /**
+     * Parses a number written in ASCII, giving exactly the double that
+     * Double.parseDouble gives for it. Plain decimals of up to 18 significant
+     * digits, which the campus data consists of, are parsed in place; anything
+     * else is handed to Double.parseDouble.
+     *
+     * @param text Holds the number.
+     * @param start The index in text of the first character of the number.
+     * @param end The index in text after the last character of the number.
+     * @return The number.
+     * @throws ParserException if the text is not a number
+     */
+    private static double parseNumber(byte[] text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text[i] == '-' || text[i] == '+')) {
+            negative = text[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        boolean sawDigit = false;
+        for (; i < end; i++) {
+            byte c = text[i];
+            if (c >= '0' && c <= '9') {
+                sawDigit = true;
+                // leading zeros are not significant, and do not count towards the digits that fit a long
+                if (mantissa != 0 || c != '0') {
+                    mantissa = 10 * mantissa + (c - '0');
+                    digits++;
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        int scale = Math.max(fractionDigits, 0);
+        if (i < end || !sawDigit || digits > 18 || scale > MAX_SCALE) {
+            try {
+                return Double.parseDouble(new String(text, start, end - start, StandardCharsets.ISO_8859_1));
+            } catch (NumberFormatException e) {
+                throw new ParserException("Cannot parse x/y coordinates as numbers", e);
+            }
+        }
+        double value;
+        if (mantissa < (1L << 53) && scale < POWERS_OF_TEN.length) {
+            // both operands are exact, so the division is rounded correctly
+            value = mantissa / POWERS_OF_TEN[scale];
+        } else {
+            value = divideByPowerOfTen(mantissa, scale);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns mantissa / 10^scale, rounded correctly to the nearest double. It
+     * divides mantissa by 5^scale with long division, continuing into binary
+     * fraction digits until the quotient has two more bits than a double holds,
+     * and then divides by 2^scale, which is exact.
+     *
+     * @param mantissa The dividend, which is >= 0.
+     * @param scale The power of ten to divide by, between 0 and MAX_SCALE.
+     * @return The correctly rounded quotient.
+     */
+    private static double divideByPowerOfTen(long mantissa, int scale) {
+        if (mantissa == 0) {
+            return 0.0;
+        }
+        long divisor = POWERS_OF_FIVE[scale];
+        long quotient = mantissa / divisor;
+        long remainder = mantissa % divisor;
+        int exponent = -scale;
+        // 53 bits of significand, one to round with, and one more so that the rounding bit is always there
+        while (quotient < (1L << 54)) {
+            remainder <<= 1;
+            quotient <<= 1;
+            if (remainder >= divisor) {
+                remainder -= divisor;
+                quotient |= 1;
+            }
+            exponent--;
+        }
+        boolean sticky = remainder != 0;
+        int extra = 64 - Long.numberOfLeadingZeros(quotient) - 54;
+        if (extra > 0) {
+            sticky |= (quotient & ((1L << extra) - 1)) != 0;
+            quotient >>>= extra;
+            exponent += extra;
+        }
+        // round half to even on the lowest of the 54 bits
+        long significand = quotient >>> 1;
+        if ((quotient & 1) != 0 && (sticky || (significand & 1) != 0)) {
+            significand++;
+        }
+        return Math.scalb((double) significand, exponent + 1);
+    }
+
+    // returns the index of the first b in data[start, end), or -1 if there is none
+    private static int indexOf(byte[] data, int start, int end, byte b) {
+        for (int i = start; i < end; i++) {
+            if (data[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Opens the provided data file, which is located relative to the data/
+     * folder in this parser's classpath.
+     *
+     * @param filename The file to open.
+     * @throws ParserException if the file doesn't exist or has an invalid name
+     * @return A stream of the contents of the file.
+     */
+    public static InputStream openResource(String filename) {
+        // See MarvelParser.java (from hw-marvel) for an explanation of this code
+        InputStream stream = CampusPathsParser.class.getResourceAsStream("/data/" + filename);
+        if (stream == null) {
+            throw new ParserException("No such file: " + filename);
+        }
+        return stream;
+    }
+
+    /**
+     * Reads all lines contained within the provided data, and closes it.
+     *
+     * @param stream The data to read.
+     * @throws ParserException if the data can't be read
+     * @return A new {@link List<String>} containing all lines of the data.
+     */
+    private static List<String> readLines(InputStream stream) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+            return reader.lines().collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            throw new ParserException("Cannot read data", e);
+        }
+    }
+
+    /**
+     * Is given the data of each line of campus paths data as it is parsed.
+     */
+    @FunctionalInterface
+    public interface PathConsumer {
+
+        /**
+         * Takes the data of one line of campus paths data.
+         *
+         * @param x1 The x coordinate of the start of the path.
+         * @param y1 The y coordinate of the start of the path.
+         * @param x2 The x coordinate of the end of the path.
+         * @param y2 The y coordinate of the end of the path.
+         * @param distance The length of the path.
+         */
+        void accept(double x1, double y1, double x2, double y2, double distance);
+    }
+
+    /**
+     * An Exception class representing an error during parsing.
+     */
+    public static class ParserException extends RuntimeException {
+
+        /**
+         * Creates a new ParserException with the provided message.
+         *
+         * @param message A message to include in the exception.
+         */
+        public ParserException(String message) {
+            super(message);
+        }
+
+        /**
+         * Creates a new ParserException with the provided message and cause.
+         *
+         * @param message A message to include in the exception.
+         * @param cause   The exception (or other {@link Throwable}) that
+         *                caused this exception to be thrown.
+         */
+        public ParserException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+    }
+}
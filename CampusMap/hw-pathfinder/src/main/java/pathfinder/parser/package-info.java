@@ -0,0 +1,2 @@
+/** Files used to parse the data for Pathfinder */
+package pathfinder.parser;
\ No newline at end of file
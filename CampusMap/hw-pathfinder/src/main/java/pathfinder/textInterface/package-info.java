@@ -0,0 +1,2 @@
+/** The text interface for Pathfinder */
+package pathfinder.textInterface;
\ No newline at end of file
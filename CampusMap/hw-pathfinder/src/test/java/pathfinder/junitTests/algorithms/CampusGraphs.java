@@ -0,0 +1,160 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import graph.DirectedLabeledGraph;
+import pathfinder.CampusGraphBuilder;
+import pathfinder.IndexedDijkstras_Algorithm;
+import pathfinder.ShortestPathFinder;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Loads the campus data, and builds the small graphs, shared by the search algorithm tests.
+ */
+public class CampusGraphs {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private static CSRGraph<Point> campus;
+    private static List<Point> buildings;
+
+    /**
+     * @return The frozen campus graph, as CampusMap builds it.
+     */
+    public static synchronized CSRGraph<Point> campus() {
+        if (campus == null) {
+            try (InputStream in = CampusPathsParser.openResource("campus_paths.csv")) {
+                campus = CampusGraphBuilder.build(in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return campus;
+    }
+
+    /**
+     * @return The location of every campus building.
+     */
+    public static synchronized List<Point> buildings() {
+        if (buildings == null) {
+            buildings = new ArrayList<>();
+            for (CampusBuilding i : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+                buildings.add(new Point(i.getX(), i.getY()));
+            }
+        }
+        return buildings;
+    }
+
+    /**
+     * @return A graph where the cheapest path from A to C has more edges than the edge A -&gt; C, and the only edge
+     *         into A is from C: A -&gt; B costs 10, B -&gt; C 20, A -&gt; C 40 and C -&gt; A 1.
+     */
+    public static CSRGraph<String> triangle() {
+        DirectedLabeledGraph<String, Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", "B", 10.0);
+        graph.addEdge("B", "C", 20.0);
+        graph.addEdge("A", "C", 40.0);
+        graph.addEdge("C", "A", 1.0);
+        return graph.freeze(Double::doubleValue);
+    }
+
+    /**
+     * @return A graph of the nodes A and B with the one edge B -&gt; A of cost 1, so there is no path from A to B.
+     */
+    public static CSRGraph<String> oneWay() {
+        DirectedLabeledGraph<String, Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addEdge("B", "A", 1.0);
+        return graph.freeze(Double::doubleValue);
+    }
+
+    /**
+     * Builds a random graph of the nodes 0 .. nodes - 1 with three edges out of each node. The weights are whole
+     * numbers from 1 to 4, so many paths tie, and about half of the edges have no edge back, so some nodes cannot
+     * reach others.
+     * @param seed The seed of the random choices
+     * @param nodes The number of nodes
+     * @return The random graph
+     */
+    public static CSRGraph<Integer> random(long seed, int nodes) {
+        Random random = new Random(seed);
+        DirectedLabeledGraph<Integer, Double> graph = new DirectedLabeledGraph<>();
+        for (int v = 0; v < nodes; v++) {
+            graph.addNode(v);
+        }
+        for (int v = 0; v < nodes; v++) {
+            for (int k = 0; k < 3; k++) {
+                int target = random.nextInt(nodes);
+                double weight = 1 + random.nextInt(4);
+                addEdge(graph, v, target, weight);
+                if (random.nextBoolean()) {
+                    addEdge(graph, target, v, weight);
+                }
+            }
+        }
+        return graph.freeze(Double::doubleValue);
+    }
+
+    // adds an edge to graph unless graph already has the same edge
+    private static void addEdge(DirectedLabeledGraph<Integer, Double> graph, int parent, int child, double weight) {
+        if (!graph.containsEdge(parent, child, weight)) {
+            graph.addEdge(parent, child, weight);
+        }
+    }
+
+    /**
+     * Asserts that an algorithm finds paths of the same cost as Dijkstra's Algorithm between every ordered pair of
+     * nodes of a graph, and that each path follows edges of the graph. With ties the paths themselves may differ.
+     * @param graph The graph algorithm is applied on
+     * @param algorithm The algorithm to check
+     * @param <N> The type of the nodes of graph
+     */
+    public static <N> void assertSameCostsAsDijkstra(CSRGraph<N> graph, ShortestPathFinder<N> algorithm) {
+        IndexedDijkstras_Algorithm<N> dijkstra = new IndexedDijkstras_Algorithm<>(graph);
+        for (N start : graph.getNodeList()) {
+            for (N dest : graph.getNodeList()) {
+                Path<N> expected = dijkstra.findMinCost(start, dest);
+                Path<N> actual = algorithm.findMinCost(start, dest);
+                if (expected == null) {
+                    assertNull(start + " -> " + dest, actual);
+                    continue;
+                }
+                assertEquals(start + " -> " + dest, expected.getCost(), actual.getCost(), EPSILON);
+                assertEquals(start, actual.getStart());
+                assertEquals(dest, actual.getEnd());
+                for (Path<N>.Segment segment : actual) {
+                    assertTrue(segment.getStart() + " -> " + segment.getEnd(), hasEdge(graph, segment));
+                }
+            }
+        }
+    }
+
+    // returns whether graph has an edge from the start to the end of segment with the cost of segment
+    private static <N> boolean hasEdge(CSRGraph<N> graph, Path<N>.Segment segment) {
+        int u = graph.idOf(segment.getStart());
+        int v = graph.idOf(segment.getEnd());
+        for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+            if (graph.target(e) == v && graph.weight(e) == segment.getCost()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
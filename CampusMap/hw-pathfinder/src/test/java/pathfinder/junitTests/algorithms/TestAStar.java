@@ -0,0 +1,76 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import org.junit.Test;
+import pathfinder.AStar_Algorithm;
+import pathfinder.CampusMap;
+import pathfinder.EuclideanHeuristic;
+import pathfinder.IndexedDijkstras_Algorithm;
+import pathfinder.SearchMode;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestAStar {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testHeuristicIsConsistentOnCampus() {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        EuclideanHeuristic heuristic = EuclideanHeuristic.admissibleFor(campus);
+        assertTrue(heuristic.getScale() > 0);
+        Point dest = CampusGraphs.buildings().get(0);
+        for (int u = 0; u < campus.size(); u++) {
+            for (int e = campus.firstEdge(u); e < campus.endEdge(u); e++) {
+                double drop = heuristic.estimate(campus.nodeOf(u), dest)
+                        - heuristic.estimate(campus.nodeOf(campus.target(e)), dest);
+                assertTrue(drop <= campus.weight(e) + EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testSameCostAsDijkstraOnCampus() {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        IndexedDijkstras_Algorithm<Point> expected = new IndexedDijkstras_Algorithm<>(campus);
+        AStar_Algorithm<Point> actual = new AStar_Algorithm<>(campus, EuclideanHeuristic.admissibleFor(campus));
+        long dijkstraSettled = 0;
+        long aStarSettled = 0;
+        for (Point start : CampusGraphs.buildings()) {
+            for (Point dest : CampusGraphs.buildings()) {
+                Path<Point> actualPath = actual.findMinCost(start, dest);
+                assertEquals(expected.findMinCost(start, dest).getCost(), actualPath.getCost(), EPSILON);
+                assertEquals(dest, actualPath.getEnd());
+                int settled = actual.countSettled(start, dest);
+                assertTrue(settled <= expected.countSettled(start, dest));
+                dijkstraSettled += expected.countSettled(start, dest);
+                aStarSettled += settled;
+            }
+        }
+        assertTrue(aStarSettled < dijkstraSettled);
+    }
+
+    @Test
+    public void testCampusMapSearchModes() {
+        CampusMap map = new CampusMap();
+        Path<Point> dijkstra = map.findShortestPath("CSE", "MGH", SearchMode.DIJKSTRA);
+        Path<Point> aStar = map.findShortestPath("CSE", "MGH", SearchMode.A_STAR);
+        assertEquals(dijkstra.getCost(), aStar.getCost(), EPSILON);
+        assertEquals(dijkstra.getCost(), map.findShortestPath("CSE", "MGH").getCost(), EPSILON);
+        assertTrue(map.countSettledNodes("CSE", "MGH", SearchMode.A_STAR)
+                < map.countSettledNodes("CSE", "MGH", SearchMode.DIJKSTRA));
+    }
+
+    @Test
+    public void testZeroHeuristicIsDijkstra() {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        AStar_Algorithm<Point> zero = new AStar_Algorithm<>(campus, new EuclideanHeuristic(0));
+        IndexedDijkstras_Algorithm<Point> dijkstra = new IndexedDijkstras_Algorithm<>(campus);
+        Point start = CampusGraphs.buildings().get(0);
+        Point dest = CampusGraphs.buildings().get(1);
+        assertEquals(dijkstra.countSettled(start, dest), zero.countSettled(start, dest));
+    }
+}
@@ -0,0 +1,61 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import org.junit.Test;
+import pathfinder.BidirectionalDijkstras_Algorithm;
+import pathfinder.IndexedDijkstras_Algorithm;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestBidirectionalDijkstra {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testSamePathAsDijkstraOnCampus() {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        IndexedDijkstras_Algorithm<Point> expected = new IndexedDijkstras_Algorithm<>(campus);
+        BidirectionalDijkstras_Algorithm<Point> actual = new BidirectionalDijkstras_Algorithm<>(campus);
+        long dijkstraSettled = 0;
+        long bidirectionalSettled = 0;
+        for (Point start : CampusGraphs.buildings()) {
+            for (Point dest : CampusGraphs.buildings()) {
+                Path<Point> expectedPath = expected.findMinCost(start, dest);
+                Path<Point> actualPath = actual.findMinCost(start, dest);
+                assertEquals(expectedPath, actualPath);
+                assertEquals(expectedPath.getCost(), actualPath.getCost(), EPSILON);
+                dijkstraSettled += expected.countSettled(start, dest);
+                bidirectionalSettled += actual.countSettled(start, dest);
+            }
+        }
+        assertTrue(bidirectionalSettled < dijkstraSettled);
+    }
+
+    @Test
+    public void testSameCostsAsDijkstraOnRandomGraphs() {
+        for (long seed = 1; seed <= 5; seed++) {
+            CSRGraph<Integer> graph = CampusGraphs.random(seed, 60);
+            CampusGraphs.assertSameCostsAsDijkstra(graph, new BidirectionalDijkstras_Algorithm<>(graph));
+        }
+    }
+
+    /** the backward search follows the edges into a node, not out of it */
+    @Test
+    public void testDirectedEdges() {
+        BidirectionalDijkstras_Algorithm<String> algo = new BidirectionalDijkstras_Algorithm<>(CampusGraphs.triangle());
+        assertEquals(new Path<>("A").extend("B", 10.0).extend("C", 20.0), algo.findMinCost("A", "C"));
+        assertEquals(new Path<>("C").extend("A", 1.0).extend("B", 10.0), algo.findMinCost("C", "B"));
+        assertEquals(new Path<>("B"), algo.findMinCost("B", "B"));
+    }
+
+    @Test
+    public void testNoPath() {
+        BidirectionalDijkstras_Algorithm<String> algo = new BidirectionalDijkstras_Algorithm<>(CampusGraphs.oneWay());
+        assertNull(algo.findMinCost("A", "B"));
+        assertNull(algo.findMinCost("A", "C"));
+    }
+}
@@ -0,0 +1,150 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import graph.DirectedLabeledGraph;
+import org.junit.Test;
+import pathfinder.CampusGraphBuilder;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestCampusGraphBuilder {
+
+    private static byte[] campusData() throws IOException {
+        try (InputStream data = TestCampusGraphBuilder.class.getResourceAsStream("/data/campus_paths.csv")) {
+            return data.readAllBytes();
+        }
+    }
+
+    private static void assertSameGraph(CSRGraph<Point> expected, CSRGraph<Point> actual) {
+        assertEquals(expected.getNodeList(), actual.getNodeList());
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.firstEdge(v), actual.firstEdge(v));
+            assertEquals(expected.endEdge(v), actual.endEdge(v));
+        }
+        for (int e = 0; e < expected.edgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(Double.doubleToRawLongBits(expected.weight(e)), Double.doubleToRawLongBits(actual.weight(e)));
+        }
+    }
+
+    // returns the weights of the edges from each node to each node, by their points
+    private static Map<String, List<Double>> edges(CSRGraph<Point> graph) {
+        Map<String, List<Double>> edges = new HashMap<>();
+        for (int v = 0; v < graph.size(); v++) {
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                edges.computeIfAbsent(graph.nodeOf(v) + "->" + graph.nodeOf(graph.target(e)), key -> new ArrayList<>())
+                        .add(graph.weight(e));
+            }
+        }
+        edges.values().forEach(weights -> weights.sort(null));
+        return edges;
+    }
+
+    /** the graph is the same however many chunks the data is parsed in */
+    @Test
+    public void testSameGraphForAnyChunks() throws IOException {
+        byte[] data = campusData();
+        CSRGraph<Point> expected = CampusGraphBuilder.build(data, 1);
+        for (int chunks : new int[] {2, 3, 7, 16, 100, 100000}) {
+            assertSameGraph(expected, CampusGraphBuilder.build(data, chunks));
+        }
+        assertSameGraph(expected, CampusGraphBuilder.build(data));
+        assertSameGraph(expected, CampusGraphs.campus());
+    }
+
+    /** the graph has the same nodes and edges as one built by adding the paths to a DirectedLabeledGraph */
+    @Test
+    public void testSameEdgesAsDirectedLabeledGraph() throws IOException {
+        DirectedLabeledGraph<Point, Double> graph = new DirectedLabeledGraph<>();
+        for (CampusPath i : CampusPathsParser.parseCampusPaths("campus_paths.csv")) {
+            Point startPoint = new Point(i.getX1(), i.getY1());
+            Point endPoint = new Point(i.getX2(), i.getY2());
+            if (!graph.containsNode(startPoint)) {
+                graph.addNode(startPoint);
+            }
+            if (!graph.containsNode(endPoint)) {
+                graph.addNode(endPoint);
+            }
+            graph.addEdge(startPoint, endPoint, i.getDistance());
+        }
+        CSRGraph<Point> expected = graph.freeze(Double::doubleValue);
+        CSRGraph<Point> actual = CampusGraphBuilder.build(campusData(), 8);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        assertEquals(edges(expected), edges(actual));
+    }
+
+    /** nodes are numbered in the order they first appear, and edges keep the order of their lines */
+    @Test
+    public void testOrder() {
+        byte[] data = "5,5,1,1,1\n1,1,2,2,2\n5,5,2,2,3\n2,2,5,5,4\n1,1,5,5,5".getBytes(StandardCharsets.US_ASCII);
+        for (int chunks = 1; chunks <= 6; chunks++) {
+            CSRGraph<Point> graph = CampusGraphBuilder.build(data, chunks);
+            assertEquals(List.of(new Point(5, 5), new Point(1, 1), new Point(2, 2)), graph.getNodeList());
+            assertEquals(5, graph.edgeCount());
+            double[] weights = new double[5];
+            for (int e = 0; e < 5; e++) {
+                weights[e] = graph.weight(e);
+            }
+            assertEquals(List.of(1.0, 3.0, 2.0, 5.0, 4.0),
+                    List.of(weights[0], weights[1], weights[2], weights[3], weights[4]));
+            assertEquals(0, graph.firstEdge(0));
+            assertEquals(2, graph.firstEdge(1));
+            assertEquals(4, graph.firstEdge(2));
+        }
+    }
+
+    /** ends of paths that differ only by floating-point noise are one node, at the coordinates first seen of them */
+    @Test
+    public void testNoisyPointsMerge() {
+        byte[] data = "0,0,1,1,1\n1.0000000001,1,2,2,1\n2,2,0.9999999999,1.0000000001,1"
+                .getBytes(StandardCharsets.US_ASCII);
+        for (int chunks = 1; chunks <= 3; chunks++) {
+            CSRGraph<Point> graph = CampusGraphBuilder.build(data, chunks);
+            assertEquals(List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2)), graph.getNodeList());
+            assertEquals(1, graph.target(graph.firstEdge(2)));
+        }
+    }
+
+    /** campus coordinates with five decimals, such as 209.80175, merge with their noisy copies too */
+    @Test
+    public void testNoisyFiveDecimalPointsMerge() {
+        byte[] data = "209.80175,522.07235,0,0,1\n0,0,209.80175000001,522.07234999999,1"
+                .getBytes(StandardCharsets.US_ASCII);
+        CSRGraph<Point> graph = CampusGraphBuilder.build(data, 1);
+        assertEquals(List.of(new Point(209.80175, 522.07235), new Point(0, 0)), graph.getNodeList());
+    }
+
+    /** ends of paths a hundred-thousandth apart, as the closest points of the campus data are, stay distinct */
+    @Test
+    public void testNearbyPointsDistinct() {
+        byte[] data = "566.85714,1,0,0,1\n566.85715,1,0,0,1".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(3, CampusGraphBuilder.build(data, 1).size());
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, CampusGraphBuilder.build(new byte[0], 4).size());
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testParseErrorInChunk() {
+        CampusGraphBuilder.build("1,2,3,4,5\n1,2,3,4\n1,2,3,4,5\n".getBytes(StandardCharsets.US_ASCII), 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoChunks() {
+        CampusGraphBuilder.build(new byte[0], 0);
+    }
+}
@@ -0,0 +1,85 @@
+package pathfinder.junitTests.algorithms;
+
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.PhaseListener;
+import pathfinder.SearchMode;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestCampusMap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testDistanceMatrix() {
+        CampusMap map = new CampusMap();
+        List<String> names = Arrays.asList("CSE", "MGH", "KNE", "CSE");
+        double[][] matrix = map.distanceMatrix(names);
+        assertEquals(names.size(), matrix.length);
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(names.size(), matrix[i].length);
+            for (int j = 0; j < names.size(); j++) {
+                assertEquals(map.findShortestPath(names.get(i), names.get(j)).getCost(), matrix[i][j], EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testPhaseListener() {
+        List<String> phases = Collections.synchronizedList(new ArrayList<>());
+        CampusMap map = new CampusMap(SearchMode.DIJKSTRA, (phase, nanos) -> {
+            assertTrue(nanos >= 0);
+            phases.add(phase);
+        });
+        assertNotNull(map.findShortestPath("CSE", "MGH"));
+        assertEquals(Arrays.asList(PhaseListener.LOOKUP, PhaseListener.RESOLVE, PhaseListener.SEARCH), phases);
+    }
+
+    @Test
+    public void testFromData() {
+        CampusMap expected = new CampusMap();
+        CampusMap actual = new CampusMap(
+                CampusPathsParser.parseCampusBuildings(
+                        TestCampusMap.class.getResourceAsStream("/data/campus_buildings.csv")),
+                CampusPathsParser.parseCampusPaths(
+                        TestCampusMap.class.getResourceAsStream("/data/campus_paths.csv")),
+                SearchMode.DIJKSTRA, PhaseListener.NONE);
+        assertEquals(expected.buildingNames(), actual.buildingNames());
+        for (String start : Arrays.asList("CSE", "MGH", "KNE")) {
+            for (String end : Arrays.asList("CSE", "MGH", "KNE")) {
+                assertEquals(expected.findShortestPath(start, end), actual.findShortestPath(start, end));
+            }
+        }
+    }
+
+    @Test
+    public void testIsOnGraph() {
+        CampusMap map = new CampusMap(Arrays.asList(new CampusBuilding("A", "Building A", 0, 0),
+                new CampusBuilding("B", "Building B", 1, 1), new CampusBuilding("X", "Building X", 9, 9)),
+                Collections.singletonList(new CampusPath(0, 0, 1, 1, 1)), SearchMode.DIJKSTRA, PhaseListener.NONE);
+        assertTrue(map.isOnGraph("A"));
+        assertTrue(map.isOnGraph("B"));
+        assertFalse(map.isOnGraph("X"));
+        CampusMap campus = new CampusMap();
+        for (String building : campus.buildingNames().keySet()) {
+            assertTrue(building, campus.isOnGraph(building));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIsOnGraphUnknownBuilding() {
+        new CampusMap().isOnGraph("NOT A BUILDING");
+    }
+}
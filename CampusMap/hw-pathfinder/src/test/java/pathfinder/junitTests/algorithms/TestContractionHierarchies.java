@@ -0,0 +1,79 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import graph.DirectedLabeledGraph;
+import org.junit.Test;
+import pathfinder.ContractionHierarchies;
+import pathfinder.IndexedDijkstras_Algorithm;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestContractionHierarchies {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testSamePathAsDijkstraOnCampus() {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        IndexedDijkstras_Algorithm<Point> expected = new IndexedDijkstras_Algorithm<>(campus);
+        ContractionHierarchies<Point> actual = new ContractionHierarchies<>(campus);
+        long dijkstraSettled = 0;
+        long hierarchySettled = 0;
+        for (Point start : CampusGraphs.buildings()) {
+            for (Point dest : CampusGraphs.buildings()) {
+                Path<Point> expectedPath = expected.findMinCost(start, dest);
+                Path<Point> actualPath = actual.findMinCost(start, dest);
+                assertEquals(expectedPath, actualPath);
+                assertEquals(expectedPath.getCost(), actualPath.getCost(), EPSILON);
+                dijkstraSettled += expected.countSettled(start, dest);
+                hierarchySettled += actual.countSettled(start, dest);
+            }
+        }
+        assertTrue(hierarchySettled < dijkstraSettled);
+    }
+
+    @Test
+    public void testShortcutsUnpackIntoOriginalEdges() {
+        DirectedLabeledGraph<String, Double> graph = new DirectedLabeledGraph<>();
+        String[] chain = {"A", "B", "C", "D", "E"};
+        for (String node : chain) {
+            graph.addNode(node);
+        }
+        for (int i = 0; i + 1 < chain.length; i++) {
+            graph.addEdge(chain[i], chain[i + 1], i + 1.0);
+            graph.addEdge(chain[i + 1], chain[i], i + 1.0);
+        }
+        ContractionHierarchies<String> algo = new ContractionHierarchies<>(graph.freeze(Double::doubleValue));
+        assertEquals(new Path<>("A").extend("B", 1.0).extend("C", 2.0).extend("D", 3.0).extend("E", 4.0),
+                algo.findMinCost("A", "E"));
+        assertEquals(new Path<>("D").extend("C", 3.0).extend("B", 2.0), algo.findMinCost("D", "B"));
+    }
+
+    /** on graphs with ties and one-way edges, shortcuts must keep the costs, and never go against an edge */
+    @Test
+    public void testSameCostsAsDijkstraOnRandomGraphs() {
+        for (long seed = 1; seed <= 5; seed++) {
+            CSRGraph<Integer> graph = CampusGraphs.random(seed, 60);
+            CampusGraphs.assertSameCostsAsDijkstra(graph, new ContractionHierarchies<>(graph));
+        }
+    }
+
+    @Test
+    public void testDirectedEdges() {
+        ContractionHierarchies<String> algo = new ContractionHierarchies<>(CampusGraphs.triangle());
+        assertEquals(new Path<>("A").extend("B", 10.0).extend("C", 20.0), algo.findMinCost("A", "C"));
+        assertEquals(new Path<>("C").extend("A", 1.0).extend("B", 10.0), algo.findMinCost("C", "B"));
+        assertEquals(new Path<>("B"), algo.findMinCost("B", "B"));
+    }
+
+    @Test
+    public void testNoPath() {
+        ContractionHierarchies<String> algo = new ContractionHierarchies<>(CampusGraphs.oneWay());
+        assertNull(algo.findMinCost("A", "B"));
+        assertNull(algo.findMinCost("A", "C"));
+    }
+}
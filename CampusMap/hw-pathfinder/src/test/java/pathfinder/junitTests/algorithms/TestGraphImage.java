@@ -0,0 +1,185 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pathfinder.CampusMap;
+import pathfinder.GraphImage;
+import pathfinder.PhaseListener;
+import pathfinder.RouteTable;
+import pathfinder.SearchMode;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestGraphImage {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static InputStream data(String file) {
+        return TestGraphImage.class.getResourceAsStream("/data/" + file);
+    }
+
+    private static GraphImage compileCampus() throws IOException {
+        return GraphImage.compile(data("campus_buildings.csv"), data("campus_paths.csv"));
+    }
+
+    private Path writeImage(GraphImage image) throws IOException {
+        Path file = folder.newFile().toPath();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            image.write(out);
+        }
+        return file;
+    }
+
+    @Test
+    public void testCompiledGraphIsCampusGraph() throws IOException {
+        GraphImage image = compileCampus();
+        CSRGraph<Point> expected = CampusGraphs.campus();
+        CSRGraph<Point> actual = image.getGraph();
+        assertEquals(expected.getNodeList(), actual.getNodeList());
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.firstEdge(v), actual.firstEdge(v));
+            assertEquals(expected.endEdge(v), actual.endEdge(v));
+        }
+        for (int e = 0; e < expected.edgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(expected.weight(e), actual.weight(e), 0.0);
+        }
+        assertEquals(CampusPathsParser.parseCampusBuildings("campus_buildings.csv"), image.getBuildings());
+        assertEquals(GraphImage.sourceChecksum(data("campus_buildings.csv"), data("campus_paths.csv")),
+                image.getSourceChecksum());
+    }
+
+    @Test
+    public void testWriteAndMap() throws IOException {
+        GraphImage image = compileCampus();
+        GraphImage mapped = GraphImage.map(writeImage(image));
+        assertEquals(image.getBuildings(), mapped.getBuildings());
+        assertEquals(image.getSourceChecksum(), mapped.getSourceChecksum());
+        CSRGraph<Point> expected = image.getGraph();
+        CSRGraph<Point> actual = mapped.getGraph();
+        assertEquals(expected.getNodeList(), actual.getNodeList());
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.firstEdge(v), actual.firstEdge(v));
+            assertEquals(expected.endEdge(v), actual.endEdge(v));
+        }
+        for (int e = 0; e < expected.edgeCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(Double.doubleToRawLongBits(expected.weight(e)), Double.doubleToRawLongBits(actual.weight(e)));
+        }
+    }
+
+    /** a map of an image finds the same paths, and reads route tables written by a map of the campus data */
+    @Test
+    public void testCampusMapFromImage() throws IOException {
+        CampusMap expected = new CampusMap();
+        CampusMap actual = new CampusMap(GraphImage.map(writeImage(compileCampus())), SearchMode.DIJKSTRA,
+                PhaseListener.NONE);
+        assertEquals(expected.buildingNames(), actual.buildingNames());
+        for (String start : Arrays.asList("CSE", "MGH", "KNE")) {
+            for (String end : Arrays.asList("CSE", "MGH", "KNE")) {
+                assertEquals(expected.findShortestPath(start, end), actual.findShortestPath(start, end));
+            }
+        }
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        expected.buildRouteTable().write(table);
+        RouteTable<Point> read = actual.readRouteTable(new ByteArrayInputStream(table.toByteArray()));
+        assertEquals(expected.findShortestPath("CSE", "KNE"), read.route("CSE", "KNE"));
+    }
+
+    /** runs compiling into the same file at once each write a file of their own, and leave only the image behind */
+    @Test
+    public void testMainRunsAtOnce() throws Exception {
+        Path image = folder.getRoot().toPath().resolve("campus.img");
+        ExecutorService runs = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                done.add(runs.submit(() -> {
+                    GraphImage.main(new String[] {image.toString()});
+                    return null;
+                }));
+            }
+            for (Future<?> run : done) {
+                run.get();
+            }
+        } finally {
+            runs.shutdown();
+        }
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            assertEquals(List.of(image), files.collect(Collectors.toList()));
+        }
+        assertEquals(compileCampus().getSourceChecksum(), GraphImage.map(image).getSourceChecksum());
+    }
+
+    @Test
+    public void testChecksumOfOtherData() throws IOException {
+        byte[] buildings = "A,Building A,1,2\n".getBytes(StandardCharsets.UTF_8);
+        byte[] paths = "1,2,3,4,5\n".getBytes(StandardCharsets.UTF_8);
+        byte[] otherPaths = "1,2,3,4,6\n".getBytes(StandardCharsets.UTF_8);
+        assertNotEquals(GraphImage.sourceChecksum(new ByteArrayInputStream(buildings), new ByteArrayInputStream(paths)),
+                GraphImage.sourceChecksum(new ByteArrayInputStream(buildings), new ByteArrayInputStream(otherPaths)));
+        GraphImage image = GraphImage.compile(new ByteArrayInputStream(buildings), new ByteArrayInputStream(paths));
+        assertEquals(List.of(new Point(1, 2), new Point(3, 4)), image.getGraph().getNodeList());
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapCorrupted() throws IOException {
+        Path file = writeImage(compileCampus());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        GraphImage.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapTruncated() throws IOException {
+        Path file = writeImage(compileCampus());
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        GraphImage.map(file);
+    }
+
+    /** images of version 1 numbered the nodes before noise in the coordinates was merged, so they are not read */
+    @Test(expected = IOException.class)
+    public void testMapOlderVersion() throws IOException {
+        Path file = writeImage(compileCampus());
+        byte[] bytes = Files.readAllBytes(file);
+        // the version is the little-endian int after the magic number
+        bytes[4] = 1;
+        bytes[5] = 0;
+        bytes[6] = 0;
+        bytes[7] = 0;
+        Files.write(file, bytes);
+        GraphImage.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMapNotAnImage() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "1,2,3,4,5\n".getBytes(StandardCharsets.UTF_8));
+        GraphImage.map(file);
+    }
+}
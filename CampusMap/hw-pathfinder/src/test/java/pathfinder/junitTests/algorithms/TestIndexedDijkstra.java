@@ -0,0 +1,109 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.DirectedLabeledGraph;
+import org.junit.Test;
+import pathfinder.Dijkstras_Algorithm;
+import pathfinder.IndexedDijkstras_Algorithm;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestIndexedDijkstra {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testSameCostAsDijkstraOnCampus() {
+        Dijkstras_Algorithm<Point> expected = new Dijkstras_Algorithm<>(CampusGraphs.campus());
+        IndexedDijkstras_Algorithm<Point> actual = new IndexedDijkstras_Algorithm<>(CampusGraphs.campus());
+        for (Point start : CampusGraphs.buildings()) {
+            for (Point dest : CampusGraphs.buildings()) {
+                Path<Point> expectedPath = expected.findMinCost(start, dest);
+                Path<Point> actualPath = actual.findMinCost(start, dest);
+                assertNotNull(actualPath);
+                assertEquals(expectedPath.getCost(), actualPath.getCost(), EPSILON);
+                assertEquals(start, actualPath.getStart());
+                assertEquals(dest, actualPath.getEnd());
+            }
+        }
+    }
+
+    @Test
+    public void testSelfPath() {
+        IndexedDijkstras_Algorithm<Point> algo = new IndexedDijkstras_Algorithm<>(CampusGraphs.campus());
+        Point building = CampusGraphs.buildings().get(0);
+        assertEquals(new Path<>(building), algo.findMinCost(building, building));
+    }
+
+    @Test
+    public void testNoPath() {
+        IndexedDijkstras_Algorithm<String> algo = new IndexedDijkstras_Algorithm<>(CampusGraphs.oneWay());
+        assertNull(algo.findMinCost("A", "B"));
+        assertEquals(1.0, algo.findMinCost("B", "A").getCost(), EPSILON);
+    }
+
+    @Test
+    public void testDecreaseKeyFindsCheaperLongerPath() {
+        IndexedDijkstras_Algorithm<String> algo = new IndexedDijkstras_Algorithm<>(CampusGraphs.triangle());
+        Path<String> expected = new Path<>("A").extend("B", 10.0).extend("C", 20.0);
+        assertEquals(expected, algo.findMinCost("A", "C"));
+    }
+
+    @Test
+    public void testFindMinCostsMatchesFindMinCost() {
+        IndexedDijkstras_Algorithm<Point> algo = new IndexedDijkstras_Algorithm<>(CampusGraphs.campus());
+        List<Point> dests = new ArrayList<>(CampusGraphs.buildings());
+        dests.add(CampusGraphs.buildings().get(0));
+        dests.add(new Point(-1, -1));
+        for (Point start : CampusGraphs.buildings()) {
+            List<Path<Point>> paths = algo.findMinCosts(start, dests);
+            assertEquals(dests.size(), paths.size());
+            for (int i = 0; i < dests.size(); i++) {
+                assertEquals(algo.findMinCost(start, dests.get(i)), paths.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testFindMinCostsNoPath() {
+        DirectedLabeledGraph<String, Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("B", "A", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        IndexedDijkstras_Algorithm<String> algo = new IndexedDijkstras_Algorithm<>(graph.freeze(Double::doubleValue));
+        assertEquals(Arrays.asList(new Path<>("B").extend("C", 2.0), new Path<>("B"), new Path<>("B").extend("A", 1.0)),
+                algo.findMinCosts("B", Arrays.asList("C", "B", "A")));
+        assertEquals(Arrays.asList(null, new Path<>("A")), algo.findMinCosts("A", Arrays.asList("C", "A")));
+        assertEquals(Collections.emptyList(), algo.findMinCosts("A", Collections.emptyList()));
+    }
+
+    @Test
+    public void testFindMinCostDistances() {
+        IndexedDijkstras_Algorithm<Point> algo = new IndexedDijkstras_Algorithm<>(CampusGraphs.campus());
+        List<Point> dests = new ArrayList<>(CampusGraphs.buildings());
+        dests.add(new Point(-1, -1));
+        Point start = CampusGraphs.buildings().get(3);
+        double[] distances = algo.findMinCostDistances(start, dests);
+        assertEquals(dests.size(), distances.length);
+        for (int i = 0; i < CampusGraphs.buildings().size(); i++) {
+            assertEquals(algo.findMinCost(start, dests.get(i)).getCost(), distances[i], 0.0);
+        }
+        assertEquals(Double.POSITIVE_INFINITY, distances[dests.size() - 1], 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStart() {
+        new IndexedDijkstras_Algorithm<>(CampusGraphs.campus()).findMinCost(new Point(-1, -1),
+                CampusGraphs.buildings().get(0));
+    }
+}
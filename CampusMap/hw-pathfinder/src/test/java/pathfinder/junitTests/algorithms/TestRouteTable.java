@@ -0,0 +1,147 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import graph.DirectedLabeledGraph;
+import org.junit.Test;
+import pathfinder.IndexedDijkstras_Algorithm;
+import pathfinder.RouteTable;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestRouteTable {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private static Map<String, Point> campusPlaces() {
+        Map<String, Point> places = new HashMap<>();
+        List<Point> buildings = CampusGraphs.buildings();
+        for (int i = 0; i < buildings.size(); i++) {
+            places.put("B" + i, buildings.get(i));
+        }
+        return places;
+    }
+
+    private static CSRGraph<String> line() {
+        DirectedLabeledGraph<String, Double> graph = new DirectedLabeledGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", "B", 2.0);
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 3.0);
+        return graph.freeze(Double::doubleValue);
+    }
+
+    private static Map<String, String> linePlaces() {
+        Map<String, String> places = new HashMap<>();
+        places.put("a", "A");
+        places.put("b", "B");
+        places.put("c", "C");
+        return places;
+    }
+
+    @Test
+    public void testSamePathAsDijkstraOnCampus() {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        Map<String, Point> places = campusPlaces();
+        IndexedDijkstras_Algorithm<Point> expected = new IndexedDijkstras_Algorithm<>(campus);
+        RouteTable<Point> table = RouteTable.build(campus, places);
+        for (String start : places.keySet()) {
+            for (String dest : places.keySet()) {
+                Path<Point> expectedPath = expected.findMinCost(places.get(start), places.get(dest));
+                assertEquals(expectedPath, table.route(start, dest));
+                assertEquals(expectedPath.getCost(), table.distance(start, dest), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        RouteTable<Point> table = RouteTable.build(campus, campusPlaces());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.write(out);
+        RouteTable<Point> read = RouteTable.read(new ByteArrayInputStream(out.toByteArray()), campus);
+        assertEquals(table.getNames(), read.getNames());
+        for (String start : table.getNames()) {
+            for (String dest : table.getNames()) {
+                assertEquals(table.route(start, dest), read.route(start, dest));
+                assertEquals(table.distance(start, dest), read.distance(start, dest), 0.0);
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadForDifferentGraph() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RouteTable.build(CampusGraphs.campus(), campusPlaces()).write(out);
+        RouteTable.read(new ByteArrayInputStream(out.toByteArray()), line());
+    }
+
+    private static byte[] campusTable() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RouteTable.build(CampusGraphs.campus(), campusPlaces()).write(out);
+        return out.toByteArray();
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadTruncated() throws IOException {
+        byte[] table = campusTable();
+        RouteTable.read(new ByteArrayInputStream(Arrays.copyOf(table, table.length - 1)), CampusGraphs.campus());
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadCorrupted() throws IOException {
+        byte[] table = campusTable();
+        table[table.length - 20] ^= 1;
+        RouteTable.read(new ByteArrayInputStream(table), CampusGraphs.campus());
+    }
+
+    /** a negative length is rejected before anything is allocated for it */
+    @Test(expected = IOException.class)
+    public void testReadNegativeLength() throws IOException {
+        ByteBuffer table = ByteBuffer.wrap(campusTable());
+        // magic, version and fingerprint, then the number of places and the first name and node
+        int position = 16;
+        int k = table.getInt(position);
+        position += 4;
+        for (int i = 0; i < k; i++) {
+            position += 2 + table.getShort(position) + 4;
+        }
+        table.putInt(position, -1);
+        RouteTable.read(new ByteArrayInputStream(table.array()), CampusGraphs.campus());
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadNegativePlaceCount() throws IOException {
+        ByteBuffer table = ByteBuffer.wrap(campusTable());
+        table.putInt(16, -1);
+        RouteTable.read(new ByteArrayInputStream(table.array()), CampusGraphs.campus());
+    }
+
+    @Test
+    public void testCheapestParallelEdgeAndNoRoute() {
+        RouteTable<String> table = RouteTable.build(line(), linePlaces());
+        assertEquals(new Path<>("A").extend("B", 1.0).extend("C", 3.0), table.route("a", "c"));
+        assertEquals(new Path<>("B"), table.route("b", "b"));
+        assertNull(table.route("c", "a"));
+        assertEquals(Double.POSITIVE_INFINITY, table.distance("c", "a"), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPlace() {
+        RouteTable.build(line(), linePlaces()).route("a", "d");
+    }
+}
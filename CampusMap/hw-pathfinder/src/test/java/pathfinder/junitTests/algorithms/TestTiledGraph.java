@@ -0,0 +1,183 @@
+package pathfinder.junitTests.algorithms;
+
+import graph.CSRGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pathfinder.CampusGraphBuilder;
+import pathfinder.IndexedDijkstras_Algorithm;
+import pathfinder.TiledDijkstras_Algorithm;
+import pathfinder.TiledGraph;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestTiledGraph {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private java.nio.file.Path writeTiles(CSRGraph<Point> graph, double tileSize) throws IOException {
+        java.nio.file.Path file = folder.newFile().toPath();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            TiledGraph.write(graph, tileSize, out);
+        }
+        return file;
+    }
+
+    @Test
+    public void testSameNodesAsGraph() throws IOException {
+        CSRGraph<Point> campus = CampusGraphs.campus();
+        TiledGraph tiled = TiledGraph.open(writeTiles(campus, 500), Long.MAX_VALUE);
+        assertEquals(campus.size(), tiled.size());
+        assertEquals(campus.edgeCount(), tiled.edgeCount());
+        assertEquals(0, tiled.loadedTiles());
+        Set<Integer> ids = new HashSet<>();
+        for (Point node : campus.getNodeList()) {
+            assertTrue(tiled.containsNode(node));
+            int id = tiled.idOf(node);
+            assertEquals(node, tiled.nodeOf(id));
+            ids.add(id);
+        }
+        assertEquals(campus.size(), ids.size());
+        assertFalse(tiled.containsNode(new Point(-1, -1)));
+        assertFalse(tiled.containsNode(new Point(1e9, 0)));
+    }
+
+    /** the same costs as a search of the whole graph, with a budget that keeps a single tile loaded */
+    @Test
+    public void testSameCostAsIndexedDijkstraOnCampus() throws IOException {
+        IndexedDijkstras_Algorithm<Point> expected = new IndexedDijkstras_Algorithm<>(CampusGraphs.campus());
+        TiledGraph tiled = TiledGraph.open(writeTiles(CampusGraphs.campus(), 300), 0);
+        TiledDijkstras_Algorithm actual = new TiledDijkstras_Algorithm(tiled);
+        for (Point start : CampusGraphs.buildings()) {
+            for (Point dest : CampusGraphs.buildings().subList(0, 10)) {
+                Path<Point> expectedPath = expected.findMinCost(start, dest);
+                Path<Point> actualPath = actual.findMinCost(start, dest);
+                assertNotNull(actualPath);
+                assertEquals(expectedPath.getCost(), actualPath.getCost(), EPSILON);
+                assertEquals(start, actualPath.getStart());
+                assertEquals(dest, actualPath.getEnd());
+                assertEquals(expected.countSettled(start, dest), actual.countSettled(start, dest));
+            }
+        }
+        assertEquals(1, tiled.loadedTiles());
+        assertTrue(tiled.evictions() > 0);
+    }
+
+    @Test
+    public void testBudgetBoundsLoadedBytes() throws IOException {
+        TiledGraph tiled = TiledGraph.open(writeTiles(CampusGraphs.campus(), 200), 20_000);
+        TiledDijkstras_Algorithm algo = new TiledDijkstras_Algorithm(tiled);
+        for (Point start : CampusGraphs.buildings()) {
+            algo.findMinCost(start, CampusGraphs.buildings().get(0));
+            assertTrue(tiled.loadedBytes() <= 20_000 || tiled.loadedTiles() == 1);
+        }
+    }
+
+    /** a short search loads only the tiles around it */
+    @Test
+    public void testLoadsOnlyReachedTiles() throws IOException {
+        // a row of 100 nodes, one unit apart, in tiles of 10 nodes
+        StringBuilder paths = new StringBuilder();
+        for (int i = 0; i < 99; i++) {
+            paths.append(i).append(",0,").append(i + 1).append(",0,1\n");
+            paths.append(i + 1).append(",0,").append(i).append(",0,1\n");
+        }
+        CSRGraph<Point> row = CampusGraphBuilder.build(paths.toString().getBytes(StandardCharsets.US_ASCII));
+        TiledGraph tiled = TiledGraph.open(writeTiles(row, 10), Long.MAX_VALUE);
+        assertEquals(10, tiled.tileCount());
+        Path<Point> path = new TiledDijkstras_Algorithm(tiled).findMinCost(new Point(42, 0), new Point(45, 0));
+        assertEquals(3.0, path.getCost(), EPSILON);
+        assertTrue(tiled.loadedTiles() <= 3);
+    }
+
+    @Test
+    public void testNoPath() throws IOException {
+        CSRGraph<Point> graph = CampusGraphBuilder.build("0,0,1,1,2\n".getBytes(StandardCharsets.US_ASCII));
+        TiledDijkstras_Algorithm algo = new TiledDijkstras_Algorithm(TiledGraph.open(writeTiles(graph, 1), 0));
+        assertNull(algo.findMinCost(new Point(1, 1), new Point(0, 0)));
+        assertNull(algo.findMinCost(new Point(0, 0), new Point(5, 5)));
+        assertEquals(2.0, algo.findMinCost(new Point(0, 0), new Point(1, 1)).getCost(), EPSILON);
+        assertEquals(new Path<>(new Point(0, 0)), algo.findMinCost(new Point(0, 0), new Point(0, 0)));
+    }
+
+    /** runs tiling into the same file at once each write a file of their own, and leave only the tiles behind */
+    @Test
+    public void testMainRunsAtOnce() throws Exception {
+        java.nio.file.Path tiles = folder.getRoot().toPath().resolve("campus.tiles");
+        ExecutorService runs = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                done.add(runs.submit(() -> {
+                    TiledGraph.main(new String[] {tiles.toString(), "500"});
+                    return null;
+                }));
+            }
+            for (Future<?> run : done) {
+                run.get();
+            }
+        } finally {
+            runs.shutdown();
+        }
+        try (Stream<java.nio.file.Path> files = Files.list(folder.getRoot().toPath())) {
+            assertEquals(List.of(tiles), files.collect(Collectors.toList()));
+        }
+        assertEquals(CampusGraphs.campus().size(), TiledGraph.open(tiles, Long.MAX_VALUE).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStart() throws IOException {
+        TiledGraph tiled = TiledGraph.open(writeTiles(CampusGraphs.campus(), 500), 0);
+        new TiledDijkstras_Algorithm(tiled).findMinCost(new Point(-1, -1), CampusGraphs.buildings().get(0));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testCorruptedTile() throws IOException {
+        java.nio.file.Path file = writeTiles(CampusGraphs.campus(), 500);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        TiledGraph tiled = TiledGraph.open(file, 0);
+        for (Point node : CampusGraphs.campus().getNodeList()) {
+            tiled.containsNode(node);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenTruncated() throws IOException {
+        java.nio.file.Path file = writeTiles(CampusGraphs.campus(), 500);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        TiledGraph.open(file, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyTiles() throws IOException {
+        writeTiles(CampusGraphs.campus(), 1e-3);
+    }
+}
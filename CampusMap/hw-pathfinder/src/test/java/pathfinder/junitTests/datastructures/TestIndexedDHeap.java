@@ -0,0 +1,103 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.IndexedDHeap;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestIndexedDHeap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testPollInKeyOrder() {
+        IndexedDHeap heap = new IndexedDHeap(5, 4);
+        heap.insertOrDecrease(3, 3.0);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(4, 1.0);
+        heap.insertOrDecrease(1, 2.0);
+        assertEquals(4, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(0, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        IndexedDHeap heap = new IndexedDHeap(3, 2);
+        heap.insertOrDecrease(0, 1.0);
+        heap.insertOrDecrease(1, 2.0);
+        heap.insertOrDecrease(2, 3.0);
+        assertTrue(heap.insertOrDecrease(2, 0.5));
+        assertFalse(heap.insertOrDecrease(1, 4.0));
+        assertEquals(0.5, heap.keyOf(2), EPSILON);
+        assertEquals(2, heap.poll());
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+    }
+
+    @Test
+    public void testContainsAndClear() {
+        IndexedDHeap heap = new IndexedDHeap(3, 4);
+        heap.insertOrDecrease(1, 1.0);
+        assertTrue(heap.contains(1));
+        assertFalse(heap.contains(0));
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(1));
+        heap.insertOrDecrease(1, 2.0);
+        assertEquals(1, heap.poll());
+    }
+
+    @Test
+    public void testRandomOrder() {
+        Random random = new Random(331);
+        IndexedDHeap heap = new IndexedDHeap(1000, 4);
+        for (int i = 0; i < 1000; i++) {
+            heap.insertOrDecrease(i, random.nextDouble());
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            heap.insertOrDecrease(i, heap.keyOf(i) / 2);
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.keyOf(heap.peek());
+            assertTrue(key >= last);
+            last = key;
+            heap.poll();
+        }
+    }
+
+    /** growing keeps the ids in the heap and their keys, and the new ids start outside the heap */
+    @Test
+    public void testEnsureCapacity() {
+        IndexedDHeap heap = new IndexedDHeap(0, 4);
+        assertEquals(0, heap.capacity());
+        for (int i = 0; i < 100; i++) {
+            heap.ensureCapacity(i + 1);
+            assertFalse(heap.contains(i));
+            heap.insertOrDecrease(i, 100 - i);
+        }
+        assertTrue(heap.capacity() >= 100);
+        heap.ensureCapacity(5);
+        assertTrue(heap.capacity() >= 100);
+        heap.insertOrDecrease(50, -1.0);
+        assertEquals(50, heap.poll());
+        for (int i = 99; i >= 0; i--) {
+            if (i != 50) {
+                assertEquals(i, heap.poll());
+            }
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = java.util.NoSuchElementException.class)
+    public void testPollEmpty() {
+        new IndexedDHeap(1, 4).poll();
+    }
+}
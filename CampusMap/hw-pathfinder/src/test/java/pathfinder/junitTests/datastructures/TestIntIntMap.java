@@ -0,0 +1,75 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.IntIntMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestIntIntMap {
+
+    @Test
+    public void testGetAndPut() {
+        IntIntMap map = new IntIntMap();
+        assertEquals(-1, map.get(3));
+        map.put(3, 0);
+        map.put(-7, 5);
+        assertEquals(0, map.get(3));
+        assertEquals(5, map.get(-7));
+        assertEquals(-1, map.get(7));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testReplace() {
+        IntIntMap map = new IntIntMap();
+        map.put(Integer.MIN_VALUE, 1);
+        map.put(Integer.MIN_VALUE, 2);
+        assertEquals(2, map.get(Integer.MIN_VALUE));
+        assertEquals(1, map.size());
+    }
+
+    /** keys that are a power of two apart, as node ids of tiles may be, still spread over the table */
+    @Test
+    public void testGrowth() {
+        IntIntMap map = new IntIntMap();
+        for (int i = 0; i < 100000; i++) {
+            map.put(i << 10, i);
+        }
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(i, map.get(i << 10));
+            assertEquals(-1, map.get((i << 10) + 1));
+        }
+        assertEquals(100000, map.size());
+    }
+
+    @Test
+    public void testSameAsHashMap() {
+        Random random = new Random(17);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000) - 2500;
+            int value = random.nextInt(Integer.MAX_VALUE);
+            map.put(key, value);
+            expected.put(key, value);
+        }
+        for (int key = -2500; key < 2500; key++) {
+            assertEquals((int) expected.getOrDefault(key, -1), map.get(key));
+        }
+        assertEquals(expected.size(), map.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeValue() {
+        new IntIntMap().put(1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxValue() {
+        new IntIntMap().put(1, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,87 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.KdTree;
+import pathfinder.datastructures.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestKdTree {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private static double distance(Point p, double x, double y) {
+        return Math.hypot(p.getX() - x, p.getY() - y);
+    }
+
+    @Test
+    public void testEmpty() {
+        KdTree tree = new KdTree(Collections.emptyList());
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.nearest(1.0, 2.0));
+    }
+
+    @Test
+    public void testSmall() {
+        KdTree tree = new KdTree(Arrays.asList(new Point(0, 0), new Point(10, 0), new Point(0, 10)));
+        assertEquals(0, tree.nearest(1.0, 1.0));
+        assertEquals(1, tree.nearest(9.0, -3.0));
+        assertEquals(2, tree.nearest(4.0, 6.0));
+        assertEquals(1, tree.nearest(10, 0));
+    }
+
+    @Test
+    public void testNearestMatchesLinearScan() {
+        Random random = new Random(331);
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // round some coordinates so that many points share a splitting coordinate
+            double x = i % 3 == 0 ? Math.rint(random.nextDouble() * 20) : random.nextDouble() * 20;
+            points.add(new Point(x, random.nextDouble() * 20));
+        }
+        KdTree tree = new KdTree(points);
+        for (int q = 0; q < 500; q++) {
+            double x = random.nextDouble() * 24 - 2;
+            double y = random.nextDouble() * 24 - 2;
+            double best = Double.POSITIVE_INFINITY;
+            for (Point p : points) {
+                best = Math.min(best, distance(p, x, y));
+            }
+            assertEquals(best, distance(points.get(tree.nearest(x, y)), x, y), EPSILON);
+        }
+        for (Point p : points) {
+            assertEquals(p, points.get(tree.nearest(p.getX(), p.getY())));
+        }
+    }
+
+    @Test
+    public void testDuplicatePoints() {
+        List<Point> points = Collections.nCopies(50, new Point(3, 4));
+        KdTree tree = new KdTree(points);
+        assertEquals(new Point(3, 4), points.get(tree.nearest(0, 0)));
+        assertEquals(new Point(3, 4), points.get(tree.nearest(3, 4)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPoint() {
+        new KdTree(Arrays.asList(new Point(0, 0), null));
+    }
+
+    @Test
+    public void testCampusMapNearestNode() {
+        CampusMap map = new CampusMap();
+        Point cse = map.findShortestPath("CSE", "CSE").getStart();
+        assertEquals(cse, map.nearestNode(cse.getX(), cse.getY()));
+        double x = cse.getX() + 0.5;
+        double y = cse.getY() - 0.5;
+        assertTrue(distance(map.nearestNode(x, y), x, y) <= distance(cse, x, y));
+    }
+}
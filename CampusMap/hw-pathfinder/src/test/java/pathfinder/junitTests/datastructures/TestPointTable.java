@@ -0,0 +1,125 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.PointTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestPointTable {
+
+    private static final double STEPS = 10_000;
+
+    @Test
+    public void testSamePointSameId() {
+        PointTable table = new PointTable(STEPS);
+        assertEquals(0, table.intern(1.5, 2.5));
+        assertEquals(1, table.intern(2.5, 1.5));
+        assertEquals(0, table.intern(1.5, 2.5));
+        assertEquals(1, table.intern(2.5, 1.5));
+        assertEquals(2, table.size());
+    }
+
+    /** points that differ by floating-point noise are one point, at the coordinates first added */
+    @Test
+    public void testNoisyPointSameId() {
+        PointTable table = new PointTable(STEPS);
+        int id = table.intern(1937.5, 1404.1234);
+        assertEquals(id, table.intern(1937.5 + 1e-9, 1404.1234 - 1e-9));
+        assertEquals(id, table.intern(0.1 + 0.2 + 1937.2, 1404.1234));
+        assertEquals(1, table.size());
+        assertEquals(1937.5, table.getX(id), 0.0);
+        assertEquals(1404.1234, table.getY(id), 0.0);
+    }
+
+    @Test
+    public void testNearbyPointsDifferentIds() {
+        PointTable table = new PointTable(STEPS);
+        assertNotEquals(table.intern(100, 100), table.intern(100.001, 100));
+        assertNotEquals(table.intern(100, 100), table.intern(100, 100.0001));
+        assertEquals(3, table.size());
+    }
+
+    /** negative coordinates do not spill into the other coordinate of the key */
+    @Test
+    public void testSigns() {
+        PointTable table = new PointTable(STEPS);
+        table.intern(0, -1);
+        table.intern(-1, 0);
+        table.intern(0, 1);
+        table.intern(-1, -1);
+        assertEquals(4, table.size());
+        assertNotEquals(table.key(0, -1), table.key(-1, 0));
+        assertNotEquals(table.key(0, -1), table.key(-1, -1));
+        assertEquals(3, table.indexOf(-1, -1));
+    }
+
+    @Test
+    public void testIndexOf() {
+        PointTable table = new PointTable(STEPS);
+        table.intern(3, 4);
+        assertEquals(0, table.indexOf(3, 4));
+        assertEquals(-1, table.indexOf(4, 3));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testGrowth() {
+        PointTable table = new PointTable(STEPS);
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(i, table.intern(i % 317, i / 317));
+        }
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(i, table.indexOf(i % 317, i / 317));
+            assertEquals(i % 317, table.getX(i), 0.0);
+            assertEquals(i / 317, table.getY(i), 0.0);
+        }
+        assertEquals(100000, table.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNaN() {
+        new PointTable(STEPS).intern(Double.NaN, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutsideGrid() {
+        new PointTable(STEPS).intern(0, 1e6);
+    }
+
+    /** points closer than a step may merge, and points a step apart do not */
+    @Test
+    public void testStep() {
+        PointTable coarse = new PointTable(0.5);
+        assertEquals(0, coarse.intern(0, 0));
+        assertEquals(0, coarse.intern(0.9, -0.9));
+        assertEquals(1, coarse.intern(2, 0));
+        assertEquals(1, coarse.indexOf(2.9, 0.5));
+        PointTable fine = new PointTable(100_000);
+        assertNotEquals(fine.intern(566.85714, 1), fine.intern(566.85715, 1));
+        assertEquals(0, fine.intern(566.85714 + 1e-9, 1));
+        assertEquals(fine.key(1, 2), new PointTable(100_000).key(1 + 1e-9, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroStep() {
+        new PointTable(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInfiniteStep() {
+        new PointTable(Double.POSITIVE_INFINITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNaNStep() {
+        new PointTable(Double.NaN);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetMissingId() {
+        PointTable table = new PointTable(STEPS);
+        table.intern(1, 1);
+        table.getX(1);
+    }
+}
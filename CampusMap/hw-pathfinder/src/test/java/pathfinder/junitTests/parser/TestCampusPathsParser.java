@@ -0,0 +1,171 @@
+package pathfinder.junitTests.parser;
+
+import org.junit.Test;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestCampusPathsParser {
+
+    private static List<double[]> stream(byte[] data, int from, int to) {
+        List<double[]> rows = new ArrayList<>();
+        CampusPathsParser.streamCampusPaths(data, from, to,
+                (x1, y1, x2, y2, distance) -> rows.add(new double[] {x1, y1, x2, y2, distance}));
+        return rows;
+    }
+
+    private static List<double[]> stream(String data) {
+        List<double[]> rows = new ArrayList<>();
+        CampusPathsParser.streamCampusPaths(new ByteArrayInputStream(data.getBytes(StandardCharsets.US_ASCII)),
+                (x1, y1, x2, y2, distance) -> rows.add(new double[] {x1, y1, x2, y2, distance}));
+        return rows;
+    }
+
+    private static void assertSameBits(double expected, double actual) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+    }
+
+    @Test
+    public void testSameAsParseOnCampus() {
+        List<CampusPath> expected = CampusPathsParser.parseCampusPaths("campus_paths.csv");
+        List<double[]> actual = new ArrayList<>();
+        CampusPathsParser.streamCampusPaths("campus_paths.csv",
+                (x1, y1, x2, y2, distance) -> actual.add(new double[] {x1, y1, x2, y2, distance}));
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            CampusPath path = expected.get(i);
+            double[] row = actual.get(i);
+            assertSameBits(path.getX1(), row[0]);
+            assertSameBits(path.getY1(), row[1]);
+            assertSameBits(path.getX2(), row[2]);
+            assertSameBits(path.getY2(), row[3]);
+            assertSameBits(path.getDistance(), row[4]);
+        }
+    }
+
+    /** the numbers parsed in place are exactly the ones Double.parseDouble gives */
+    @Test
+    public void testNumbersMatchParseDouble() {
+        Random random = new Random(331);
+        StringBuilder data = new StringBuilder();
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            String number;
+            switch (i % 4) {
+                case 0:
+                    number = Double.toString(random.nextDouble() * 5000);
+                    break;
+                case 1:
+                    number = String.format("%.4f", random.nextDouble() * 5000);
+                    break;
+                case 2:
+                    number = Long.toString(random.nextLong() >>> (1 + random.nextInt(40)));
+                    break;
+                default:
+                    // 18 significant digits with the decimal point anywhere
+                    long significand = 100000000000000000L + (random.nextLong() >>> 8) % 899999999999999999L;
+                    String digits = Long.toString(significand);
+                    int point = random.nextInt(digits.length() + 1);
+                    number = (i % 8 == 3 ? "-" : "") + digits.substring(0, point) + "." + digits.substring(point);
+            }
+            numbers.add(number);
+            data.append(number).append(i % 5 == 4 ? "\n" : ",");
+        }
+        List<double[]> rows = stream(data.toString());
+        assertEquals(numbers.size() / 5, rows.size());
+        for (int i = 0; i < numbers.size(); i++) {
+            assertSameBits(Double.parseDouble(numbers.get(i)), rows.get(i / 5)[i % 5]);
+        }
+    }
+
+    @Test
+    public void testFormats() {
+        List<double[]> rows = stream("1,2.5,-3,0.000,4e2\r\n.5,5.,+6,00012.50,12345678901234567890.5");
+        assertEquals(2, rows.size());
+        double[] first = {1, 2.5, -3, 0, 400};
+        double[] second = {0.5, 5, 6, 12.5, 12345678901234567890.5};
+        for (int i = 0; i < 5; i++) {
+            assertSameBits(first[i], rows.get(0)[i]);
+            assertSameBits(second[i], rows.get(1)[i]);
+        }
+    }
+
+    /** lines longer than the buffer the data is read in */
+    @Test
+    public void testLongLine() {
+        StringBuilder zeros = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            zeros.append('0');
+        }
+        List<double[]> rows = stream("1,2,3,4," + zeros + "5\n6,7,8,9,10\n");
+        assertEquals(2, rows.size());
+        assertSameBits(5, rows.get(0)[4]);
+        assertSameBits(10, rows.get(1)[4]);
+    }
+
+    /** the whole data parsed as one range gives the rows the stream gives */
+    @Test
+    public void testRangeSameAsStreamOnCampus() throws IOException {
+        List<double[]> expected = new ArrayList<>();
+        CampusPathsParser.streamCampusPaths("campus_paths.csv",
+                (x1, y1, x2, y2, distance) -> expected.add(new double[] {x1, y1, x2, y2, distance}));
+        byte[] data;
+        try (InputStream in = CampusPathsParser.openResource("campus_paths.csv")) {
+            data = in.readAllBytes();
+        }
+        List<double[]> actual = stream(data, 0, data.length);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            for (int f = 0; f < 5; f++) {
+                assertSameBits(expected.get(i)[f], actual.get(i)[f]);
+            }
+        }
+    }
+
+    /** a range of the data is parsed on its own, as CampusGraphBuilder parses its chunks */
+    @Test
+    public void testRange() {
+        byte[] data = "1,2,3,4,5\n6,7,8,9,10\n11,12,13,14,15".getBytes(StandardCharsets.US_ASCII);
+        List<double[]> rows = stream(data, 10, 21);
+        assertEquals(1, rows.size());
+        assertSameBits(6, rows.get(0)[0]);
+        rows = stream(data, 21, data.length);
+        assertEquals(1, rows.size());
+        assertSameBits(15, rows.get(0)[4]);
+        assertEquals(0, stream(data, 10, 10).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRangeOutOfData() {
+        stream(new byte[4], 2, 5);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, stream("").size());
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testTooFewFields() {
+        stream("1,2,3,4\n");
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testTooManyFields() {
+        stream("1,2,3,4,5,6\n");
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testNotANumber() {
+        stream("1,2,x,4,5\n");
+    }
+}
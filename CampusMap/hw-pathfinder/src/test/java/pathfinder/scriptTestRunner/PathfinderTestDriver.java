@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2022 Kevin Zatloukal.  All rights reserved.  Permission is
+ * hereby granted to students registered for University of Washington
+ * CSE 331 for use solely during Spring Quarter 2022 for purposes of
+ * the course.  No other use, copying, distribution, or modification
+ * is permitted without prior written consent. Copyrights for
+ * third-party components of this work must be honored.  Instructors
+ * interested in reusing these course materials should contact the
+ * author.
+ */
+
+package pathfinder.scriptTestRunner;
+
+import graph.DirectedLabeledGraph;
+import pathfinder.*;
+import pathfinder.datastructures.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * This class implements a test driver that uses a script file format
+ * to test an implementation of Dijkstra's algorithm on a graph.
+ */
+public class PathfinderTestDriver {
+
+    /**
+     * String -> Graph: maps the names of graphs to the actual graph
+     **/
+    private final Map<String, DirectedLabeledGraph<String, Double>> graphs = new HashMap<>();
+    private final PrintWriter output;
+    private final BufferedReader input;
+
+    // Leave this constructor public
+    /**
+     * @spec.requires r != null && w != null
+     * @spec.effects Creates a new PathfinderTestDriver which reads command from
+     * {@code r} and writes results to {@code w}
+     **/
+    public PathfinderTestDriver(Reader r, Writer w) {
+        // See GraphTestDriver as an example.
+        input = new BufferedReader(r);
+        output = new PrintWriter(w);
+    }
+
+    // Leave this method public
+    /**
+     * @throws IOException if the input or output sources encounter an IOException
+     * @spec.effects Executes the commands read from the input and writes results to the output
+     **/
+    public void runTests() throws IOException {
+        String inputLine;
+        while((inputLine = input.readLine()) != null) {
+            if((inputLine.trim().length() == 0) ||
+                    (inputLine.charAt(0) == '#')) {
+                // echo blank and comment lines
+                output.println(inputLine);
+            } else {
+                // separate the input line on white space
+                StringTokenizer st = new StringTokenizer(inputLine);
+                if(st.hasMoreTokens()) {
+                    String command = st.nextToken();
+
+                    List<String> arguments = new ArrayList<>();
+                    while(st.hasMoreTokens()) {
+                        arguments.add(st.nextToken());
+                    }
+
+                    executeCommand(command, arguments);
+                }
+            }
+            output.flush();
+        }
+    }
+
+    private void executeCommand(String command, List<String> arguments) {
+        try {
+            switch(command) {
+                case "CreateGraph":
+                    createGraph(arguments);
+                    break;
+                case "AddNode":
+                    addNode(arguments);
+                    break;
+                case "AddEdge":
+                    addEdge(arguments);
+                    break;
+                case "ListNodes":
+                    listNodes(arguments);
+                    break;
+                case "ListChildren":
+                    listChildren(arguments);
+                    break;
+                case "FindPath":
+                    findPath(arguments);
+                    break;
+                default:
+                    output.println("Unrecognized command: " + command);
+                    break;
+            }
+        } catch(Exception e) {
+            String formattedCommand = command;
+            formattedCommand += arguments.stream().reduce("", (a, b) -> a + " " + b);
+            output.println("Exception while running command: " + formattedCommand);
+            e.printStackTrace(output);
+        }
+    }
+
+    private void createGraph(List<String> arguments) {
+        if(arguments.size() != 1) {
+            throw new CommandException("Bad arguments to CreateGraph: " + arguments);
+        }
+
+        String graphName = arguments.get(0);
+        createGraph(graphName);
+    }
+
+    private void createGraph(String graphName) {
+        graphs.put(graphName, new DirectedLabeledGraph<>());
+        output.println("created graph " + graphName);
+    }
+
+    private void addNode(List<String> arguments) {
+        if(arguments.size() != 2) {
+            throw new CommandException("Bad arguments to AddNode: " + arguments);
+        }
+
+        String graphName = arguments.get(0);
+        String nodeName = arguments.get(1);
+
+        addNode(graphName, nodeName);
+    }
+
+    private void addNode(String graphName, String nodeName) {
+        DirectedLabeledGraph<String, Double> thisGraph = graphs.get(graphName);
+        thisGraph.addNode(nodeName);
+        output.println("added node " + nodeName + " to " + graphName);
+    }
+
+    private void addEdge(List<String> arguments) {
+        if(arguments.size() != 4) {
+            throw new CommandException("Bad arguments to AddEdge: " + arguments);
+        }
+
+        String graphName = arguments.get(0);
+        String parentName = arguments.get(1);
+        String childName = arguments.get(2);
+        Double edgeLabel = Double.parseDouble(arguments.get(3));
+
+        addEdge(graphName, parentName, childName, edgeLabel);
+    }
+
+    private void addEdge(String graphName, String parentName, String childName,
+                         Double edgeLabel) {
+        DirectedLabeledGraph<String, Double> thisGraph = graphs.get(graphName);
+        thisGraph.addEdge(parentName, childName, edgeLabel);
+        output.println("added edge " + String.format("%.3f", edgeLabel) + " from " + parentName + " to " + childName + " in " + graphName);
+    }
+
+    private void listNodes(List<String> arguments) {
+        if(arguments.size() != 1) {
+            throw new CommandException("Bad arguments to ListNodes: " + arguments);
+        }
+
+        String graphName = arguments.get(0);
+        listNodes(graphName);
+    }
+
+    private void listNodes(String graphName) {
+        DirectedLabeledGraph<String, Double> thisGraph = graphs.get(graphName);
+        List<String> nodeList = new ArrayList<>(thisGraph.getNodeList());
+        Collections.sort(nodeList);
+        String outputStr = graphName + " contains:";
+        for (String i: nodeList) {
+            outputStr += " " + i;
+        }
+        output.println(outputStr);
+    }
+
+    private void listChildren(List<String> arguments) {
+        if(arguments.size() != 2) {
+            throw new CommandException("Bad arguments to ListChildren: " + arguments);
+        }
+
+        String graphName = arguments.get(0);
+        String parentName = arguments.get(1);
+        listChildren(graphName, parentName);
+    }
+
+    private void listChildren(String graphName, String parentName) {
+        DirectedLabeledGraph<String, Double> thisGraph = graphs.get(graphName);
+        List<String> edgeList = new ArrayList<>();
+
+        for (DirectedLabeledGraph<String, Double>.DLGEdge i : thisGraph.getEdgeList(parentName)) {
+            edgeList.add(i.getChild() + "(" + String.format("%.3f", i.getLabel()) + ")");
+        }
+        Collections.sort(edgeList);
+
+        String outputStr = "the children of " + parentName + " in " + graphName + " are:";
+        for (String j : edgeList) {
+            outputStr += " " + j;
+        }
+        output.println(outputStr);
+    }
+
+    private void findPath(List<String> arguments) {
+        if(arguments.size() != 3) {
+            throw new CommandException("Bad arguments to ListChildren: " + arguments);
+        }
+
+        String graphName = arguments.get(0);
+        String start = arguments.get(1);
+        String dest = arguments.get(2);
+        findPath(graphName, start, dest);
+    }
+
+    private void findPath(String graphName, String start, String dest) {
+        DirectedLabeledGraph<String, Double> thisGraph = graphs.get(graphName);
+        if (!thisGraph.containsNode(start) || !thisGraph.containsNode(dest)) {
+            if (!thisGraph.containsNode(start)) {
+                output.println("unknown: node");
+            }
+            if (!thisGraph.containsNode(dest)) {
+                output.println("unknown: node");
+            }
+        } else {
+            Dijkstras_Algorithm<String> DiAlgo = new Dijkstras_Algorithm<>(thisGraph);
+            Path<String> path = DiAlgo.findMinCost(start, dest);
+            output.println("path from " + start + " to "+ dest +":");
+            if (path == null) {
+                output.println("no path found");
+            } else {
+                for(Path<String>.Segment i : path) {
+                    output.println(i.getStart() + " to " + i.getEnd() + " with weight " + String.format("%.3f", i.getCost()));
+                }
+                output.println("total cost: " + String.format("%.3f", path.getCost()));
+            }
+        }
+    }
+
+    /**
+     * This exception results when the input file cannot be parsed properly
+     **/
+    static class CommandException extends RuntimeException {
+
+        public CommandException() {
+            super();
+        }
+
+        public CommandException(String s) {
+            super(s);
+        }
+
+        public static final long serialVersionUID = 3495;
+    }
+}